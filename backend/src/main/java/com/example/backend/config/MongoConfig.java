@@ -0,0 +1,141 @@
+package com.example.backend.config;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.BidHistory;
+import com.example.backend.model.BidType;
+import com.example.backend.model.ChatLog;
+import com.example.backend.model.ChatMessage;
+import com.example.backend.model.Dice;
+import org.bson.Document;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Mapping of model value types that Mongo should store in a plain form. */
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(
+                List.of(new DiceWriter(), new DiceReader(), new ChatLogWriter(), new ChatLogReader(),
+                        new BidWriter(), new BidReader(), new BidHistoryWriter(), new BidHistoryReader()));
+    }
+
+    /** Dice are stored as an array of faces, as they were before being packed */
+    @WritingConverter
+    static class DiceWriter implements Converter<Dice, List<Integer>> {
+        @Override
+        public List<Integer> convert(Dice dice) {
+            return dice.toList();
+        }
+    }
+
+    @ReadingConverter
+    static class DiceReader implements Converter<List<Integer>, Dice> {
+        @Override
+        public Dice convert(List<Integer> faces) {
+            return Dice.of(faces);
+        }
+    }
+
+    /** A game's chat is stored as the array of messages it holds, oldest first */
+    @WritingConverter
+    static class ChatLogWriter implements Converter<ChatLog, List<Document>> {
+        @Override
+        public List<Document> convert(ChatLog chat) {
+            List<Document> messages = new ArrayList<>(chat.size());
+            chat.forEachSince(0, message -> messages.add(new Document("_id", message.getId())
+                    .append("playerId", message.getPlayerId())
+                    .append("playerName", message.getPlayerName())
+                    .append("text", message.getText())
+                    .append("timestamp", message.getTimestamp())
+                    .append("seq", message.getSeq())));
+            return messages;
+        }
+    }
+
+    @ReadingConverter
+    static class ChatLogReader implements Converter<List<Document>, ChatLog> {
+        @Override
+        public ChatLog convert(List<Document> stored) {
+            List<ChatMessage> messages = new ArrayList<>(stored.size());
+            for (Document document : stored) {
+                ChatMessage message = new ChatMessage();
+                message.setId(document.getString("_id"));
+                message.setPlayerId(document.getString("playerId"));
+                message.setPlayerName(document.getString("playerName"));
+                message.setText(document.getString("text"));
+                Number timestamp = document.get("timestamp", Number.class);
+                message.setTimestamp(timestamp != null ? timestamp.longValue() : 0);
+                Number seq = document.get("seq", Number.class);
+                message.setSeq(seq != null ? seq.longValue() : 0);
+                messages.add(message);
+            }
+            return ChatLog.of(messages);
+        }
+    }
+
+    /** Bids are stored with the fields they had as mutable beans */
+    @WritingConverter
+    static class BidWriter implements Converter<Bid, Document> {
+        @Override
+        public Document convert(Bid bid) {
+            return toDocument(bid);
+        }
+    }
+
+    @ReadingConverter
+    static class BidReader implements Converter<Document, Bid> {
+        @Override
+        public Bid convert(Document document) {
+            return toBid(document);
+        }
+    }
+
+    /** The bid history of a hand is stored as the array of its bids, oldest first */
+    @WritingConverter
+    static class BidHistoryWriter implements Converter<BidHistory, List<Document>> {
+        @Override
+        public List<Document> convert(BidHistory history) {
+            List<Document> bids = new ArrayList<>(history.size());
+            for (int i = 0; i < history.size(); i++) {
+                bids.add(toDocument(history.get(i)));
+            }
+            return bids;
+        }
+    }
+
+    @ReadingConverter
+    static class BidHistoryReader implements Converter<List<Document>, BidHistory> {
+        @Override
+        public BidHistory convert(List<Document> stored) {
+            BidHistory history = new BidHistory();
+            for (Document document : stored) {
+                history.add(toBid(document));
+            }
+            return history;
+        }
+    }
+
+    private static Document toDocument(Bid bid) {
+        return new Document("playerId", bid.getPlayerId())
+                .append("quantity", bid.getQuantity())
+                .append("faceValue", bid.getFaceValue())
+                .append("type", bid.getType().name());
+    }
+
+    private static Bid toBid(Document document) {
+        Number quantity = document.get("quantity", Number.class);
+        Number faceValue = document.get("faceValue", Number.class);
+        String type = document.getString("type");
+        return new Bid(document.getString("playerId"), quantity != null ? quantity.intValue() : 0,
+                faceValue != null ? faceValue.intValue() : 0, type != null ? BidType.valueOf(type) : null);
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Per-session outbound policy for slow consumers. Every session gets its own queue drained on
+ * a fixed pool of sender threads, so a phone on a bad link never blocks the broker. While a
+ * state frame (GAME_UPDATED, tagged with {@link #STATE_KEY_HEADER}) for a subscription is still
+ * queued, a newer one with the same key replaces it (latest state wins). Event frames (PLAYER_LEFT, GAME_CANCELLED, ...) are never dropped; if they alone exceed
+ * the buffer limit, or a single write takes longer than the send time limit, the session is
+ * closed so the client reconnects and reloads the state. Writes in progress are checked every
+ * second, so a stalled one gives its sender thread back within about the time limit even when
+ * no further frame is queued for that session.
+ */
+@Component
+public class OutboundFramePolicy implements WebSocketHandlerDecoratorFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundFramePolicy.class);
+
+    /**
+     * STOMP header carried by frames that only hold the latest state of something, such as
+     * GAME_UPDATED with the game id. A newer frame with the same value may replace a queued one.
+     */
+    public static final String STATE_KEY_HEADER = "latest-state-key";
+
+    private static final String STOMP_MESSAGE = "MESSAGE\n";
+    private static final String SUBSCRIPTION_HEADER = "\nsubscription:";
+    private static final String STATE_KEY_PREFIX = "\n" + STATE_KEY_HEADER + ":";
+
+    private final int sendBufferSizeLimit;
+    private final long sendTimeLimitMs;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, QueuedSession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService senders;
+
+    public OutboundFramePolicy(MeterRegistry meterRegistry,
+            @Value("${app.websocket.send-buffer-size-limit:524288}") int sendBufferSizeLimit,
+            @Value("${app.websocket.send-time-limit-ms:10000}") long sendTimeLimitMs,
+            @Value("${app.websocket.sender-threads:16}") int senderThreads) {
+        this.meterRegistry = meterRegistry;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "ws-outbound");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Closes sessions whose write in progress has run past the send time limit. Closing the
+     * underlying session fails the blocked write, which frees its sender thread.
+     */
+    @Scheduled(fixedDelay = 1_000)
+    public void closeStalledSessions() {
+        long now = System.currentTimeMillis();
+        for (QueuedSession session : sessions.values()) {
+            if (session.isStalled(now)) {
+                session.closeSlowConsumer();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                QueuedSession queued = new QueuedSession(session);
+                sessions.put(session.getId(), queued);
+                super.afterConnectionEstablished(queued);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                QueuedSession queued = sessions.remove(session.getId());
+                if (queued != null) {
+                    queued.discard();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * Key under which a frame may be replaced by a newer one: the subscription id and the
+     * {@link #STATE_KEY_HEADER} of a MESSAGE frame carrying that header. Null for every other frame.
+     */
+    static String stateKey(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage)) {
+            return null;
+        }
+        String payload = ((TextMessage) message).getPayload();
+        if (!payload.startsWith(STOMP_MESSAGE)) {
+            return null;
+        }
+        int headersEnd = payload.indexOf("\n\n");
+        if (headersEnd < 0) {
+            return null;
+        }
+        String state = headerValue(payload, STATE_KEY_PREFIX, headersEnd);
+        String subscription = state != null ? headerValue(payload, SUBSCRIPTION_HEADER, headersEnd) : null;
+        return subscription != null ? subscription + "/" + state : null;
+    }
+
+    /** Value of the header starting with the given prefix, looked up in the header block only */
+    private static String headerValue(String frame, String prefix, int headersEnd) {
+        int header = frame.indexOf(prefix, STOMP_MESSAGE.length() - 1);
+        if (header < 0 || header > headersEnd) {
+            return null;
+        }
+        int valueStart = header + prefix.length();
+        return frame.substring(valueStart, frame.indexOf('\n', valueStart));
+    }
+
+    private class QueuedSession extends WebSocketSessionDecorator {
+        private final OutboundFrameQueue<WebSocketMessage<?>> queue = new OutboundFrameQueue<>(sendBufferSizeLimit);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private final AtomicBoolean closing = new AtomicBoolean(false);
+        private volatile long sendStartedAt;
+        private final Counter coalesced;
+        private final Counter dropped;
+        private final Counter slowClosed;
+
+        QueuedSession(WebSocketSession delegate) {
+            super(delegate);
+            String transport = WebSocketTransportMetrics.transportOf(delegate);
+            this.coalesced = Counter.builder("dobbelen.ws.frames.coalesced")
+                    .description("State frames replaced by a newer one before being sent")
+                    .tag(WebSocketTransportMetrics.TRANSPORT_ATTRIBUTE, transport)
+                    .register(meterRegistry);
+            this.dropped = Counter.builder("dobbelen.ws.frames.dropped")
+                    .description("Frames discarded because their session was closed")
+                    .tag(WebSocketTransportMetrics.TRANSPORT_ATTRIBUTE, transport)
+                    .register(meterRegistry);
+            this.slowClosed = Counter.builder("dobbelen.ws.sessions.slow.closed")
+                    .description("Sessions closed for exceeding the send buffer or send time limit")
+                    .tag(WebSocketTransportMetrics.TRANSPORT_ATTRIBUTE, transport)
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            if (closing.get()) {
+                dropped.increment();
+                return;
+            }
+            OutboundFrameQueue.Offer offer = queue.offer(message, stateKey(message), message.getPayloadLength());
+            if (offer == OutboundFrameQueue.Offer.COALESCED) {
+                coalesced.increment();
+            }
+            if (offer == OutboundFrameQueue.Offer.OVERFLOW || isStalled(System.currentTimeMillis())) {
+                closeSlowConsumer();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                WebSocketMessage<?> message;
+                while (!closing.get() && (message = queue.poll()) != null) {
+                    sendStartedAt = System.currentTimeMillis();
+                    try {
+                        getDelegate().sendMessage(message);
+                    } catch (IOException e) {
+                        log.info("WebSocket send failed for session {}: {}", getId(), e.getMessage());
+                        discard();
+                        return;
+                    } finally {
+                        sendStartedAt = 0;
+                    }
+                }
+                draining.set(false);
+            } while (!closing.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        boolean isStalled(long now) {
+            long started = sendStartedAt;
+            return started != 0 && now - started > sendTimeLimitMs;
+        }
+
+        void closeSlowConsumer() {
+            if (!closing.compareAndSet(false, true)) {
+                return;
+            }
+            slowClosed.increment();
+            dropped.increment(queue.clear());
+            log.info("Closing slow WebSocket session {}", getId());
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.warn("Failed to close slow WebSocket session {}: {}", getId(), e.getMessage());
+            }
+        }
+
+        void discard() {
+            closing.set(true);
+            int remaining = queue.clear();
+            if (remaining > 0) {
+                dropped.increment(remaining);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.backend.config;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Outbound frame queue of a single WebSocket session. Frames offered with a state key replace
+ * the still-queued frame with the same key (the newer full state makes the older one useless);
+ * frames without a key are always delivered, in order.
+ *
+ * A superseded frame is dropped from its old position and the new one is appended, so a state
+ * frame is never delivered ahead of an event that was produced before it.
+ */
+class OutboundFrameQueue<T> {
+
+    enum Offer { QUEUED, COALESCED, OVERFLOW }
+
+    private static final class Entry<T> {
+        final T frame;
+        final String stateKey;
+        final int bytes;
+        boolean superseded;
+
+        Entry(T frame, String stateKey, int bytes) {
+            this.frame = frame;
+            this.stateKey = stateKey;
+            this.bytes = bytes;
+        }
+    }
+
+    private final int byteLimit;
+    private final Deque<Entry<T>> queue = new ArrayDeque<>();
+    private final Map<String, Entry<T>> pendingState = new HashMap<>();
+    private int queuedBytes;
+    private int queuedFrames;
+
+    /** @param byteLimit buffered bytes above which {@link #offer} reports {@link Offer#OVERFLOW} */
+    OutboundFrameQueue(int byteLimit) {
+        this.byteLimit = byteLimit;
+    }
+
+    /**
+     * Queue a frame.
+     *
+     * @param stateKey key of the state this frame carries, or null for frames that must not be dropped
+     * @return OVERFLOW when the buffer limit is exceeded (the frame is still queued), COALESCED
+     *         when an older frame with the same key was dropped, QUEUED otherwise
+     */
+    synchronized Offer offer(T frame, String stateKey, int bytes) {
+        Offer result = Offer.QUEUED;
+        if (stateKey != null) {
+            Entry<T> previous = pendingState.remove(stateKey);
+            if (previous != null) {
+                previous.superseded = true;
+                queuedBytes -= previous.bytes;
+                queuedFrames--;
+                result = Offer.COALESCED;
+            }
+        }
+        Entry<T> entry = new Entry<>(frame, stateKey, bytes);
+        queue.addLast(entry);
+        queuedBytes += bytes;
+        queuedFrames++;
+        if (stateKey != null) {
+            pendingState.put(stateKey, entry);
+        }
+        // A single oversized frame is let through; only a backlog counts as overflow
+        if (queuedBytes > byteLimit && queuedFrames > 1) {
+            return Offer.OVERFLOW;
+        }
+        return result;
+    }
+
+    /** Next frame to send, or null when the queue is empty. */
+    synchronized T poll() {
+        Entry<T> entry;
+        while ((entry = queue.pollFirst()) != null) {
+            if (entry.superseded) {
+                continue;
+            }
+            queuedBytes -= entry.bytes;
+            queuedFrames--;
+            if (entry.stateKey != null) {
+                pendingState.remove(entry.stateKey, entry);
+            }
+            return entry.frame;
+        }
+        return null;
+    }
+
+    synchronized boolean isEmpty() {
+        return queuedFrames == 0;
+    }
+
+    /** Drop everything still queued and return how many frames were dropped. */
+    synchronized int clear() {
+        int dropped = queuedFrames;
+        queue.clear();
+        pendingState.clear();
+        queuedBytes = 0;
+        queuedFrames = 0;
+        return dropped;
+    }
+}
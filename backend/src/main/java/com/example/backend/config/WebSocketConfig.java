@@ -3,11 +3,19 @@ package com.example.backend.config;
 import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -16,6 +24,23 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${app.allowed-origins:https://898944.xyz,http://localhost,http://127.0.0.1}")
     private String allowedOrigins;
 
+    @Value("${app.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${app.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    private final WebSocketTransportMetrics transportMetrics;
+    private final OutboundFramePolicy outboundFramePolicy;
+
+    public WebSocketConfig(WebSocketTransportMetrics transportMetrics, OutboundFramePolicy outboundFramePolicy) {
+        this.transportMetrics = transportMetrics;
+        this.outboundFramePolicy = outboundFramePolicy;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
@@ -31,6 +56,49 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
         registry.addEndpoint("/ws")
             .setAllowedOriginPatterns(origins)
+            .addInterceptors(transportMetrics.transportTag("sockjs"))
                 .withSockJS();
+
+        // Plain WebSocket endpoint for clients that don't need the SockJS fallbacks (the native
+        // app). No SockJS framing or heartbeat frames, and Tomcat negotiates permessage-deflate
+        // with clients that offer it, which shrinks the repetitive GAME_UPDATED JSON a lot.
+        registry.addEndpoint("/ws-native")
+            .setAllowedOriginPatterns(origins)
+            .addInterceptors(transportMetrics.transportTag("native"));
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Decorators added later wrap the earlier ones, so the metrics session sits closest to
+        // the transport and measures the writes the outbound policy actually lets through
+        registration
+            .setSendBufferSizeLimit(sendBufferSizeLimit)
+            .setSendTimeLimit(sendTimeLimitMs)
+            .setMessageSizeLimit(messageSizeLimit)
+            .addDecoratorFactory(outboundFramePolicy)
+            .addDecoratorFactory(transportMetrics);
+    }
+
+    /**
+     * Container-level buffer sizes for the raw endpoint; SockJS streaming uses the servlet response instead.
+     * Only when the application runs its own servlet container; the mock servlet context of tests has no
+     * WebSocket container to configure.
+     */
+    @Bean
+    @Conditional(EmbeddedServletContainer.class)
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(messageSizeLimit);
+        container.setMaxBinaryMessageBufferSize(messageSizeLimit);
+        container.setAsyncSendTimeout((long) sendTimeLimitMs);
+        return container;
+    }
+
+    /** Matches when the context starts an embedded servlet web server */
+    static class EmbeddedServletContainer implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return context.getResourceLoader() instanceof ServletWebServerApplicationContext;
+        }
     }
 }
@@ -0,0 +1,118 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Per-transport WebSocket metrics so the raw endpoint and the SockJS endpoint can be compared:
+ * open sessions, time spent writing each outbound frame, and outbound frame sizes, all tagged
+ * with {@code transport=native|sockjs}.
+ */
+@Component
+public class WebSocketTransportMetrics implements WebSocketHandlerDecoratorFactory {
+
+    static final String TRANSPORT_ATTRIBUTE = "transport";
+    private static final String UNKNOWN_TRANSPORT = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> openSessions = new ConcurrentHashMap<>();
+
+    public WebSocketTransportMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Handshake interceptor that tags sessions created through an endpoint with its transport. */
+    public HandshakeInterceptor transportTag(String transport) {
+        return new HandshakeInterceptor() {
+            @Override
+            public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                    WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                attributes.put(TRANSPORT_ATTRIBUTE, transport);
+                return true;
+            }
+
+            @Override
+            public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                    WebSocketHandler wsHandler, Exception exception) {
+            }
+        };
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                String transport = transportOf(session);
+                openSessions(transport).incrementAndGet();
+                super.afterConnectionEstablished(new MeasuredSession(session, transport));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                openSessions(transportOf(session)).decrementAndGet();
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    static String transportOf(WebSocketSession session) {
+        Object transport = session.getAttributes().get(TRANSPORT_ATTRIBUTE);
+        return transport != null ? transport.toString() : UNKNOWN_TRANSPORT;
+    }
+
+    private AtomicInteger openSessions(String transport) {
+        return openSessions.computeIfAbsent(transport, t ->
+                meterRegistry.gauge("dobbelen.ws.sessions", Tags.of(TRANSPORT_ATTRIBUTE, t), new AtomicInteger()));
+    }
+
+    /** Times every frame written to the underlying transport and records its payload size. */
+    private class MeasuredSession extends WebSocketSessionDecorator {
+        private final Timer sendTimer;
+        private final DistributionSummary frameBytes;
+
+        MeasuredSession(WebSocketSession delegate, String transport) {
+            super(delegate);
+            this.sendTimer = Timer.builder("dobbelen.ws.send")
+                    .description("Time spent writing an outbound frame to the transport")
+                    .tag(TRANSPORT_ATTRIBUTE, transport)
+                    .register(meterRegistry);
+            this.frameBytes = DistributionSummary.builder("dobbelen.ws.frame.bytes")
+                    .description("Outbound frame payload size")
+                    .baseUnit("bytes")
+                    .tag(TRANSPORT_ATTRIBUTE, transport)
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.sendMessage(message);
+            } finally {
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                frameBytes.record(message.getPayloadLength());
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.HandStatsResponse;
+import com.example.backend.model.HandRecord;
+import com.example.backend.service.HandArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/** Queries over the archive of completed hands. Reads the archive files, never live games. */
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+
+    /** Upper bound for the number of hands returned by one query */
+    private static final int MAX_HANDS = 10_000;
+
+    @Autowired
+    private HandArchiveService handArchiveService;
+
+    @GetMapping("/hands")
+    public ResponseEntity<List<HandRecord>> getHands(@RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "9223372036854775807") long to,
+            @RequestParam(defaultValue = "1000") int limit,
+            @RequestParam(defaultValue = "true") boolean details) {
+        if (limit < 1 || from >= to) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(handArchiveService.findHands(from, to, Math.min(limit, MAX_HANDS), details));
+    }
+
+    @GetMapping("/hands/stats")
+    public ResponseEntity<HandStatsResponse> getHandStats(@RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "9223372036854775807") long to) {
+        if (from >= to) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(handArchiveService.stats(from, to));
+    }
+}
@@ -2,28 +2,47 @@ package com.example.backend.controller;
 
 import com.example.backend.dto.*;
 import com.example.backend.model.Game;
+import com.example.backend.model.GameEvent;
+import com.example.backend.model.GameSnapshot;
 import com.example.backend.service.GameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/games")
 public class GameController {
 
+    /** Upper bound for how long a long-poll request may be parked */
+    private static final long MAX_LONG_POLL_TIMEOUT_MS = 30_000;
+    private static final String NDJSON = "application/x-ndjson";
+    /** Replay lines written between flushes, so clients receive the stream in chunks */
+    private static final int REPLAY_FLUSH_LINES = 100;
+
     @Autowired
     private GameService gameService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<GameResponse> createGame(@RequestBody CreateGameRequest request) {
         try {
             Game game;
             // Support both old format (playerNames) and new format (players with AI info)
             if (request.getPlayers() != null && !request.getPlayers().isEmpty()) {
-                game = gameService.createGame(request.getPlayers(), true);
+                game = gameService.createGame(request.getPlayers(), true, request.getSeed());
             } else {
                 game = gameService.createGame(request.getPlayerNames());
             }
@@ -35,11 +54,11 @@ public class GameController {
     }
 
      @GetMapping("/{gameId}")
-    public ResponseEntity<GameResponse> getGame(@PathVariable String gameId, @RequestParam(required = false) String playerId) {
+    public ResponseEntity<GameResponse> getGame(@PathVariable String gameId, @RequestParam(required = false) String playerId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
             Game game = gameService.getGame(gameId);
-            GameResponse response = playerId != null ? new GameResponse(game, playerId) : new GameResponse(game);
-            return ResponseEntity.ok(response);
+            return conditionalGameResponse(game, playerId, ifNoneMatch);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -109,6 +128,41 @@ public class GameController {
         }
     }
 
+    /**
+     * The game's recorded actions as newline-delimited JSON, one event per line, oldest first:
+     * rolled dice, every bid, doubt and spot-on with its outcome, eliminations, joins and leaves.
+     * Lines are written as they are read from the game store, so a long game is never held in
+     * memory whole. While the game is still being played, dice are left out of the roll events;
+     * each doubt or spot-on line still carries the dice it revealed.
+     */
+    @GetMapping(value = "/{gameId}/replay", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> replay(@PathVariable String gameId) {
+        Boolean inPlay = gameService.isGameInPlay(gameId);
+        if (inPlay == null) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = out -> {
+            try (Stream<GameEvent> history = gameService.streamHistory(gameId)) {
+                Iterator<GameEvent> events = history.iterator();
+                for (int lines = 1; events.hasNext(); lines++) {
+                    ReplayEventResponse line = new ReplayEventResponse(events.next());
+                    if (inPlay && line.getData().containsKey("dice")
+                            && !"DOUBT".equals(line.getType()) && !"SPOT_ON".equals(line.getType())) {
+                        Map<String, Object> data = new LinkedHashMap<>(line.getData());
+                        data.remove("dice");
+                        line.setData(data);
+                    }
+                    out.write(objectMapper.writeValueAsBytes(line));
+                    out.write('\n');
+                    if (lines % REPLAY_FLUSH_LINES == 0) {
+                        out.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok(body);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Game service is running!");
@@ -133,12 +187,24 @@ public class GameController {
 
     // Multiplayer endpoints
     @GetMapping("/multiplayer")
-    public ResponseEntity<List<GameResponse>> listMultiplayerGames() {
-        List<Game> games = gameService.listMultiplayerLobbyGames();
+    public ResponseEntity<List<GameResponse>> listMultiplayerGames(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        List<GameSnapshot> games = gameService.listMultiplayerLobbyGames();
+        // The lobby list only changes when a lobby appears, disappears or changes version,
+        // so the ids and versions are enough to tell whether the client's copy is current
+        long hash = games.size();
+        for (GameSnapshot game : games) {
+            hash = 31 * hash + game.getId().hashCode();
+            hash = 31 * hash + game.getStateVersion();
+        }
+        String eTag = "\"lobby-" + Long.toHexString(hash) + "\"";
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         List<GameResponse> responses = games.stream()
                 .map(GameResponse::new)
                 .toList();
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok().eTag(eTag).body(responses);
     }
 
     @PostMapping("/multiplayer/create")
@@ -166,16 +232,95 @@ public class GameController {
     }
 
     @GetMapping("/multiplayer/{gameId}")
-    public ResponseEntity<GameResponse> getMultiplayerGame(@PathVariable String gameId, @RequestParam(required = false) String playerId) {
+    public ResponseEntity<GameResponse> getMultiplayerGame(@PathVariable String gameId, @RequestParam(required = false) String playerId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
             Game game = gameService.getGame(gameId);
-            GameResponse response = playerId != null ? new GameResponse(game, playerId) : new GameResponse(game);
-            return ResponseEntity.ok(response);
+            return conditionalGameResponse(game, playerId, ifNoneMatch);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Long-poll variant of {@link #getMultiplayerGame}. The request is parked until the game's
+     * state version moves past {@code sinceVersion} (or the game is removed), then answered with
+     * the new state. On timeout it answers 304 so the client simply polls again. Intended for
+     * clients whose STOMP connection keeps dropping.
+     */
+    @GetMapping("/multiplayer/{gameId}/poll")
+    public DeferredResult<ResponseEntity<GameResponse>> pollMultiplayerGame(@PathVariable String gameId,
+            @RequestParam(required = false) String playerId,
+            @RequestParam long sinceVersion,
+            @RequestParam(required = false, defaultValue = "25000") long timeoutMs) {
+        long timeout = Math.max(1_000, Math.min(timeoutMs, MAX_LONG_POLL_TIMEOUT_MS));
+        DeferredResult<ResponseEntity<GameResponse>> result = new DeferredResult<>(timeout);
+        Runnable cancel;
+        try {
+            cancel = gameService.onStateChange(gameId, sinceVersion, () -> result.setResult(currentGameResponse(gameId, playerId)));
+        } catch (IllegalArgumentException e) {
+            result.setResult(ResponseEntity.notFound().build());
+            return result;
+        }
+        result.onTimeout(() -> {
+            cancel.run();
+            result.setResult(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        });
+        result.onCompletion(cancel);
+        return result;
+    }
+
+    private ResponseEntity<GameResponse> currentGameResponse(String gameId, String playerId) {
+        try {
+            return conditionalGameResponse(gameService.getGame(gameId), playerId, null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Answer 304 without building a response when the client already has the current state
+     * version, otherwise the full state tagged with its version. The body depends on the viewer
+     * (only their own dice are shown), so it is private to them.
+     */
+    private ResponseEntity<GameResponse> conditionalGameResponse(Game live, String playerId, String ifNoneMatch) {
+        // Tag and body come from the same snapshot so the ETag always describes the body
+        GameSnapshot game = live.getSnapshot();
+        String eTag = gameETag(game.getId(), game.getStateVersion(), playerId);
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag)
+                    .cacheControl(CacheControl.empty().cachePrivate()).build();
+        }
+        GameResponse response = playerId != null ? new GameResponse(game, playerId) : new GameResponse(game);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.empty().cachePrivate()).body(response);
+    }
+
+    /** ETag of a game state as seen by the given player (null for a spectator) */
+    static String gameETag(String gameId, long stateVersion, String playerId) {
+        String viewer = playerId != null ? "-" + playerId : "";
+        return "\"" + gameId + "-" + stateVersion + viewer + "\"";
+    }
+
+    /**
+     * If-None-Match is "*" or a comma-separated list of tags, each possibly weak (W/). It matches
+     * when it is "*" (the resource exists) or one of the tags, compared weakly, equals ours.
+     */
+    static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @PostMapping("/multiplayer/{gameId}/start")
     public ResponseEntity<GameResponse> startMultiplayerGame(@PathVariable String gameId,
             @RequestBody ActionRequest request) {
@@ -263,6 +408,20 @@ public class GameController {
         }
     }
 
+    /** Chat messages newer than the one with sequence number {@code after}; all held messages by default */
+    @GetMapping("/multiplayer/{gameId}/chat")
+    public ResponseEntity<List<GameResponse.ChatMessageInfo>> getChatMessages(@PathVariable String gameId,
+            @RequestParam(defaultValue = "0") long after) {
+        try {
+            List<GameResponse.ChatMessageInfo> messages = gameService.getChatMessagesSince(gameId, after).stream()
+                    .map(GameResponse.ChatMessageInfo::new)
+                    .toList();
+            return ResponseEntity.ok(messages);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PostMapping("/multiplayer/{gameId}/end")
     public ResponseEntity<Void> endGame(@PathVariable String gameId, @RequestBody ActionRequest request) {
         try {
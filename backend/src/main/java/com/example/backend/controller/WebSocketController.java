@@ -3,7 +3,11 @@ package com.example.backend.controller;
 import com.example.backend.dto.GameResponse;
 import com.example.backend.dto.WebSocketMessage;
 import com.example.backend.model.Game;
+import com.example.backend.service.GameLogContext;
 import com.example.backend.service.GameService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -13,13 +17,15 @@ import org.springframework.stereotype.Controller;
 @Controller
 public class WebSocketController {
 
+    private static final Logger log = LoggerFactory.getLogger(WebSocketController.class);
+
     @Autowired
     private GameService gameService;
 
     @MessageMapping("/game/{gameId}/join")
     @SendTo("/topic/game/{gameId}")
     public WebSocketMessage joinGame(@DestinationVariable String gameId, String playerName) {
-        try {
+        try (MDC.MDCCloseable ignored = GameLogContext.enter(gameId)) {
             Game game = gameService.getGame(gameId);
             if (game == null) {
                 return new WebSocketMessage("ERROR", "Game not found", gameId, null);
@@ -47,7 +53,7 @@ public class WebSocketController {
     @MessageMapping("/game/{gameId}/action")
     @SendTo("/topic/game/{gameId}")
     public WebSocketMessage handleGameAction(@DestinationVariable String gameId, WebSocketMessage message) {
-        try {
+        try (MDC.MDCCloseable ignored = GameLogContext.enter(gameId)) {
             String action = message.getType();
             String playerId = message.getPlayerId();
             Object data = message.getData();
@@ -71,7 +77,8 @@ public class WebSocketController {
             }
 
             GameResponse updatedGame = gameService.getGameResponse(gameId);
-            System.out.println("WEBSOCKET: Sending GAME_UPDATED for game " + gameId + ", currentPlayerId: " + updatedGame.getCurrentPlayerId());
+            log.debug("WEBSOCKET: Sending GAME_UPDATED for game {}, current player {}", gameId,
+                    updatedGame.getCurrentPlayerId());
             return new WebSocketMessage("GAME_UPDATED", updatedGame, gameId, playerId);
         } catch (Exception e) {
             return new WebSocketMessage("ERROR", e.getMessage(), gameId, message.getPlayerId());
@@ -5,6 +5,7 @@ import java.util.List;
 public class CreateGameRequest {
     private List<String> playerNames; // Legacy support
     private List<PlayerInfo> players; // New format with AI support
+    private Long seed; // Optional: replays the same dice and AI choices for the same moves
 
     public static class PlayerInfo {
         private String name;
@@ -39,4 +40,7 @@ public class CreateGameRequest {
 
     public List<PlayerInfo> getPlayers() { return players; }
     public void setPlayers(List<PlayerInfo> players) { this.players = players; }
+
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
 }
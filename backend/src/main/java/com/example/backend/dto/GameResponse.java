@@ -1,7 +1,8 @@
 package com.example.backend.dto;
 
+import com.example.backend.model.Bid;
 import com.example.backend.model.Game;
-import com.example.backend.model.Player;
+import com.example.backend.model.GameSnapshot;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.ArrayList;
@@ -12,8 +13,8 @@ public class GameResponse {
     private List<PlayerInfo> players;
     private String state;
     private String currentPlayerId;
-    private BidInfo currentBid;
-    private BidInfo previousBid;
+    private Bid currentBid;
+    private Bid previousBid;
     private List<String> eliminatedPlayers;
     private int roundNumber;
     private String winner;
@@ -36,10 +37,12 @@ public class GameResponse {
     private boolean canContinue;
     private String lastActionPlayerId;
     private String lastActionType;
-    private List<BidInfo> currentHandBidHistory;
+    private List<Bid> currentHandBidHistory;
     private Long countdownEndTime;
     private List<String> playersContinued;
-    private List<ChatMessageInfo> chatMessages;
+    /** Sequence number of the newest chat message; clients fetch newer ones with ?after= */
+    private long lastChatSeq;
+    private long stateVersion;
 
     public GameResponse() {}
 
@@ -60,8 +63,17 @@ public class GameResponse {
      * for the player whose id matches {@code viewerPlayerId}; all other players'
      * dice are hidden.  Pass {@code null} to produce a broadcast-safe response
      * (all dice hidden in multiplayer unless {@code showAllDice} is set).
+     * The response is built from the game's last published snapshot, never from the live state.
      */
     public GameResponse(Game game, String viewerPlayerId) {
+        this(game.getSnapshot(), viewerPlayerId);
+    }
+
+    public GameResponse(GameSnapshot game) {
+        this(game, null);
+    }
+
+    public GameResponse(GameSnapshot game, String viewerPlayerId) {
         boolean hideDice = game.isMultiplayer() && !game.isShowAllDice();
         this.id = game.getId();
         this.players = game.getPlayers().stream()
@@ -75,8 +87,9 @@ public class GameResponse {
                 .toList();
         this.state = game.getState().name();
         this.currentPlayerId = game.getCurrentPlayer() != null ? game.getCurrentPlayer().getId() : null;
-        this.currentBid = game.getCurrentBid() != null ? new BidInfo(game.getCurrentBid()) : null;
-        this.previousBid = game.getPreviousBid() != null ? new BidInfo(game.getPreviousBid()) : null;
+        // Bids are immutable, so the response refers to the snapshot's instead of copying them
+        this.currentBid = game.getCurrentBid();
+        this.previousBid = game.getPreviousBid();
         this.eliminatedPlayers = game.getEliminatedPlayers();
         this.roundNumber = game.getRoundNumber();
         this.winner = game.getWinner();
@@ -98,16 +111,11 @@ public class GameResponse {
         this.canContinue = game.isCanContinue();
     this.lastActionPlayerId = game.getLastActionPlayerId();
     this.lastActionType = game.getLastActionType() != null ? game.getLastActionType().name() : null;
-        this.currentHandBidHistory = game.getCurrentHandBidHistory() != null 
-            ? game.getCurrentHandBidHistory().stream().map(BidInfo::new).toList()
-            : new ArrayList<>();
+        this.currentHandBidHistory = game.getCurrentHandBidHistory();
         this.countdownEndTime = game.getCountdownEndTime();
-        this.playersContinued = game.getPlayersContinued() != null
-            ? new ArrayList<>(game.getPlayersContinued())
-            : new ArrayList<>();
-        this.chatMessages = game.getChatMessages() != null
-            ? game.getChatMessages().stream().map(ChatMessageInfo::new).toList()
-            : new ArrayList<>();
+        this.playersContinued = game.getPlayersContinued();
+        this.lastChatSeq = game.getLastChatSeq();
+        this.stateVersion = game.getStateVersion();
     }
 
     // Getters and Setters
@@ -123,14 +131,14 @@ public class GameResponse {
     public String getCurrentPlayerId() { return currentPlayerId; }
     public void setCurrentPlayerId(String currentPlayerId) { this.currentPlayerId = currentPlayerId; }
 
-    public BidInfo getCurrentBid() { return currentBid; }
-    public void setCurrentBid(BidInfo currentBid) { this.currentBid = currentBid; }
+    public Bid getCurrentBid() { return currentBid; }
+    public void setCurrentBid(Bid currentBid) { this.currentBid = currentBid; }
 
-    public BidInfo getPreviousBid() {
+    public Bid getPreviousBid() {
         return previousBid;
     }
 
-    public void setPreviousBid(BidInfo previousBid) {
+    public void setPreviousBid(Bid previousBid) {
         this.previousBid = previousBid;
     }
 
@@ -271,11 +279,11 @@ public class GameResponse {
         this.lastActionType = lastActionType;
     }
 
-    public List<BidInfo> getCurrentHandBidHistory() {
+    public List<Bid> getCurrentHandBidHistory() {
         return currentHandBidHistory;
     }
 
-    public void setCurrentHandBidHistory(List<BidInfo> currentHandBidHistory) {
+    public void setCurrentHandBidHistory(List<Bid> currentHandBidHistory) {
         this.currentHandBidHistory = currentHandBidHistory;
     }
 
@@ -295,12 +303,20 @@ public class GameResponse {
         this.playersContinued = playersContinued;
     }
 
-    public List<ChatMessageInfo> getChatMessages() {
-        return chatMessages;
+    public long getStateVersion() {
+        return stateVersion;
     }
 
-    public void setChatMessages(List<ChatMessageInfo> chatMessages) {
-        this.chatMessages = chatMessages;
+    public void setStateVersion(long stateVersion) {
+        this.stateVersion = stateVersion;
+    }
+
+    public long getLastChatSeq() {
+        return lastChatSeq;
+    }
+
+    public void setLastChatSeq(long lastChatSeq) {
+        this.lastChatSeq = lastChatSeq;
     }
 
     public static class ChatMessageInfo {
@@ -309,6 +325,7 @@ public class GameResponse {
         private String playerName;
         private String text;
         private long timestamp;
+        private long seq;
 
         public ChatMessageInfo(com.example.backend.model.ChatMessage msg) {
             this.id = msg.getId();
@@ -316,6 +333,7 @@ public class GameResponse {
             this.playerName = msg.getPlayerName();
             this.text = msg.getText();
             this.timestamp = msg.getTimestamp();
+            this.seq = msg.getSeq();
         }
 
         public String getId() { return id; }
@@ -328,6 +346,8 @@ public class GameResponse {
         public void setText(String text) { this.text = text; }
         public long getTimestamp() { return timestamp; }
         public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+        public long getSeq() { return seq; }
+        public void setSeq(long seq) { this.seq = seq; }
     }
 
     public static class PlayerInfo {
@@ -339,12 +359,12 @@ public class GameResponse {
     private int winTokens;
     private String color;
 
-        public PlayerInfo(Player player) {
+        public PlayerInfo(GameSnapshot.PlayerSnapshot player) {
             this.id = player.getId();
             this.name = player.getName();
             this.diceCount = player.getDice().size();
             this.isEliminated = player.isEliminated();
-            this.dice = new ArrayList<>(player.getDice());
+            this.dice = player.getDice().toList();
             this.winTokens = player.getWinTokens();
             this.color = player.getColor();
         }
@@ -381,31 +401,4 @@ public class GameResponse {
             this.winTokens = winTokens;
         }
     }
-
-    public static class BidInfo {
-        private String playerId;
-        private int quantity;
-        private int faceValue;
-        private String type;
-
-        public BidInfo(com.example.backend.model.Bid bid) {
-            this.playerId = bid.getPlayerId();
-            this.quantity = bid.getQuantity();
-            this.faceValue = bid.getFaceValue();
-            this.type = bid.getType().name();
-        }
-
-        // Getters and Setters
-        public String getPlayerId() { return playerId; }
-        public void setPlayerId(String playerId) { this.playerId = playerId; }
-
-        public int getQuantity() { return quantity; }
-        public void setQuantity(int quantity) { this.quantity = quantity; }
-
-        public int getFaceValue() { return faceValue; }
-        public void setFaceValue(int faceValue) { this.faceValue = faceValue; }
-
-        public String getType() { return type; }
-        public void setType(String type) { this.type = type; }
-    }
 }
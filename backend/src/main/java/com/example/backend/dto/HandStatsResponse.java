@@ -0,0 +1,66 @@
+package com.example.backend.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Aggregates over archived hands: bluffing, call accuracy, and losses per player type. */
+public class HandStatsResponse {
+
+    public static class PlayerTypeStats {
+        private long handsPlayed;
+        private long handsLost;
+
+        public long getHandsPlayed() { return handsPlayed; }
+        public void setHandsPlayed(long handsPlayed) { this.handsPlayed = handsPlayed; }
+
+        public long getHandsLost() { return handsLost; }
+        public void setHandsLost(long handsLost) { this.handsLost = handsLost; }
+
+        public double getLossRate() {
+            return handsPlayed == 0 ? 0 : (double) handsLost / handsPlayed;
+        }
+    }
+
+    private long hands;
+    /** Hands whose final bid claimed more dice than there were */
+    private long bluffs;
+    private long doubts;
+    private long correctDoubts;
+    private long spotOns;
+    private long correctSpotOns;
+    /** Keyed by AI type, "HUMAN" for human players */
+    private Map<String, PlayerTypeStats> byPlayerType = new LinkedHashMap<>();
+
+    public long getHands() { return hands; }
+    public void setHands(long hands) { this.hands = hands; }
+
+    public long getBluffs() { return bluffs; }
+    public void setBluffs(long bluffs) { this.bluffs = bluffs; }
+
+    public long getDoubts() { return doubts; }
+    public void setDoubts(long doubts) { this.doubts = doubts; }
+
+    public long getCorrectDoubts() { return correctDoubts; }
+    public void setCorrectDoubts(long correctDoubts) { this.correctDoubts = correctDoubts; }
+
+    public long getSpotOns() { return spotOns; }
+    public void setSpotOns(long spotOns) { this.spotOns = spotOns; }
+
+    public long getCorrectSpotOns() { return correctSpotOns; }
+    public void setCorrectSpotOns(long correctSpotOns) { this.correctSpotOns = correctSpotOns; }
+
+    public Map<String, PlayerTypeStats> getByPlayerType() { return byPlayerType; }
+    public void setByPlayerType(Map<String, PlayerTypeStats> byPlayerType) { this.byPlayerType = byPlayerType; }
+
+    public double getBluffRate() {
+        return hands == 0 ? 0 : (double) bluffs / hands;
+    }
+
+    public double getDoubtAccuracy() {
+        return doubts == 0 ? 0 : (double) correctDoubts / doubts;
+    }
+
+    public double getSpotOnAccuracy() {
+        return spotOns == 0 ? 0 : (double) correctSpotOns / spotOns;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.GameEvent;
+
+import java.util.Map;
+
+/** One line of a game replay: a recorded action with its inputs and outcome. */
+public class ReplayEventResponse {
+
+    private String gameId;
+    private long seq;
+    private String type;
+    private String playerId;
+    private long timestamp;
+    private Map<String, Object> data;
+
+    public ReplayEventResponse() {
+    }
+
+    public ReplayEventResponse(GameEvent event) {
+        this.gameId = event.getGameId();
+        this.seq = event.getSeq();
+        this.type = event.getType().name();
+        this.playerId = event.getPlayerId();
+        this.timestamp = event.getTimestamp();
+        this.data = event.getData();
+    }
+
+    // Getters and Setters
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+
+    public long getSeq() { return seq; }
+    public void setSeq(long seq) { this.seq = seq; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getPlayerId() { return playerId; }
+    public void setPlayerId(String playerId) { this.playerId = playerId; }
+
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+
+    public Map<String, Object> getData() { return data; }
+    public void setData(Map<String, Object> data) { this.data = data; }
+}
@@ -1,40 +1,149 @@
 package com.example.backend.model;
 
-public class Bid {
-    private String playerId;
-    private int quantity;
-    private int faceValue;
-    private BidType type;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
-    public Bid() {}
+import java.util.Objects;
 
-    public Bid(String playerId, int quantity, int faceValue, BidType type) {
+/**
+ * A raise, doubt or spot-on by one player, as an immutable value. What was claimed (quantity, face
+ * value and type) is a {@link Claim} from a table built once, so a bid only pairs a player with a
+ * shared claim and can be handed around without copying. Stored and sent as playerId, quantity,
+ * faceValue and type.
+ */
+public final class Bid {
+
+    /** Largest quantity a bid can claim: every die at a full table */
+    public static final int MAX_QUANTITY = 40;
+
+    /**
+     * Quantity, face value and type of a bid; there is exactly one instance of each. Raises are
+     * ordered by their rank, quantity first and face value second, so a raise is valid exactly
+     * when its rank is higher than that of the bid it follows.
+     */
+    public static final class Claim {
+
+        private static final int FACE_BITS = 3;
+        /** Ranks stay below 2^9, the type goes above them in the code */
+        private static final int TYPE_SHIFT = 9;
+        private static final Claim[] TABLE = new Claim[BidType.values().length << TYPE_SHIFT];
+
+        static {
+            for (BidType type : BidType.values()) {
+                for (int quantity = 0; quantity <= MAX_QUANTITY; quantity++) {
+                    for (int faceValue = 0; faceValue <= Dice.FACES; faceValue++) {
+                        Claim claim = new Claim(quantity, faceValue, type);
+                        TABLE[claim.code()] = claim;
+                    }
+                }
+            }
+        }
+
+        private final int quantity;
+        private final int faceValue;
+        private final BidType type;
+
+        private Claim(int quantity, int faceValue, BidType type) {
+            this.quantity = quantity;
+            this.faceValue = faceValue;
+            this.type = type;
+        }
+
+        public static Claim of(int quantity, int faceValue, BidType type) {
+            if (quantity < 0 || quantity > MAX_QUANTITY || faceValue < 0 || faceValue > Dice.FACES) {
+                throw new IllegalArgumentException("No bid of " + quantity + " times " + faceValue);
+            }
+            BidType kind = type != null ? type : BidType.RAISE; // Stored bids without a type are raises
+            return TABLE[kind.ordinal() << TYPE_SHIFT | quantity << FACE_BITS | faceValue];
+        }
+
+        /** The claim with the given {@link #code()} */
+        static Claim ofCode(int code) {
+            Claim claim = code >= 0 && code < TABLE.length ? TABLE[code] : null;
+            if (claim == null) {
+                throw new IllegalArgumentException("No bid with code " + code);
+            }
+            return claim;
+        }
+
+        public int getQuantity() { return quantity; }
+        public int getFaceValue() { return faceValue; }
+        public BidType getType() { return type; }
+
+        /** quantity * 8 + face value */
+        public int rank() {
+            return quantity << FACE_BITS | faceValue;
+        }
+
+        /** Index of this claim in the table, below 2^11 */
+        int code() {
+            return type.ordinal() << TYPE_SHIFT | rank();
+        }
+    }
+
+    private final String playerId;
+    @JsonIgnore
+    private final Claim claim;
+
+    @JsonCreator
+    public Bid(@JsonProperty("playerId") String playerId, @JsonProperty("quantity") int quantity,
+            @JsonProperty("faceValue") int faceValue, @JsonProperty("type") BidType type) {
+        this(playerId, Claim.of(quantity, faceValue, type));
+    }
+
+    public Bid(String playerId, Claim claim) {
         this.playerId = playerId;
-        this.quantity = quantity;
-        this.faceValue = faceValue;
-        this.type = type;
+        this.claim = claim;
+    }
+
+    public static Bid raise(String playerId, int quantity, int faceValue) {
+        return new Bid(playerId, Claim.of(quantity, faceValue, BidType.RAISE));
+    }
+
+    public static Bid doubt(String playerId) {
+        return new Bid(playerId, Claim.of(0, 0, BidType.DOUBT));
+    }
+
+    public static Bid spotOn(String playerId) {
+        return new Bid(playerId, Claim.of(0, 0, BidType.SPOT_ON));
     }
 
-    // Getters and Setters
     public String getPlayerId() { return playerId; }
-    public void setPlayerId(String playerId) { this.playerId = playerId; }
 
-    public int getQuantity() { return quantity; }
-    public void setQuantity(int quantity) { this.quantity = quantity; }
+    @JsonProperty
+    public int getQuantity() { return claim.getQuantity(); }
+
+    @JsonProperty
+    public int getFaceValue() { return claim.getFaceValue(); }
 
-    public int getFaceValue() { return faceValue; }
-    public void setFaceValue(int faceValue) { this.faceValue = faceValue; }
+    @JsonProperty
+    public BidType getType() { return claim.getType(); }
 
-    public BidType getType() { return type; }
-    public void setType(BidType type) { this.type = type; }
+    @JsonIgnore
+    public Claim getClaim() { return claim; }
+
+    /** See {@link Claim#rank()} */
+    @JsonIgnore
+    public int getRank() { return claim.rank(); }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Bid other && claim == other.claim && Objects.equals(playerId, other.playerId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(playerId) * 31 + claim.code();
+    }
 
     @Override
     public String toString() {
-        return String.format("%d %s", quantity, getFaceValueAsString());
+        return String.format("%d %s", getQuantity(), getFaceValueAsString());
     }
 
     private String getFaceValueAsString() {
-        return switch (faceValue) {
+        return switch (getFaceValue()) {
             case 1 -> "ones";
             case 2 -> "twos";
             case 3 -> "threes";
@@ -0,0 +1,111 @@
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The raises, doubts and spot-ons of the current hand, in order, packed into one int each: the
+ * {@link Bid.Claim} code and a handle for the player. Handles index this history's own table of
+ * player ids, so the sequence stays readable after a player left or the game was reloaded.
+ * Stored and sent as a plain list of bids.
+ */
+public final class BidHistory {
+
+    private static final int HANDLE_BITS = 8;
+    private static final int HANDLE_MASK = (1 << HANDLE_BITS) - 1;
+
+    /** Claim code above the player handle */
+    private int[] entries;
+    private int size;
+    private String[] players;
+    private int playerCount;
+
+    public BidHistory() {
+        this.entries = new int[8];
+        this.players = new String[4];
+    }
+
+    private BidHistory(BidHistory other) {
+        this.entries = Arrays.copyOf(other.entries, other.size);
+        this.size = other.size;
+        this.players = Arrays.copyOf(other.players, other.playerCount);
+        this.playerCount = other.playerCount;
+    }
+
+    /** History holding the given bids, e.g. as loaded from storage */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static BidHistory of(List<Bid> bids) {
+        BidHistory history = new BidHistory();
+        if (bids != null) {
+            for (Bid bid : bids) {
+                history.add(bid);
+            }
+        }
+        return history;
+    }
+
+    public void add(Bid bid) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(8, size * 2));
+        }
+        entries[size++] = bid.getClaim().code() << HANDLE_BITS | handleOf(bid.getPlayerId());
+    }
+
+    public Bid get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int entry = entries[index];
+        return new Bid(players[entry & HANDLE_MASK], Bid.Claim.ofCode(entry >>> HANDLE_BITS));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Start a new hand. Player handles are kept; the same players usually bid again. */
+    public void clear() {
+        size = 0;
+    }
+
+    /** Independent copy, e.g. for a snapshot */
+    public BidHistory copy() {
+        return new BidHistory(this);
+    }
+
+    /** Read-only view of the bids, oldest first; each is unpacked when read */
+    @JsonValue
+    public List<Bid> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Bid get(int index) {
+                return BidHistory.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int handleOf(String playerId) {
+        for (int handle = 0; handle < playerCount; handle++) {
+            if (players[handle] == null ? playerId == null : players[handle].equals(playerId)) {
+                return handle;
+            }
+        }
+        if (playerCount > HANDLE_MASK) {
+            throw new IllegalStateException("More than " + (HANDLE_MASK + 1) + " players in one bid history");
+        }
+        if (playerCount == players.length) {
+            players = Arrays.copyOf(players, Math.max(4, playerCount * 2));
+        }
+        players[playerCount] = playerId;
+        return playerCount++;
+    }
+}
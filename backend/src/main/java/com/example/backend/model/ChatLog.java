@@ -0,0 +1,144 @@
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * The chat of one game: the last {@link #CAPACITY} messages in a fixed ring. Every message gets
+ * the next sequence number (from 1) when it is appended, so readers can ask for what came after
+ * the last message they saw. Appending never moves the other messages; once full, the oldest is
+ * overwritten. Stored and sent as a plain list of messages, oldest first.
+ *
+ * Messages are appended by the thread holding the game's monitor. A {@link View} taken then is
+ * read by any thread without copying the ring: it sees the messages up to its own last sequence
+ * number, less those overwritten by later appends.
+ */
+public final class ChatLog {
+
+    public static final int CAPACITY = 200;
+
+    private final AtomicReferenceArray<ChatMessage> ring = new AtomicReferenceArray<>(CAPACITY);
+    /** Sequence number of the last message appended, 0 if none */
+    private long lastSeq;
+
+    /** The messages of a chat up to the last one appended when the view was taken */
+    public static final class View {
+        private final ChatLog log;
+        private final long lastSeq;
+
+        private View(ChatLog log, long lastSeq) {
+            this.log = log;
+            this.lastSeq = lastSeq;
+        }
+
+        public long getLastSeq() {
+            return lastSeq;
+        }
+
+        /** Messages of the view with a sequence number above the given one, oldest first */
+        public List<ChatMessage> since(long seq) {
+            return log.between(seq, lastSeq);
+        }
+    }
+
+    public ChatLog() {
+    }
+
+    /** Chat holding the given messages, e.g. as loaded from storage, keeping their sequence numbers if they have them */
+    @JsonCreator
+    public static ChatLog of(List<ChatMessage> messages) {
+        ChatLog log = new ChatLog();
+        if (messages == null) {
+            return log;
+        }
+        List<ChatMessage> kept = messages.subList(Math.max(0, messages.size() - CAPACITY), messages.size());
+        boolean numbered = !kept.isEmpty() && kept.get(0).getSeq() > 0;
+        for (int i = 1; i < kept.size() && numbered; i++) {
+            numbered = kept.get(i).getSeq() == kept.get(i - 1).getSeq() + 1;
+        }
+        // Messages stored before they were numbered (or out of order) are numbered by position
+        if (numbered) {
+            log.lastSeq = kept.get(0).getSeq() - 1;
+        }
+        for (ChatMessage message : kept) {
+            log.append(message);
+        }
+        return log;
+    }
+
+    /** Append the message, numbering it, and return its sequence number. Unless it has one, its id is that number. */
+    public long append(ChatMessage message) {
+        long seq = ++lastSeq;
+        message.setSeq(seq);
+        if (message.getId() == null) {
+            message.setId(Long.toString(seq));
+        }
+        ring.set(slot(seq), message);
+        return seq;
+    }
+
+    /** View of the messages held now, unaffected by later appends except for messages they overwrite */
+    public View view() {
+        return new View(this, lastSeq);
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    /** Sequence number of the oldest message still held (lastSeq + 1 when empty) */
+    public long getFirstSeq() {
+        return Math.max(1, lastSeq - CAPACITY + 1);
+    }
+
+    public int size() {
+        return (int) (lastSeq - getFirstSeq() + 1);
+    }
+
+    /** Visit, oldest first, every message held with a sequence number above the given one. */
+    public void forEachSince(long seq, Consumer<ChatMessage> visitor) {
+        for (long s = Math.max(seq + 1, getFirstSeq()); s <= lastSeq; s++) {
+            visitor.accept(ring.get(slot(s)));
+        }
+    }
+
+    /** Messages held with a sequence number above the given one, oldest first */
+    public List<ChatMessage> since(long seq) {
+        return between(seq, lastSeq);
+    }
+
+    /**
+     * Messages with a sequence number above {@code seq} and up to {@code upTo}, oldest first.
+     * Slots appended to after {@code upTo} hold a newer message than the one asked for; that
+     * message is no longer held, so it is left out.
+     */
+    private List<ChatMessage> between(long seq, long upTo) {
+        long from = Math.max(seq + 1, Math.max(1, upTo - CAPACITY + 1));
+        if (from > upTo) {
+            return List.of();
+        }
+        List<ChatMessage> messages = new ArrayList<>((int) (upTo - from + 1));
+        for (long s = from; s <= upTo; s++) {
+            ChatMessage message = ring.get(slot(s));
+            if (message.getSeq() == s) {
+                messages.add(message);
+            }
+        }
+        return Collections.unmodifiableList(messages);
+    }
+
+    @JsonValue
+    public List<ChatMessage> toList() {
+        return since(0);
+    }
+
+    private static int slot(long seq) {
+        return (int) ((seq - 1) % CAPACITY);
+    }
+}
@@ -1,18 +1,17 @@
 package com.example.backend.model;
 
-import java.util.UUID;
-
 public class ChatMessage {
     private String id;
     private String playerId;
     private String playerName;
     private String text;
     private long timestamp;
+    /** Position in the game's chat, assigned when the message is appended */
+    private long seq;
 
     public ChatMessage() {}
 
     public ChatMessage(String playerId, String playerName, String text) {
-        this.id = UUID.randomUUID().toString();
         this.playerId = playerId;
         this.playerName = playerName;
         this.text = text;
@@ -33,4 +32,7 @@ public class ChatMessage {
 
     public long getTimestamp() { return timestamp; }
     public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+
+    public long getSeq() { return seq; }
+    public void setSeq(long seq) { this.seq = seq; }
 }
@@ -0,0 +1,157 @@
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A player's dice as one immutable value: up to {@link #MAX_DICE} faces packed 3 bits each into
+ * an int, plus a per-face histogram packed 4 bits per face into another. Rolling, copying and
+ * counting are plain int operations; the list form only exists at the JSON and storage boundary.
+ */
+public final class Dice {
+
+    public static final int MAX_DICE = 9;
+    public static final int FACES = 6;
+    public static final Dice EMPTY = new Dice(0, 0, 0);
+
+    private static final int COUNT_BITS = 4;
+    private static final int FACE_BITS = 3;
+    private static final int HISTOGRAM_BITS = 4;
+    /** Faces taken from one random long: 6^24 is the largest power of 6 below 2^63 */
+    private static final int FACES_PER_DRAW = 24;
+    private static final long DRAW_BOUND = 4738381338321616896L;
+
+    /** Dice count in the low 4 bits, then each face in 3 bits */
+    private final int packed;
+    /** Number of dice showing face f in bits 4*(f-1) .. 4*(f-1)+3 */
+    private final int histogram;
+
+    private Dice(int size, int faces, int histogram) {
+        this.packed = size | faces << COUNT_BITS;
+        this.histogram = histogram;
+    }
+
+    /** Roll the given number of dice. */
+    public static Dice roll(int count) {
+        return roll(count, ThreadLocalRandom.current());
+    }
+
+    /** Roll the given number of dice from the given generator. */
+    public static Dice roll(int count, RandomGenerator random) {
+        return rollAll(1, count, random)[0];
+    }
+
+    /**
+     * Roll a hand of the given number of dice for each of several players at once. Faces are
+     * peeled off uniform longs below 6^24, so a table of eight players needs two draws.
+     */
+    public static Dice[] rollAll(int hands, int count, RandomGenerator random) {
+        if (count > MAX_DICE) {
+            throw new IllegalArgumentException("At most " + MAX_DICE + " dice, got " + count);
+        }
+        Dice[] rolled = new Dice[hands];
+        long draw = 0;
+        int left = 0;
+        for (int hand = 0; hand < hands; hand++) {
+            int packedFaces = 0;
+            int histogram = 0;
+            for (int i = 0; i < count; i++) {
+                if (left == 0) {
+                    draw = random.nextLong(DRAW_BOUND);
+                    left = FACES_PER_DRAW;
+                }
+                int face = (int) (draw % FACES) + 1;
+                draw /= FACES;
+                left--;
+                packedFaces |= face << (FACE_BITS * i);
+                histogram += 1 << (HISTOGRAM_BITS * (face - 1));
+            }
+            rolled[hand] = count == 0 ? EMPTY : new Dice(count, packedFaces, histogram);
+        }
+        return rolled;
+    }
+
+    public static Dice of(int... faces) {
+        if (faces.length > MAX_DICE) {
+            throw new IllegalArgumentException("At most " + MAX_DICE + " dice, got " + faces.length);
+        }
+        int packedFaces = 0;
+        int histogram = 0;
+        for (int i = 0; i < faces.length; i++) {
+            int face = faces[i];
+            if (face < 1 || face > FACES) {
+                throw new IllegalArgumentException("Invalid die face: " + face);
+            }
+            packedFaces |= face << (FACE_BITS * i);
+            histogram += 1 << (HISTOGRAM_BITS * (face - 1));
+        }
+        return faces.length == 0 ? EMPTY : new Dice(faces.length, packedFaces, histogram);
+    }
+
+    @JsonCreator
+    public static Dice of(List<Integer> faces) {
+        if (faces == null) {
+            return EMPTY;
+        }
+        int[] values = new int[faces.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = faces.get(i);
+        }
+        return of(values);
+    }
+
+    public int size() {
+        return packed & ((1 << COUNT_BITS) - 1);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Face of the die at the given position */
+    public int get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Die " + index + " of " + size());
+        }
+        return (packed >>> (COUNT_BITS + FACE_BITS * index)) & ((1 << FACE_BITS) - 1);
+    }
+
+    /** Number of dice showing the given face */
+    public int count(int face) {
+        return (histogram >>> (HISTOGRAM_BITS * (face - 1))) & ((1 << HISTOGRAM_BITS) - 1);
+    }
+
+    /** Number of dice that count for a bid on the given face, ones counting as any face if wild */
+    public int count(int face, boolean wildOnes) {
+        return wildOnes && face != 1 ? count(face) + count(1) : count(face);
+    }
+
+    @JsonValue
+    public List<Integer> toList() {
+        List<Integer> faces = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            faces.add(get(i));
+        }
+        return faces;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Dice other && other.packed == packed;
+    }
+
+    @Override
+    public int hashCode() {
+        return packed;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
@@ -1,28 +1,268 @@
 package com.example.backend.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.annotation.Transient;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 public class Game {
+
+    private static final Logger log = LoggerFactory.getLogger(Game.class);
+
+    public static final int DICE_PER_PLAYER = 5;
+    /** Seats the elimination bitset can hold; far above any table size */
+    public static final int MAX_SEATS = Long.SIZE;
+
     // Eliminate a player by ID
     public void eliminatePlayer(String playerId) {
-        if (!eliminatedPlayers.contains(playerId)) {
-            eliminatedPlayers.add(playerId);
-            players.stream()
-                .filter(p -> p.getId().equals(playerId))
-                .findFirst()
-                .ifPresent(Player::eliminate);
+        int seat = seatOf(playerId);
+        if (seat >= 0 && !isSeatEliminated(seat)) {
+            Player player = players.get(seat);
+            countDice(player.getDice(), -1);
+            player.eliminate();
+            eliminatedSeats = eliminatedSeats() | 1L << seat;
+        }
+    }
+
+    /** Bring every eliminated player back into the round. */
+    public void clearEliminations() {
+        for (Player player : players) {
+            player.setEliminated(false);
+        }
+        eliminatedSeats = 0;
+        eliminatedSeatsKnown = true;
+    }
+
+    public boolean isEliminated(String playerId) {
+        int seat = seatOf(playerId);
+        return seat >= 0 && isSeatEliminated(seat);
+    }
+
+    public boolean isSeatEliminated(int seat) {
+        return (eliminatedSeats() & 1L << seat) != 0;
+    }
+
+    public int getActivePlayerCount() {
+        return players.size() - Long.bitCount(eliminatedSeats());
+    }
+
+    /**
+     * First seat at or after the given one (wrapping around the table) whose player is still in
+     * the round; the given seat itself if nobody is.
+     */
+    public int activeSeatFrom(int seat) {
+        int size = players.size();
+        long active = ~eliminatedSeats() & seatMask(size);
+        if (active == 0 || seat >= size) {
+            return seat;
+        }
+        long atOrAfter = active & -1L << seat;
+        return Long.numberOfTrailingZeros(atOrAfter != 0 ? atOrAfter : active);
+    }
+
+    /** First seat after the given one (wrapping around the table) whose player is still in the round */
+    public int nextActiveSeat(int seat) {
+        return players.isEmpty() ? seat : activeSeatFrom((seat + 1) % players.size());
+    }
+
+    /** Seat of the player, or -1 if they are not at this table */
+    public int seatOf(String playerId) {
+        Integer seat = seatIndex().get(playerId);
+        return seat != null ? seat : -1;
+    }
+
+    /** The player with the given id, or null if they are not at this table */
+    public Player getPlayer(String playerId) {
+        int seat = seatOf(playerId);
+        return seat >= 0 ? players.get(seat) : null;
+    }
+
+    /** Handle of the player within this game, or -1 if they are not at this table */
+    public int handleOf(String playerId) {
+        int seat = seatOf(playerId);
+        return seat >= 0 ? players.get(seat).getHandle() : -1;
+    }
+
+    /** Seat the player at the end of the table. */
+    public void addPlayer(Player player) {
+        seatIndex(); // Players seated before get their handles first
+        players.add(player);
+        assignHandle(player);
+        seatIndex = indexSeats(players);
+        countDice(player.getDice(), 1);
+    }
+
+    /**
+     * Seats by player id. Never changed once built: joining and leaving through this class
+     * replace it, so readers of a published index never see it half updated. Built on first use
+     * for players set from outside (a loaded game, or a list changed behind this class's back,
+     * which the size check catches); that build holds this game's monitor like every command, as
+     * it gives players their handles.
+     */
+    Map<String, Integer> seatIndex() {
+        Map<String, Integer> index = seatIndex;
+        if (index != null && index.size() == players.size()) {
+            return index;
+        }
+        synchronized (this) {
+            index = seatIndex;
+            if (index == null || index.size() != players.size()) {
+                for (Player player : players) {
+                    lastHandle = Math.max(lastHandle, player.getHandle());
+                }
+                for (Player player : players) {
+                    assignHandle(player);
+                }
+                index = indexSeats(players);
+                seatIndex = index;
+            }
+            return index;
+        }
+    }
+
+    private static Map<String, Integer> indexSeats(List<Player> players) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < players.size(); i++) {
+            index.put(players.get(i).getId(), i);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    /** The players, each with their handle assigned */
+    List<Player> seatedPlayers() {
+        seatIndex();
+        return players;
+    }
+
+    private void assignHandle(Player player) {
+        if (player.getHandle() == 0) {
+            player.setHandle(++lastHandle);
+        }
+    }
+
+    /** Eliminated seats, one bit per seat, built from the players' own flags on first use */
+    long eliminatedSeats() {
+        if (!eliminatedSeatsKnown) {
+            if (players.size() > MAX_SEATS) {
+                throw new IllegalStateException("At most " + MAX_SEATS + " seats, got " + players.size());
+            }
+            long seats = 0;
+            for (int i = 0; i < players.size(); i++) {
+                if (players.get(i).isEliminated()) {
+                    seats |= 1L << i;
+                }
+            }
+            eliminatedSeats = seats;
+            eliminatedSeatsKnown = true;
+        }
+        return eliminatedSeats;
+    }
+
+    private static long seatMask(int size) {
+        return size >= MAX_SEATS ? -1L : (1L << size) - 1;
+    }
+
+    /** Roll a fresh hand for every player still in the round, all in one bulk roll. */
+    public void rollAllDice(RandomGenerator random) {
+        long active = ~eliminatedSeats() & seatMask(players.size());
+        Dice[] rolled = Dice.rollAll(Long.bitCount(active), DICE_PER_PLAYER, random);
+        for (int hand = 0; active != 0; active &= active - 1, hand++) {
+            setPlayerDice(players.get(Long.numberOfTrailingZeros(active)), rolled[hand]);
+        }
+    }
+
+    public void setPlayerDice(Player player, Dice dice) {
+        countDice(player.getDice(), -1);
+        player.setDice(dice);
+        countDice(player.getDice(), 1);
+    }
+
+    /** Bring the player back into the round without dice. */
+    public void resetPlayer(Player player) {
+        countDice(player.getDice(), -1);
+        if (player.isEliminated() && eliminatedSeatsKnown) {
+            int seat = seatOf(player.getId());
+            if (seat >= 0) {
+                eliminatedSeats &= ~(1L << seat);
+            }
+        }
+        player.reset();
+    }
+
+    public boolean removePlayer(String playerId) {
+        int seat = seatOf(playerId);
+        if (seat < 0) {
+            return false;
+        }
+        removePlayerAt(seat);
+        return true;
+    }
+
+    public Player removePlayerAt(int index) {
+        // Seats above the removed one move down by one, and their bits with them
+        long seats = eliminatedSeats();
+        long below = seatMask(index);
+        eliminatedSeats = seats & below | seats >>> 1 & ~below;
+        Player removed = players.remove(index);
+        if (seatIndex != null) {
+            seatIndex = indexSeats(players);
+        }
+        countDice(removed.getDice(), -1);
+        return removed;
+    }
+
+    /** Number of dice on the table showing the given face */
+    public int countDice(int faceValue) {
+        return diceFaceCounts()[faceValue];
+    }
+
+    /** Number of dice still on the table */
+    public int getDiceCount() {
+        return diceFaceCounts()[0];
+    }
+
+    /** Dice counts by face (index 0: all dice), built from the players on first use */
+    int[] diceFaceCounts() {
+        int[] counts = diceFaceCounts;
+        if (counts == null) {
+            counts = new int[Dice.FACES + 1];
+            for (Player player : players) {
+                for (int face = 1; face <= Dice.FACES; face++) {
+                    counts[face] += player.getDice().count(face);
+                }
+                counts[0] += player.getDice().size();
+            }
+            diceFaceCounts = counts;
+        }
+        return counts;
+    }
+
+    private void countDice(Dice dice, int sign) {
+        int[] counts = diceFaceCounts;
+        if (counts == null || dice.isEmpty()) {
+            return; // Built in full on first use
         }
+        for (int face = 1; face <= Dice.FACES; face++) {
+            counts[face] += sign * dice.count(face);
+        }
+        counts[0] += sign * dice.size();
     }
 
     // Start a new round, resetting state but keeping win tokens
     public void startNewRound() {
         for (Player player : players) {
-            player.reset();
-            player.rollDice();
+            resetPlayer(player);
         }
-        eliminatedPlayers.clear();
+        rollAllDice(GameRandom.forGame(this));
         if (dealerIndex < players.size()) {
             currentPlayerIndex = dealerIndex;
         }
@@ -37,13 +277,7 @@ public class Game {
 
     // Pass dealer button to winner
     public void passDealerToWinner(String winnerId) {
-        int idx = -1;
-        for (int i = 0; i < players.size(); i++) {
-            if (players.get(i).getId().equals(winnerId)) {
-                idx = i;
-                break;
-            }
-        }
+        int idx = seatOf(winnerId);
         if (idx != -1) {
             dealerIndex = idx;
         }
@@ -58,10 +292,7 @@ public class Game {
 
     // Add win token to round winner and check for game winner
     public boolean addRoundWinner(String winnerId) {
-        Player winnerPlayer = players.stream()
-            .filter(p -> p.getId().equals(winnerId))
-            .findFirst()
-            .orElse(null);
+        Player winnerPlayer = getPlayer(winnerId);
         if (winnerPlayer != null) {
             winnerPlayer.addWinToken();
             if (winnerPlayer.getWinTokens() >= 7) {
@@ -76,9 +307,10 @@ public class Game {
     private List<Player> players;
     private GameState state;
     private int currentPlayerIndex;
+    /** Seed of the game's randomness (see {@link GameRandom}); null for an unseeded game */
+    private Long randomSeed;
     private Bid currentBid;
     private Bid previousBid;
-    private List<String> eliminatedPlayers;
     private int roundNumber;
     private String winner;
     private String gameWinner;
@@ -102,7 +334,7 @@ public class Game {
     // players
     private Integer twoPlayerRoundStartIndex;
     // Track all bids made in the current hand
-    private List<Bid> currentHandBidHistory;
+    private BidHistory currentHandBidHistory;
     /** When state is COUNTDOWN, timestamp (ms) when the game will start */
     private Long countdownEndTime;
     /** Players who have clicked "continue" after the game ended (to trigger a rematch) */
@@ -113,14 +345,40 @@ public class Game {
      */
     private Long lastHostLobbyPresenceAt;
     /** Chat messages sent by players in this game/lobby */
-    private List<ChatMessage> chatMessages;
+    private ChatLog chatMessages;
+    /** Incremented on every committed state change; clients use it as the ETag of the game state */
+    private volatile long stateVersion;
+    /** Time (epoch ms) of the last committed state change */
+    private volatile long lastModifiedAt;
+    /** Immutable copy of the last committed state; readers use this instead of the live fields */
+    @Transient
+    private transient volatile GameSnapshot snapshot;
+    /**
+     * Dice on the table by face (index 0: all dice), kept up to date as dice are rolled, cleared
+     * and removed. Eliminated players hold no dice, so this only ever counts active dice.
+     */
+    @Transient
+    private transient int[] diceFaceCounts;
+    /**
+     * Seats of eliminated players, bit i for players.get(i). Derived from the players' own
+     * eliminated flags, which are what gets stored; turn order walks this instead of the players.
+     */
+    @Transient
+    private transient long eliminatedSeats;
+    @Transient
+    private transient boolean eliminatedSeatsKnown;
+    /** Seat of each player by id, so actions find their player without scanning the table */
+    @Transient
+    private transient volatile Map<String, Integer> seatIndex;
+    /** Last player handle given out; handles start at 1 and are not reused within the game */
+    @Transient
+    private transient int lastHandle;
 
     public Game() {
         this.id = generateShortGameId();
         this.players = new ArrayList<>();
         this.state = GameState.WAITING_FOR_PLAYERS;
         this.currentPlayerIndex = 0;
-        this.eliminatedPlayers = new ArrayList<>();
         this.roundNumber = 1;
         this.dealerIndex = 0;
         this.isMultiplayer = false;
@@ -138,20 +396,20 @@ public class Game {
         this.lastActionPlayerId = null;
         this.lastActionType = null;
         this.twoPlayerRoundStartIndex = null;
-        this.currentHandBidHistory = new ArrayList<>();
+        this.currentHandBidHistory = new BidHistory();
         this.playersContinued = new ArrayList<>();
         this.lastHostLobbyPresenceAt = null;
-        this.chatMessages = new ArrayList<>();
+        this.chatMessages = new ChatLog();
+        this.lastModifiedAt = System.currentTimeMillis();
     }
 
     /** Reset this game back to WAITING_FOR_PLAYERS so all players can start a new game. */
     public void resetForNewGame() {
         for (Player player : players) {
             player.setWinTokens(0);
-            player.setEliminated(false);
-            player.getDice().clear();
+            setPlayerDice(player, Dice.EMPTY);
         }
-        eliminatedPlayers.clear();
+        clearEliminations();
         currentBid = null;
         previousBid = null;
         winner = null;
@@ -162,7 +420,7 @@ public class Game {
         showAllDice = false;
         canContinue = false;
         playersContinued = new ArrayList<>();
-        currentHandBidHistory = new ArrayList<>();
+        currentHandBidHistory = new BidHistory();
         previousRoundPlayers = new ArrayList<>();
         countdownEndTime = null;
         twoPlayerRoundStartIndex = null;
@@ -178,9 +436,10 @@ public class Game {
         lastHostLobbyPresenceAt = System.currentTimeMillis();
     }
 
+    /** Placeholder id for a game not created through GameService, which assigns a unique one */
     private String generateShortGameId() {
         String chars = "abcdefghijklmnopqrstuvwxyz";
-        Random random = new Random();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         StringBuilder result = new StringBuilder();
         for (int i = 0; i < 3; i++) {
             result.append(chars.charAt(random.nextInt(chars.length())));
@@ -193,9 +452,12 @@ public class Game {
         this.players = new ArrayList<>(players);
         this.state = GameState.IN_PROGRESS;
         this.isWaitingForPlayers = false;
-    // Randomize dealer, and always start with dealer as current player
-    this.dealerIndex = (int) (Math.random() * players.size());
-    this.currentPlayerIndex = this.dealerIndex;
+    }
+
+    /** Pick a random dealer, who always starts as the current player. */
+    public void chooseDealer(RandomGenerator random) {
+        dealerIndex = random.nextInt(Math.max(1, players.size()));
+        currentPlayerIndex = dealerIndex;
     }
 
     // Getters and Setters
@@ -203,11 +465,19 @@ public class Game {
     public void setId(String id) { this.id = id; }
 
     public List<Player> getPlayers() { return players; }
-    public void setPlayers(List<Player> players) { this.players = players; }
+    public void setPlayers(List<Player> players) {
+        this.players = players;
+        this.diceFaceCounts = null;
+        this.eliminatedSeatsKnown = false;
+        this.seatIndex = null;
+    }
 
     public GameState getState() { return state; }
     public void setState(GameState state) { this.state = state; }
 
+    public Long getRandomSeed() { return randomSeed; }
+    public void setRandomSeed(Long randomSeed) { this.randomSeed = randomSeed; }
+
     public int getCurrentPlayerIndex() { return currentPlayerIndex; }
     public void setCurrentPlayerIndex(int currentPlayerIndex) { this.currentPlayerIndex = currentPlayerIndex; }
 
@@ -222,8 +492,15 @@ public class Game {
         this.previousBid = previousBid;
     }
 
-    public List<String> getEliminatedPlayers() { return eliminatedPlayers; }
-    public void setEliminatedPlayers(List<String> eliminatedPlayers) { this.eliminatedPlayers = eliminatedPlayers; }
+    /** Ids of the eliminated players in seat order; derived from the seat bitset, so not stored */
+    @JsonIgnore
+    public List<String> getEliminatedPlayers() {
+        List<String> ids = new ArrayList<>(Long.bitCount(eliminatedSeats()));
+        for (long seats = eliminatedSeats(); seats != 0; seats &= seats - 1) {
+            ids.add(players.get(Long.numberOfTrailingZeros(seats)).getId());
+        }
+        return ids;
+    }
 
     public int getRoundNumber() { return roundNumber; }
     public void setRoundNumber(int roundNumber) { this.roundNumber = roundNumber; }
@@ -247,9 +524,12 @@ public class Game {
     }
 
     public List<Player> getActivePlayers() {
-        return players.stream()
-                .filter(player -> !eliminatedPlayers.contains(player.getId()))
-                .toList();
+        long active = ~eliminatedSeats() & seatMask(players.size());
+        List<Player> result = new ArrayList<>(Long.bitCount(active));
+        for (; active != 0; active &= active - 1) {
+            result.add(players.get(Long.numberOfTrailingZeros(active)));
+        }
+        return result;
     }
 
     public boolean hasGameWinner() {
@@ -402,16 +682,27 @@ public class Game {
         this.twoPlayerRoundStartIndex = twoPlayerRoundStartIndex;
     }
 
+    /** Bids of the current hand, oldest first (read-only) */
     public List<Bid> getCurrentHandBidHistory() {
         if (currentHandBidHistory == null) {
-            System.out.println("⚠️ WARNING: getCurrentHandBidHistory() returning null!");
-            return new ArrayList<>();
+            return List.of();
         }
-        System.out.println("📊 getCurrentHandBidHistory() called. Size: " + currentHandBidHistory.size());
-        return currentHandBidHistory;
+        return currentHandBidHistory.asList();
     }
 
     public void setCurrentHandBidHistory(List<Bid> currentHandBidHistory) {
+        this.currentHandBidHistory = BidHistory.of(currentHandBidHistory);
+    }
+
+    /** The packed history itself, for snapshots */
+    BidHistory bidHistory() {
+        if (currentHandBidHistory == null) {
+            currentHandBidHistory = new BidHistory();
+        }
+        return currentHandBidHistory;
+    }
+
+    void setBidHistory(BidHistory currentHandBidHistory) {
         this.currentHandBidHistory = currentHandBidHistory;
     }
 
@@ -442,32 +733,75 @@ public class Game {
         this.lastHostLobbyPresenceAt = lastHostLobbyPresenceAt;
     }
 
-    public List<ChatMessage> getChatMessages() {
+    public ChatLog getChatMessages() {
         if (chatMessages == null) {
-            chatMessages = new ArrayList<>();
+            chatMessages = new ChatLog();
         }
         return chatMessages;
     }
 
-    public void setChatMessages(List<ChatMessage> chatMessages) {
+    public void setChatMessages(ChatLog chatMessages) {
         this.chatMessages = chatMessages;
     }
 
-    public void addBidToCurrentHand(Bid bid) {
-        if (this.currentHandBidHistory == null) {
-            this.currentHandBidHistory = new ArrayList<>();
-            System.out.println("⚠️ WARNING: currentHandBidHistory was null, created new ArrayList");
+    public long getStateVersion() {
+        return stateVersion;
+    }
+
+    public void setStateVersion(long stateVersion) {
+        this.stateVersion = stateVersion;
+    }
+
+    public long getLastModifiedAt() {
+        return lastModifiedAt;
+    }
+
+    public void setLastModifiedAt(long lastModifiedAt) {
+        this.lastModifiedAt = lastModifiedAt;
+    }
+
+    /** Record a committed state change and return the new state version. */
+    public synchronized long markModified() {
+        lastModifiedAt = System.currentTimeMillis();
+        return ++stateVersion;
+    }
+
+    /**
+     * Copy the current state into a new immutable snapshot and publish it to readers. A snapshot
+     * never replaces one with a newer state version, so racing commits can't publish stale state.
+     * Commands hold this game's monitor while they change it, so the copy never sees a command
+     * half done.
+     */
+    public synchronized GameSnapshot publishSnapshot() {
+        GameSnapshot next = GameSnapshot.of(this);
+        GameSnapshot current = snapshot;
+        if (current == null || next.getStateVersion() >= current.getStateVersion()) {
+            snapshot = next;
+            return next;
         }
-        this.currentHandBidHistory.add(bid);
-        System.out.println("✅ Added bid to history. Type: " + (bid.getType() != null ? bid.getType() : "null") + 
-                          ", PlayerId: " + bid.getPlayerId() + ", Total history size: " + this.currentHandBidHistory.size());
+        return current;
     }
 
-    public void clearCurrentHandBidHistory() {
-        if (this.currentHandBidHistory == null) {
-            this.currentHandBidHistory = new ArrayList<>();
-        } else {
-            this.currentHandBidHistory.clear();
+    /**
+     * Last published snapshot. Readers never publish one themselves: games are published when
+     * they are created or rebuilt, and by every command after that.
+     */
+    @JsonIgnore
+    public GameSnapshot getSnapshot() {
+        GameSnapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Game " + id + " has no published snapshot");
         }
+        return current;
+    }
+
+    public void addBidToCurrentHand(Bid bid) {
+        bidHistory().add(bid);
+        log.debug("Added {} by {} to hand history, size {}", bid.getType(), bid.getPlayerId(),
+                currentHandBidHistory.size());
+    }
+
+    public void clearCurrentHandBidHistory() {
+        bidHistory().clear();
     }
 }
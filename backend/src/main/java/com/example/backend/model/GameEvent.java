@@ -0,0 +1,73 @@
+package com.example.backend.model;
+
+import java.util.Map;
+
+/**
+ * One committed state change of a game, as appended to the game's action journal. Events hold
+ * the command and its inputs, plus whatever the command decided at random (rolled dice, dealer,
+ * generated ids), so replaying them on top of a snapshot reproduces the exact same state.
+ *
+ * {@code seq} is the game's state version after the change, so the tail of the journal after a
+ * snapshot is every event with a higher seq than the snapshot's state version.
+ */
+public final class GameEvent {
+
+    public enum Type {
+        CREATED,
+        JOINED,
+        PLAYER_REMOVED,
+        COUNTDOWN_STARTED,
+        STARTED,
+        RAISE,
+        DOUBT,
+        SPOT_ON,
+        CONTINUE_ENABLED,
+        CONTINUED,
+        ROUND_STARTED,
+        PLAYER_CONTINUED,
+        LEFT,
+        CHAT,
+        REMOVED
+    }
+
+    private final String gameId;
+    private final long seq;
+    private final Type type;
+    private final String playerId;
+    private final Map<String, Object> data;
+    private final long timestamp;
+
+    public GameEvent(String gameId, long seq, Type type, String playerId, Map<String, Object> data, long timestamp) {
+        this.gameId = gameId;
+        this.seq = seq;
+        this.type = type;
+        this.playerId = playerId;
+        this.data = data != null ? Map.copyOf(data) : Map.of();
+        this.timestamp = timestamp;
+    }
+
+    public String getGameId() { return gameId; }
+    public long getSeq() { return seq; }
+    public Type getType() { return type; }
+    public String getPlayerId() { return playerId; }
+    public Map<String, Object> getData() { return data; }
+    public long getTimestamp() { return timestamp; }
+
+    public int getInt(String key) {
+        return ((Number) data.get(key)).intValue();
+    }
+
+    public long getLong(String key) {
+        return ((Number) data.get(key)).longValue();
+    }
+
+    public String getString(String key) {
+        Object value = data.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "GameEvent{" + gameId + "#" + seq + " " + type + (playerId != null ? " by " + playerId : "") + "}";
+    }
+}
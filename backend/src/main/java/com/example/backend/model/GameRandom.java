@@ -0,0 +1,40 @@
+package com.example.backend.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Where game commands get their randomness: dice, dealer and starting player, AI choices.
+ * Unseeded games use the calling thread's generator, so AI and timer threads never share one.
+ * A game with a seed gets a fresh generator per command, derived from the seed and the state
+ * version the command starts from; the same seed and the same commands give the same game,
+ * also after the game was hibernated or the server restarted.
+ */
+public final class GameRandom {
+
+    /** Mixed into the seed so AI choices and dice made at the same state version don't correlate */
+    private static final long DICE_STREAM = 0x5DEECE66DL;
+    private static final long AI_STREAM = 0xD1B54A32D192ED03L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private GameRandom() {
+    }
+
+    /** Generator for one command on the game; use it for every draw the command makes. */
+    public static RandomGenerator forGame(Game game) {
+        return generator(game.getRandomSeed(), game.getStateVersion(), DICE_STREAM);
+    }
+
+    /** Generator for one AI decision in the given state of a game */
+    public static RandomGenerator forAI(GameSnapshot game) {
+        return generator(game.getRandomSeed(), game.getStateVersion(), AI_STREAM);
+    }
+
+    private static RandomGenerator generator(Long seed, long stateVersion, long stream) {
+        if (seed == null) {
+            return ThreadLocalRandom.current();
+        }
+        return new SplittableRandom(seed ^ stream ^ stateVersion * GOLDEN_GAMMA);
+    }
+}
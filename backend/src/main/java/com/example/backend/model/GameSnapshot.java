@@ -0,0 +1,290 @@
+package com.example.backend.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of a game's state as of its last committed mutation. The game engine publishes
+ * one after every commit (see {@link Game#publishSnapshot()}); REST responses, broadcasts, the
+ * lobby list and the AI read it instead of the live game, so they never iterate lists another
+ * thread is mutating and never see a half-applied action.
+ *
+ * Bids are copied when the snapshot is taken. The chat is not: the snapshot keeps a view of the
+ * game's chat ring up to the last message posted before it was taken.
+ *
+ * A snapshot holds the complete state, so {@link #toGame()} turns it back into a detached game;
+ * that is what gets persisted, since it is consistent with its state version.
+ */
+public final class GameSnapshot {
+
+    public static final class PlayerSnapshot {
+        private final String id;
+        private final String name;
+        private final String color;
+        private final String aiType;
+        private final Dice dice;
+        private final boolean eliminated;
+        private final int winTokens;
+        private final int handle;
+
+        private PlayerSnapshot(Player player) {
+            this.id = player.getId();
+            this.name = player.getName();
+            this.color = player.getColor();
+            this.aiType = player.getAiType();
+            this.dice = player.getDice();
+            this.eliminated = player.isEliminated();
+            this.winTokens = player.getWinTokens();
+            this.handle = player.getHandle();
+        }
+
+        public String getId() { return id; }
+        public String getName() { return name; }
+        public String getColor() { return color; }
+        public String getAiType() { return aiType; }
+        public Dice getDice() { return dice; }
+        public boolean isEliminated() { return eliminated; }
+        public int getWinTokens() { return winTokens; }
+        public int getHandle() { return handle; }
+
+        public boolean isAI() {
+            return aiType != null && !aiType.isEmpty();
+        }
+
+        Player toPlayer() {
+            Player player = new Player(name, color, aiType);
+            player.setId(id);
+            player.setDice(dice);
+            player.setEliminated(eliminated);
+            player.setWinTokens(winTokens);
+            player.setHandle(handle);
+            return player;
+        }
+    }
+
+    private final String id;
+    private final GameState state;
+    private final List<PlayerSnapshot> players;
+    /** Seat by player id, the game's own index: it is never changed once built */
+    private final Map<String, Integer> seats;
+    private final int currentPlayerIndex;
+    private final Long randomSeed;
+    private final int dealerIndex;
+    private final Bid currentBid;
+    private final Bid previousBid;
+    private final List<String> eliminatedPlayers;
+    /** Dice on the table by face, index 0 holding the total */
+    private final int[] diceFaceCounts;
+    private final int roundNumber;
+    private final String winner;
+    private final String gameWinner;
+    private final boolean multiplayer;
+    private final boolean isPrivate;
+    private final int maxPlayers;
+    private final boolean waitingForPlayers;
+    private final boolean showAllDice;
+    private final boolean canContinue;
+    private final List<PlayerSnapshot> previousRoundPlayers;
+    private final Integer lastActualCount;
+    private final Integer lastBidQuantity;
+    private final Integer lastBidFaceValue;
+    private final String lastBidPlayerId;
+    private final String lastEliminatedPlayerId;
+    private final String lastActionPlayerId;
+    private final BidType lastActionType;
+    private final Integer twoPlayerRoundStartIndex;
+    private final BidHistory currentHandBidHistory;
+    private final Long countdownEndTime;
+    private final List<String> playersContinued;
+    private final ChatLog.View chat;
+    private final Long lastHostLobbyPresenceAt;
+    private final long stateVersion;
+    private final long lastModifiedAt;
+
+    private GameSnapshot(Game game) {
+        this.id = game.getId();
+        this.state = game.getState();
+        this.players = copyPlayers(game.seatedPlayers());
+        this.seats = game.seatIndex();
+        this.currentPlayerIndex = game.getCurrentPlayerIndex();
+        this.randomSeed = game.getRandomSeed();
+        this.dealerIndex = game.getDealerIndex();
+        this.currentBid = game.getCurrentBid();
+        this.previousBid = game.getPreviousBid();
+        this.eliminatedPlayers = List.copyOf(game.getEliminatedPlayers());
+        this.diceFaceCounts = game.diceFaceCounts().clone();
+        this.roundNumber = game.getRoundNumber();
+        this.winner = game.getWinner();
+        this.gameWinner = game.getGameWinner();
+        this.multiplayer = game.isMultiplayer();
+        this.isPrivate = game.isPrivate();
+        this.maxPlayers = game.getMaxPlayers();
+        this.waitingForPlayers = game.isWaitingForPlayers();
+        this.showAllDice = game.isShowAllDice();
+        this.canContinue = game.isCanContinue();
+        this.previousRoundPlayers = copyPlayers(game.getPreviousRoundPlayers());
+        this.lastActualCount = game.getLastActualCount();
+        this.lastBidQuantity = game.getLastBidQuantity();
+        this.lastBidFaceValue = game.getLastBidFaceValue();
+        this.lastBidPlayerId = game.getLastBidPlayerId();
+        this.lastEliminatedPlayerId = game.getLastEliminatedPlayerId();
+        this.lastActionPlayerId = game.getLastActionPlayerId();
+        this.lastActionType = game.getLastActionType();
+        this.twoPlayerRoundStartIndex = game.getTwoPlayerRoundStartIndex();
+        this.currentHandBidHistory = game.bidHistory().copy();
+        this.countdownEndTime = game.getCountdownEndTime();
+        this.playersContinued = List.copyOf(game.getPlayersContinued());
+        this.chat = game.getChatMessages().view();
+        this.lastHostLobbyPresenceAt = game.getLastHostLobbyPresenceAt();
+        this.stateVersion = game.getStateVersion();
+        this.lastModifiedAt = game.getLastModifiedAt();
+    }
+
+    /** Copy the current state of the game. Must be called by the thread that mutates the game. */
+    public static GameSnapshot of(Game game) {
+        return new GameSnapshot(game);
+    }
+
+    /** A new, mutable game with exactly this state. */
+    public Game toGame() {
+        Game game = new Game();
+        game.setId(id);
+        game.setState(state);
+        game.setPlayers(toPlayers(players));
+        game.setCurrentPlayerIndex(currentPlayerIndex);
+        game.setRandomSeed(randomSeed);
+        game.setDealerIndex(dealerIndex);
+        game.setCurrentBid(currentBid);
+        game.setPreviousBid(previousBid);
+        game.setRoundNumber(roundNumber);
+        game.setWinner(winner);
+        game.setGameWinner(gameWinner);
+        game.setMultiplayer(multiplayer);
+        game.setPrivate(isPrivate);
+        game.setMaxPlayers(maxPlayers);
+        game.setWaitingForPlayers(waitingForPlayers);
+        game.setShowAllDice(showAllDice);
+        game.setCanContinue(canContinue);
+        game.setPreviousRoundPlayers(toPlayers(previousRoundPlayers));
+        game.setLastActualCount(lastActualCount);
+        game.setLastBidQuantity(lastBidQuantity);
+        game.setLastBidFaceValue(lastBidFaceValue);
+        game.setLastBidPlayerId(lastBidPlayerId);
+        game.setLastEliminatedPlayerId(lastEliminatedPlayerId);
+        game.setLastActionPlayerId(lastActionPlayerId);
+        game.setLastActionType(lastActionType);
+        game.setTwoPlayerRoundStartIndex(twoPlayerRoundStartIndex);
+        game.setBidHistory(currentHandBidHistory.copy());
+        game.setCountdownEndTime(countdownEndTime);
+        game.setPlayersContinued(new ArrayList<>(playersContinued));
+        game.setChatMessages(ChatLog.of(chat.since(0)));
+        game.setLastHostLobbyPresenceAt(lastHostLobbyPresenceAt);
+        game.setStateVersion(stateVersion);
+        game.setLastModifiedAt(lastModifiedAt);
+        return game;
+    }
+
+    private static List<Player> toPlayers(List<PlayerSnapshot> snapshots) {
+        List<Player> players = new ArrayList<>(snapshots.size());
+        for (PlayerSnapshot snapshot : snapshots) {
+            players.add(snapshot.toPlayer());
+        }
+        return players;
+    }
+
+    private static List<PlayerSnapshot> copyPlayers(List<Player> players) {
+        if (players == null) {
+            return List.of();
+        }
+        List<PlayerSnapshot> copies = new ArrayList<>(players.size());
+        for (Player player : players) {
+            copies.add(new PlayerSnapshot(player));
+        }
+        return List.copyOf(copies);
+    }
+
+    public String getId() { return id; }
+    public GameState getState() { return state; }
+    public List<PlayerSnapshot> getPlayers() { return players; }
+    public int getCurrentPlayerIndex() { return currentPlayerIndex; }
+    public Long getRandomSeed() { return randomSeed; }
+    public int getDealerIndex() { return dealerIndex; }
+    public Bid getCurrentBid() { return currentBid; }
+    public Bid getPreviousBid() { return previousBid; }
+    public List<String> getEliminatedPlayers() { return eliminatedPlayers; }
+    public int getRoundNumber() { return roundNumber; }
+    public String getWinner() { return winner; }
+    public String getGameWinner() { return gameWinner; }
+    public boolean isMultiplayer() { return multiplayer; }
+    public boolean isPrivate() { return isPrivate; }
+    public int getMaxPlayers() { return maxPlayers; }
+    public boolean isWaitingForPlayers() { return waitingForPlayers; }
+    public boolean isShowAllDice() { return showAllDice; }
+    public boolean isCanContinue() { return canContinue; }
+    public List<PlayerSnapshot> getPreviousRoundPlayers() { return previousRoundPlayers; }
+    public Integer getLastActualCount() { return lastActualCount; }
+    public Integer getLastBidQuantity() { return lastBidQuantity; }
+    public Integer getLastBidFaceValue() { return lastBidFaceValue; }
+    public String getLastBidPlayerId() { return lastBidPlayerId; }
+    public String getLastEliminatedPlayerId() { return lastEliminatedPlayerId; }
+    public String getLastActionPlayerId() { return lastActionPlayerId; }
+    public BidType getLastActionType() { return lastActionType; }
+    public Integer getTwoPlayerRoundStartIndex() { return twoPlayerRoundStartIndex; }
+    public List<Bid> getCurrentHandBidHistory() { return currentHandBidHistory.asList(); }
+    public Long getCountdownEndTime() { return countdownEndTime; }
+    public List<String> getPlayersContinued() { return playersContinued; }
+    public List<ChatMessage> getChatMessages() { return chat.since(0); }
+
+    /** Chat messages of this snapshot after the given sequence number, oldest first */
+    public List<ChatMessage> getChatMessagesSince(long seq) {
+        return chat.since(seq);
+    }
+
+    public long getLastChatSeq() {
+        return chat.getLastSeq();
+    }
+    public Long getLastHostLobbyPresenceAt() { return lastHostLobbyPresenceAt; }
+    public long getStateVersion() { return stateVersion; }
+    public long getLastModifiedAt() { return lastModifiedAt; }
+
+    public PlayerSnapshot getCurrentPlayer() {
+        if (currentPlayerIndex < 0 || currentPlayerIndex >= players.size()) {
+            return null;
+        }
+        return players.get(currentPlayerIndex);
+    }
+
+    /** The player with the given id, or null if they are not at this table */
+    public PlayerSnapshot getPlayer(String playerId) {
+        Integer seat = seats.get(playerId);
+        return seat != null ? players.get(seat) : null;
+    }
+
+    public PlayerSnapshot getDealer() {
+        if (dealerIndex < 0 || dealerIndex >= players.size()) {
+            return null;
+        }
+        return players.get(dealerIndex);
+    }
+
+    /** Number of dice on the table showing the given face */
+    public int countDice(int faceValue) {
+        return diceFaceCounts[faceValue];
+    }
+
+    /** Number of dice still on the table */
+    public int getDiceCount() {
+        return diceFaceCounts[0];
+    }
+
+    public int getActivePlayerCount() {
+        int count = 0;
+        for (PlayerSnapshot player : players) {
+            if (!player.isEliminated()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
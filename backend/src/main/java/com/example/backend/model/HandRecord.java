@@ -0,0 +1,107 @@
+package com.example.backend.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One completed hand, as kept in the hand archive for offline analysis: who was at the table
+ * with which dice, every bid of the hand, and how the final doubt or spot-on turned out.
+ * Players are referred to by seat (index into {@link #getSeats()}).
+ */
+public final class HandRecord {
+
+    /** A player that took part in the hand */
+    public record Seat(String playerId, String aiType, List<Integer> dice) {
+    }
+
+    /** A bid or the closing call; quantity and face value are 0 for DOUBT and SPOT_ON */
+    public record Action(int seat, int quantity, int faceValue, BidType type) {
+    }
+
+    public static final int NO_SEAT = -1;
+
+    private final String gameId;
+    private final int roundNumber;
+    private final long endedAt;
+    private final BidType outcome;
+    private final int callerSeat;
+    private final int bidderSeat;
+    private final int eliminatedSeat;
+    private final int bidQuantity;
+    private final int bidFaceValue;
+    private final int actualCount;
+    private final List<Seat> seats;
+    private final List<Action> actions;
+
+    public HandRecord(String gameId, int roundNumber, long endedAt, BidType outcome, int callerSeat, int bidderSeat,
+            int eliminatedSeat, int bidQuantity, int bidFaceValue, int actualCount, List<Seat> seats,
+            List<Action> actions) {
+        this.gameId = gameId;
+        this.roundNumber = roundNumber;
+        this.endedAt = endedAt;
+        this.outcome = outcome;
+        this.callerSeat = callerSeat;
+        this.bidderSeat = bidderSeat;
+        this.eliminatedSeat = eliminatedSeat;
+        this.bidQuantity = bidQuantity;
+        this.bidFaceValue = bidFaceValue;
+        this.actualCount = actualCount;
+        this.seats = List.copyOf(seats);
+        this.actions = List.copyOf(actions);
+    }
+
+    /**
+     * The hand that was just closed by a doubt or spot-on, read from the snapshot published by
+     * that action; null if the snapshot does not hold a resolved hand.
+     */
+    public static HandRecord of(GameSnapshot game) {
+        if (game.getLastActualCount() == null || game.getLastBidQuantity() == null
+                || game.getLastBidFaceValue() == null || game.getLastActionType() == null) {
+            return null;
+        }
+        List<Seat> seats = new ArrayList<>();
+        for (GameSnapshot.PlayerSnapshot player : game.getPreviousRoundPlayers()) {
+            seats.add(new Seat(player.getId(), player.getAiType(), player.getDice().toList()));
+        }
+        List<Action> actions = new ArrayList<>();
+        for (Bid bid : game.getCurrentHandBidHistory()) {
+            actions.add(new Action(seatOf(seats, bid.getPlayerId()), bid.getQuantity(), bid.getFaceValue(), bid.getType()));
+        }
+        return new HandRecord(game.getId(), game.getRoundNumber(), game.getLastModifiedAt(), game.getLastActionType(),
+                seatOf(seats, game.getLastActionPlayerId()), seatOf(seats, game.getLastBidPlayerId()),
+                seatOf(seats, game.getLastEliminatedPlayerId()), game.getLastBidQuantity(),
+                game.getLastBidFaceValue(), game.getLastActualCount(), seats, actions);
+    }
+
+    private static int seatOf(List<Seat> seats, String playerId) {
+        for (int i = 0; i < seats.size(); i++) {
+            if (seats.get(i).playerId().equals(playerId)) {
+                return i;
+            }
+        }
+        return NO_SEAT;
+    }
+
+    public String getGameId() { return gameId; }
+    public int getRoundNumber() { return roundNumber; }
+    public long getEndedAt() { return endedAt; }
+    public BidType getOutcome() { return outcome; }
+    public int getCallerSeat() { return callerSeat; }
+    public int getBidderSeat() { return bidderSeat; }
+    public int getEliminatedSeat() { return eliminatedSeat; }
+    public int getBidQuantity() { return bidQuantity; }
+    public int getBidFaceValue() { return bidFaceValue; }
+    public int getActualCount() { return actualCount; }
+    public List<Seat> getSeats() { return seats; }
+    public List<Action> getActions() { return actions; }
+
+    /** True if the final bid claimed more dice than there were */
+    public boolean isBluff() {
+        return actualCount < bidQuantity;
+    }
+
+    /** True if the closing call was right: a doubted bluff, or a spot-on on the exact count */
+    public boolean isCallCorrect() {
+        return outcome == BidType.SPOT_ON ? actualCount == bidQuantity : actualCount < bidQuantity;
+    }
+}
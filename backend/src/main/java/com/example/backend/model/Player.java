@@ -1,21 +1,29 @@
 package com.example.backend.model;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.annotation.Transient;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class Player {
     private String id;
     private String name;
-    private List<Integer> dice;
+    private Dice dice;
     private boolean isEliminated;
     private int winTokens;
     private String color; // Player color
     private String aiType; // null for human, "EASY_AI" or "MEDIUM_AI" for AI players
+    /**
+     * Small number identifying the player within their game, assigned by the game when seated and
+     * never reused in it. Server-side bookkeeping keys on this; the id is what clients see.
+     */
+    @Transient
+    private transient int handle;
 
     public Player() {
         this.id = UUID.randomUUID().toString();
-        this.dice = new ArrayList<>();
+        this.dice = Dice.EMPTY;
         this.isEliminated = false;
         this.winTokens = 0;
         this.color = "blue";  // Default color
@@ -41,21 +49,14 @@ public class Player {
         this.aiType = aiType;
     }
 
-    public void rollDice() {
-        dice.clear();
-        for (int i = 0; i < 5; i++) {
-            dice.add((int) (Math.random() * 6) + 1);
-        }
-    }
-
     public void eliminate() {
         this.isEliminated = true;
-        this.dice.clear(); // Clear dice when eliminated
+        this.dice = Dice.EMPTY; // Clear dice when eliminated
     }
 
     public void reset() {
         this.isEliminated = false;
-        this.dice.clear();
+        this.dice = Dice.EMPTY;
     }
 
     public void addWinToken() {
@@ -72,8 +73,12 @@ public class Player {
     public String getColor() { return color; }
     public void setColor(String color) { this.color = color; }
 
-    public List<Integer> getDice() { return dice; }
-    public void setDice(List<Integer> dice) { this.dice = dice; }
+    public Dice getDice() { return dice; }
+    public void setDice(Dice dice) { this.dice = dice != null ? dice : Dice.EMPTY; }
+
+    @JsonIgnore
+    public int getHandle() { return handle; }
+    void setHandle(int handle) { this.handle = handle; }
 
     public boolean isEliminated() { return isEliminated; }
     public void setEliminated(boolean eliminated) { isEliminated = eliminated; }
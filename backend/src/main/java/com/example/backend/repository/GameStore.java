@@ -0,0 +1,50 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Game;
+import com.example.backend.model.GameEvent;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Persistence of games: periodic full snapshots plus the action journal replayed on top of them.
+ * Backed by MongoDB by default, or by a local journal file with {@code app.persistence.backend=file}.
+ */
+public interface GameStore {
+
+    Optional<Game> findGame(String gameId);
+
+    /** Every stored game snapshot. The stream must be closed. */
+    Stream<Game> streamGames();
+
+    /**
+     * Replace the stored snapshots of the given games. A game is not written if another instance
+     * sharing the store wrote it since this instance last read or wrote it.
+     *
+     * @return ids of the games not written, whose local copy is out of date
+     */
+    List<String> saveGames(List<Game> games);
+
+    /**
+     * Append events to the journal. Appending an event that is already stored again is a no-op; a
+     * different event under a seq that is already stored means another instance sharing the store
+     * advanced the game, and is not written.
+     *
+     * @return ids of the games whose events were not written, whose local copy is out of date
+     */
+    List<String> appendEvents(List<GameEvent> events);
+
+    /** Journal tail of a game: every event after the given state version, oldest first */
+    List<GameEvent> findEventsAfter(String gameId, long seq);
+
+    /**
+     * Every stored event of a game, oldest first, read as the stream is consumed. A store that
+     * folds events into snapshots returns only those after the latest snapshot. The stream must
+     * be closed.
+     */
+    Stream<GameEvent> streamEvents(String gameId);
+
+    /** Delete the snapshot and journal of a game. */
+    void deleteGame(String gameId);
+}
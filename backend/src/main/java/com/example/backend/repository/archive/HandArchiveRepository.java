@@ -0,0 +1,202 @@
+package com.example.backend.repository.archive;
+
+import com.example.backend.model.HandRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Archive of completed hands on local disk, one file per day ({@code hands-yyyyMMdd.col}), each
+ * a sequence of compressed columnar blocks (see {@link HandBlockCodec}). Files are only ever
+ * appended to, a whole block at a time, each block framed as {@code int FRAME_MAGIC, int length,
+ * int crc32, block}.
+ *
+ * A crash can leave a torn block in the middle of a file, with later appends after it. A reader
+ * that meets a frame that is cut short or fails its checksum searches forward for the next frame
+ * magic and carries on from there, so only the torn block is lost. Blocks written before framing
+ * (starting with the block magic itself) are still read, without a checksum.
+ */
+@Component
+public class HandArchiveRepository {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+    static final int FRAME_MAGIC = 0x44424846; // "DBHF"
+    private static final int FRAME_HEADER = 12;
+    /** Bytes read at a time while searching for the next frame */
+    private static final int RESYNC_CHUNK = 1 << 16;
+
+    private final Path directory;
+
+    public HandArchiveRepository(@Value("${app.archive.directory:data/archive}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /** Append the hands as one block to the file of the day the block is written. */
+    public void append(List<HandRecord> hands) {
+        if (hands.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            byte[] block = HandBlockCodec.encode(hands);
+            ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + block.length)
+                    .putInt(FRAME_MAGIC)
+                    .putInt(block.length)
+                    .putInt(crc32(block, 0, block.length))
+                    .put(block);
+            Path file = directory.resolve("hands-" + DAY.format(Instant.now()) + ".col");
+            Files.write(file, frame.array(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to hand archive", e);
+        }
+    }
+
+    /**
+     * Scan every archived hand that ended in [from, to), oldest file first. Blocks entirely
+     * outside the range are skipped without being decompressed. Without details, hands come back
+     * without dice and bid history, which skips those columns.
+     *
+     * @param visitor receives each hand; returning false stops the scan
+     */
+    public void scan(long from, long to, boolean withDetails, Predicate<HandRecord> visitor) {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().matches("hands-\\d{8}\\.col")).sorted().toList();
+        } catch (IOException e) {
+            return; // Nothing archived yet
+        }
+        for (Path file : files) {
+            if (!scanFile(file, from, to, withDetails, visitor)) {
+                return;
+            }
+        }
+    }
+
+    private boolean scanFile(Path file, long from, long to, boolean withDetails, Predicate<HandRecord> visitor) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                Block block = readBlock(channel, position, size);
+                if (block == null) {
+                    // Torn block: carry on at the next frame after it
+                    position = nextFrame(channel, position + 1, size);
+                    continue;
+                }
+                position = block.end();
+                if (!scanBlock(block.bytes(), from, to, withDetails, visitor)) {
+                    return false;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read hand archive " + file, e);
+        }
+        return true;
+    }
+
+    /** A block read from a file, and where the next one starts */
+    private record Block(byte[] bytes, long end) {
+    }
+
+    /** The block at the position, or null if it is cut short or corrupt */
+    private static Block readBlock(FileChannel channel, long position, long size) throws IOException {
+        if (size - position < FRAME_HEADER) {
+            return null;
+        }
+        ByteBuffer header = readFully(channel, position, FRAME_HEADER);
+        int magic = header.getInt();
+        if (magic == HandBlockCodec.MAGIC) {
+            return readUnframedBlock(channel, position, size);
+        }
+        int length = header.getInt();
+        int crc = header.getInt();
+        if (magic != FRAME_MAGIC || length < 0 || length > size - position - FRAME_HEADER) {
+            return null;
+        }
+        byte[] block = readFully(channel, position + FRAME_HEADER, length).array();
+        return crc32(block, 0, length) == crc ? new Block(block, position + FRAME_HEADER + length) : null;
+    }
+
+    /** A block written before blocks were framed; its length comes from its own header */
+    private static Block readUnframedBlock(FileChannel channel, long position, long size) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel.position(position))));
+        HandBlockCodec.Header header = HandBlockCodec.readHeader(in);
+        if (header == null) {
+            return null;
+        }
+        long length = header.headerLength() + (long) header.bodyLength();
+        if (length > size - position) {
+            return null;
+        }
+        return new Block(readFully(channel, position, (int) length).array(), position + length);
+    }
+
+    /** Position of the next frame magic at or after the given position, or the file size if there is none */
+    private static long nextFrame(FileChannel channel, long from, long size) throws IOException {
+        int window = 0;
+        int seen = 0;
+        for (long position = from; position < size; ) {
+            ByteBuffer chunk = readFully(channel, position, (int) Math.min(RESYNC_CHUNK, size - position));
+            while (chunk.hasRemaining()) {
+                window = window << 8 | (chunk.get() & 0xff);
+                position++;
+                if (++seen >= 4 && window == FRAME_MAGIC) {
+                    return position - 4;
+                }
+            }
+        }
+        return size;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static boolean scanBlock(byte[] block, long from, long to, boolean withDetails,
+            Predicate<HandRecord> visitor) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(block));
+        HandBlockCodec.Header header = HandBlockCodec.readHeader(in);
+        if (header == null || header.maxEndedAt() < from || header.minEndedAt() >= to) {
+            return true;
+        }
+        for (HandRecord hand : HandBlockCodec.decodeBody(in, header, withDetails)) {
+            if (hand.getEndedAt() >= from && hand.getEndedAt() < to && !visitor.test(hand)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int crc32(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,357 @@
+package com.example.backend.repository.archive;
+
+import com.example.backend.model.BidType;
+import com.example.backend.model.HandRecord;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Column-oriented, compressed encoding of a block of hands. Every field is stored as its own
+ * column across all hands of the block and deflated separately, so similar values sit next to
+ * each other and a scan only inflates the columns it needs.
+ *
+ * Block layout: {@code int magic, int handCount, long minEndedAt, long maxEndedAt, int
+ * columnCount, columnCount x (int rawLength, int compressedLength), column bytes}. The time
+ * range in the header lets readers skip whole blocks.
+ */
+final class HandBlockCodec {
+
+    static final int MAGIC = 0x44424831; // "DBH1"
+
+    // Summary columns, needed for every scan
+    private static final int ENDED_AT = 0;
+    private static final int GAME_ID = 1;
+    private static final int GAME_IDS = 2;
+    private static final int ROUND = 3;
+    private static final int OUTCOME = 4;
+    private static final int BID = 5;
+    private static final int ROLES = 6;
+    private static final int SEATS = 7;
+    private static final int PLAYER_IDS = 8;
+    // Detail columns, only inflated when dice and bid history are requested
+    private static final int DICE = 9;
+    private static final int HISTORY = 10;
+    private static final int COLUMN_COUNT = 11;
+
+    private static final BidType[] BID_TYPES = BidType.values();
+
+    /** Header of a block, read before deciding whether to decode it */
+    record Header(int handCount, long minEndedAt, long maxEndedAt, int[] rawLengths, int[] compressedLengths) {
+        /** Bytes of the header itself, from the magic through the column lengths */
+        int headerLength() {
+            return 4 + 4 + 8 + 8 + 4 + rawLengths.length * 8;
+        }
+
+        int bodyLength() {
+            int total = 0;
+            for (int length : compressedLengths) {
+                total += length;
+            }
+            return total;
+        }
+    }
+
+    private HandBlockCodec() {
+    }
+
+    static byte[] encode(List<HandRecord> hands) throws IOException {
+        Column[] columns = new Column[COLUMN_COUNT];
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            columns[i] = new Column();
+        }
+        Dictionary gameIds = new Dictionary();
+        Dictionary playerIds = new Dictionary();
+        long minEndedAt = Long.MAX_VALUE;
+        long maxEndedAt = Long.MIN_VALUE;
+        for (HandRecord hand : hands) {
+            minEndedAt = Math.min(minEndedAt, hand.getEndedAt());
+            maxEndedAt = Math.max(maxEndedAt, hand.getEndedAt());
+        }
+        long previousEndedAt = minEndedAt;
+        for (HandRecord hand : hands) {
+            columns[ENDED_AT].zigzag(hand.getEndedAt() - previousEndedAt);
+            previousEndedAt = hand.getEndedAt();
+            columns[GAME_ID].varint(gameIds.indexOf(hand.getGameId()));
+            columns[ROUND].varint(hand.getRoundNumber());
+            columns[OUTCOME].out.writeByte(hand.getOutcome().ordinal());
+            columns[BID].out.writeByte(hand.getBidQuantity());
+            columns[BID].out.writeByte(hand.getBidFaceValue());
+            columns[BID].out.writeByte(hand.getActualCount());
+            columns[ROLES].out.writeByte(hand.getCallerSeat());
+            columns[ROLES].out.writeByte(hand.getBidderSeat());
+            columns[ROLES].out.writeByte(hand.getEliminatedSeat());
+            columns[SEATS].out.writeByte(hand.getSeats().size());
+            for (HandRecord.Seat seat : hand.getSeats()) {
+                columns[SEATS].varint(playerIds.indexOf(seat.playerId()));
+                columns[SEATS].out.writeByte(aiTypeCode(seat.aiType()));
+                writeDice(columns[DICE], seat.dice());
+            }
+            columns[HISTORY].varint(hand.getActions().size());
+            for (HandRecord.Action action : hand.getActions()) {
+                columns[HISTORY].out.writeByte(action.seat());
+                columns[HISTORY].out.writeByte(action.quantity());
+                columns[HISTORY].out.writeByte(action.faceValue());
+                columns[HISTORY].out.writeByte(action.type().ordinal());
+            }
+        }
+        gameIds.writeTo(columns[GAME_IDS]);
+        playerIds.writeTo(columns[PLAYER_IDS]);
+
+        byte[][] raw = new byte[COLUMN_COUNT][];
+        byte[][] compressed = new byte[COLUMN_COUNT][];
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            raw[i] = columns[i].bytes();
+            compressed[i] = deflate(raw[i]);
+        }
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(block);
+        out.writeInt(MAGIC);
+        out.writeInt(hands.size());
+        out.writeLong(minEndedAt);
+        out.writeLong(maxEndedAt);
+        out.writeInt(COLUMN_COUNT);
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            out.writeInt(raw[i].length);
+            out.writeInt(compressed[i].length);
+        }
+        for (byte[] column : compressed) {
+            out.write(column);
+        }
+        return block.toByteArray();
+    }
+
+    /** Read the next block header, or null at the end of the file (including a block cut short). */
+    static Header readHeader(DataInputStream in) throws IOException {
+        try {
+            int magic = in.readInt();
+            if (magic != MAGIC) {
+                throw new IOException("Not a hand archive block");
+            }
+            int handCount = in.readInt();
+            long minEndedAt = in.readLong();
+            long maxEndedAt = in.readLong();
+            int columnCount = in.readInt();
+            int[] rawLengths = new int[columnCount];
+            int[] compressedLengths = new int[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                rawLengths[i] = in.readInt();
+                compressedLengths[i] = in.readInt();
+            }
+            return new Header(handCount, minEndedAt, maxEndedAt, rawLengths, compressedLengths);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+
+    /**
+     * Decode the body of a block whose header was just read. Without details, the dice and bid
+     * history columns are skipped and the records have no dice and no actions.
+     */
+    static List<HandRecord> decodeBody(InputStream in, Header header, boolean withDetails) throws IOException {
+        ByteBuffer[] columns = new ByteBuffer[COLUMN_COUNT];
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            byte[] compressed = in.readNBytes(header.compressedLengths()[i]);
+            if (compressed.length < header.compressedLengths()[i]) {
+                throw new EOFException("Hand archive block cut short");
+            }
+            if (i < DICE || withDetails) {
+                columns[i] = ByteBuffer.wrap(inflate(compressed, header.rawLengths()[i]));
+            }
+        }
+        List<String> gameIds = Dictionary.read(columns[GAME_IDS]);
+        List<String> playerIds = Dictionary.read(columns[PLAYER_IDS]);
+        List<HandRecord> hands = new ArrayList<>(header.handCount());
+        long endedAt = header.minEndedAt();
+        for (int h = 0; h < header.handCount(); h++) {
+            endedAt += unzigzag(readVarint(columns[ENDED_AT]));
+            String gameId = gameIds.get((int) readVarint(columns[GAME_ID]));
+            int round = (int) readVarint(columns[ROUND]);
+            BidType outcome = BID_TYPES[columns[OUTCOME].get()];
+            int quantity = columns[BID].get();
+            int faceValue = columns[BID].get();
+            int actualCount = columns[BID].get();
+            int callerSeat = columns[ROLES].get();
+            int bidderSeat = columns[ROLES].get();
+            int eliminatedSeat = columns[ROLES].get();
+            int seatCount = columns[SEATS].get();
+            List<HandRecord.Seat> seats = new ArrayList<>(seatCount);
+            for (int s = 0; s < seatCount; s++) {
+                String playerId = playerIds.get((int) readVarint(columns[SEATS]));
+                String aiType = aiTypeOf(columns[SEATS].get());
+                List<Integer> dice = withDetails ? readDice(columns[DICE]) : List.of();
+                seats.add(new HandRecord.Seat(playerId, aiType, dice));
+            }
+            List<HandRecord.Action> actions = new ArrayList<>();
+            if (withDetails) {
+                int actionCount = (int) readVarint(columns[HISTORY]);
+                for (int a = 0; a < actionCount; a++) {
+                    actions.add(new HandRecord.Action(columns[HISTORY].get(), columns[HISTORY].get(),
+                            columns[HISTORY].get(), BID_TYPES[columns[HISTORY].get()]));
+                }
+            }
+            hands.add(new HandRecord(gameId, round, endedAt, outcome, callerSeat, bidderSeat, eliminatedSeat,
+                    quantity, faceValue, actualCount, seats, actions));
+        }
+        return hands;
+    }
+
+    private static int aiTypeCode(String aiType) {
+        if ("EASY_AI".equals(aiType)) {
+            return 1;
+        }
+        if ("MEDIUM_AI".equals(aiType)) {
+            return 2;
+        }
+        return 0;
+    }
+
+    private static String aiTypeOf(int code) {
+        return switch (code) {
+            case 1 -> "EASY_AI";
+            case 2 -> "MEDIUM_AI";
+            default -> null;
+        };
+    }
+
+    /** Dice count, then two dice per byte */
+    private static void writeDice(Column column, List<Integer> dice) throws IOException {
+        column.out.writeByte(dice.size());
+        for (int i = 0; i < dice.size(); i += 2) {
+            int high = dice.get(i);
+            int low = i + 1 < dice.size() ? dice.get(i + 1) : 0;
+            column.out.writeByte(high << 4 | low);
+        }
+    }
+
+    private static List<Integer> readDice(ByteBuffer column) {
+        int count = column.get();
+        List<Integer> dice = new ArrayList<>(count);
+        for (int i = 0; i < count; i += 2) {
+            int packed = column.get() & 0xFF;
+            dice.add(packed >> 4);
+            if (i + 1 < count) {
+                dice.add(packed & 0x0F);
+            }
+        }
+        return dice;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt hand archive column", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** One column being written */
+    private static final class Column {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+
+        void varint(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+
+        void zigzag(long value) throws IOException {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        byte[] bytes() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /** Distinct strings of a block; columns store their index instead of the string */
+    private static final class Dictionary {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int indexOf(String value) {
+            return indexes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        void writeTo(Column column) throws IOException {
+            column.varint(values.size());
+            for (String value : values) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                column.varint(utf8.length);
+                column.out.write(utf8);
+            }
+        }
+
+        static List<String> read(ByteBuffer column) {
+            int size = (int) readVarint(column);
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                byte[] utf8 = new byte[(int) readVarint(column)];
+                column.get(utf8);
+                values.add(new String(utf8, StandardCharsets.UTF_8));
+            }
+            return values;
+        }
+    }
+}
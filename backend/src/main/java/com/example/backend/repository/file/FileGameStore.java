@@ -0,0 +1,446 @@
+package com.example.backend.repository.file;
+
+import com.example.backend.model.Game;
+import com.example.backend.model.GameEvent;
+import com.example.backend.repository.GameStore;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Game store without an external database: snapshots and events are appended to local,
+ * memory-mapped segment files, with an in-memory index of where the current records are.
+ * For single-node deployments, local runs and CI ({@code app.persistence.backend=file}).
+ *
+ * <ul>
+ * <li>Group commit: a whole batch of snapshots or events is appended, then flushed to disk once.</li>
+ * <li>Segment rolling: a full segment is sealed and appending continues in a new file.</li>
+ * <li>Compaction: a sealed segment that is mostly garbage (replaced snapshots, events already
+ * covered by a snapshot, deleted games) has its live records copied to the end of the journal
+ * and is then deleted.</li>
+ * <li>A journaled removal deletes the game right away; there is no TTL like in Mongo.</li>
+ * </ul>
+ *
+ * All operations hold the store's lock; writes come from the background persistence threads.
+ */
+@Component
+@ConditionalOnProperty(name = "app.persistence.backend", havingValue = "file")
+public class FileGameStore implements GameStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileGameStore.class);
+
+    private static final byte SNAPSHOT = 1;
+    private static final byte EVENT = 2;
+    private static final byte DELETE = 3;
+    /** Sealed segments with less than this share of live bytes are compacted */
+    private static final double COMPACT_LIVE_RATIO = 0.5;
+
+    /** Where the current records of one game are */
+    private static final class GameRecords {
+        Location snapshot;
+        long version = -1;
+        final TreeMap<Long, Location> events = new TreeMap<>();
+    }
+
+    private record Location(JournalSegment segment, int offset, int size) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    /** Oldest first; the last one is the one being appended to */
+    private final List<JournalSegment> segments = new ArrayList<>();
+    private final Map<String, GameRecords> index = new HashMap<>();
+
+    public FileGameStore(@Value("${app.persistence.file.directory:data/journal}") String directory,
+            @Value("${app.persistence.file.segment-size-bytes:67108864}") int segmentSize) {
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(this.directory);
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open game journal in " + directory, e);
+        }
+    }
+
+    private void load() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().matches("segment-\\d+\\.log")).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            JournalSegment segment = JournalSegment.open(file, Long.parseLong(name.substring(8, name.length() - 4)));
+            segments.add(segment);
+            int offset = 0;
+            JournalSegment.Entry entry;
+            while ((entry = segment.read(offset)) != null) {
+                apply(segment, entry);
+                offset += entry.size();
+            }
+            segment.resumeAt(offset);
+        }
+        if (segments.isEmpty()) {
+            segments.add(JournalSegment.create(directory, 1, segmentSize));
+        }
+        log.info("JOURNAL: Opened {} segments with {} games in {}", segments.size(), index.size(),
+                directory.toAbsolutePath());
+    }
+
+    /** Index a record found while loading. Records may be out of order after compaction. */
+    private void apply(JournalSegment segment, JournalSegment.Entry entry) {
+        Location location = new Location(segment, entry.offset(), entry.size());
+        switch (entry.kind()) {
+            case SNAPSHOT -> {
+                GameRecords records = index.computeIfAbsent(entry.key(), k -> new GameRecords());
+                if (entry.seq() >= records.version) {
+                    putSnapshot(records, location, entry.seq());
+                }
+            }
+            case EVENT -> {
+                GameRecords records = index.computeIfAbsent(entry.key(), k -> new GameRecords());
+                if (entry.seq() > records.version) {
+                    putEvent(records, entry.seq(), location);
+                }
+            }
+            case DELETE -> {
+                // Tombstones written before they were stamped delete whatever came before them
+                removeGameBefore(entry.key(), entry.seq() > 0 ? entry.seq() : Long.MAX_VALUE);
+                segment.addLive(location.size());
+            }
+            default -> throw new IllegalStateException("Unknown journal record kind " + entry.kind());
+        }
+    }
+
+    private void putSnapshot(GameRecords records, Location location, long version) {
+        if (records.snapshot != null) {
+            records.snapshot.segment().addLive(-records.snapshot.size());
+        }
+        records.snapshot = location;
+        records.version = version;
+        location.segment().addLive(location.size());
+        // Events up to the snapshot's version are part of it now
+        Map<Long, Location> covered = records.events.headMap(version, true);
+        for (Location event : covered.values()) {
+            event.segment().addLive(-event.size());
+        }
+        covered.clear();
+    }
+
+    private void putEvent(GameRecords records, long seq, Location location) {
+        Location replaced = records.events.put(seq, location);
+        if (replaced != null) {
+            replaced.segment().addLive(-replaced.size());
+        }
+        location.segment().addLive(location.size());
+    }
+
+    /**
+     * Drop the records of a game that lie before the given journal position, see {@link #delete}.
+     * Records after it belong to a new game under the same id.
+     */
+    private void removeGameBefore(String gameId, long stamp) {
+        GameRecords records = index.get(gameId);
+        if (records == null) {
+            return;
+        }
+        if (records.snapshot != null && position(records.snapshot) < stamp) {
+            records.snapshot.segment().addLive(-records.snapshot.size());
+            records.snapshot = null;
+            records.version = -1;
+        }
+        records.events.values().removeIf(event -> {
+            if (position(event) >= stamp) {
+                return false;
+            }
+            event.segment().addLive(-event.size());
+            return true;
+        });
+        if (records.snapshot == null && records.events.isEmpty()) {
+            index.remove(gameId);
+        }
+    }
+
+    /** Where a record lies in the journal: segments are numbered in the order they were created */
+    private static long position(JournalSegment segment, int offset) {
+        return segment.id() << 32 | offset;
+    }
+
+    private static long position(Location location) {
+        return position(location.segment(), location.offset());
+    }
+
+    private void removeGame(String gameId) {
+        GameRecords records = index.remove(gameId);
+        if (records == null) {
+            return;
+        }
+        if (records.snapshot != null) {
+            records.snapshot.segment().addLive(-records.snapshot.size());
+        }
+        for (Location event : records.events.values()) {
+            event.segment().addLive(-event.size());
+        }
+    }
+
+    @Override
+    public synchronized Optional<Game> findGame(String gameId) {
+        GameRecords records = index.get(gameId);
+        if (records == null || records.snapshot == null) {
+            return Optional.empty();
+        }
+        return Optional.of(readGame(records.snapshot));
+    }
+
+    @Override
+    public synchronized Stream<Game> streamGames() {
+        List<Location> snapshots = new ArrayList<>();
+        for (GameRecords records : index.values()) {
+            if (records.snapshot != null) {
+                snapshots.add(records.snapshot);
+            }
+        }
+        // Decoded lazily; a snapshot replaced in the meantime is still readable until compacted
+        return snapshots.stream().map(location -> {
+            synchronized (this) {
+                return readGame(location);
+            }
+        });
+    }
+
+    /** The journal belongs to this process alone, so no other writer can have stored a newer state. */
+    @Override
+    public synchronized List<String> saveGames(List<Game> games) {
+        for (Game game : games) {
+            Location location = append(SNAPSHOT, game.getStateVersion(), game.getId(), encode(game));
+            GameRecords records = index.computeIfAbsent(game.getId(), k -> new GameRecords());
+            putSnapshot(records, location, game.getStateVersion());
+        }
+        commit();
+        return List.of();
+    }
+
+    @Override
+    public synchronized List<String> appendEvents(List<GameEvent> events) {
+        for (GameEvent event : events) {
+            if (event.getType() == GameEvent.Type.REMOVED) {
+                // Nothing of a removed game is ever read again, so reclaim it right away
+                delete(event.getGameId());
+                continue;
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("type", event.getType().name());
+            body.put("playerId", event.getPlayerId());
+            body.put("data", event.getData());
+            body.put("timestamp", event.getTimestamp());
+            Location location = append(EVENT, event.getSeq(), event.getGameId(), encode(body));
+            GameRecords records = index.computeIfAbsent(event.getGameId(), k -> new GameRecords());
+            if (event.getSeq() > records.version) {
+                putEvent(records, event.getSeq(), location);
+            }
+        }
+        commit();
+        return List.of();
+    }
+
+    @Override
+    public synchronized List<GameEvent> findEventsAfter(String gameId, long seq) {
+        GameRecords records = index.get(gameId);
+        if (records == null) {
+            return List.of();
+        }
+        List<GameEvent> events = new ArrayList<>();
+        for (Map.Entry<Long, Location> entry : records.events.tailMap(seq, false).entrySet()) {
+            events.add(readEvent(gameId, entry.getKey(), entry.getValue()));
+        }
+        return events;
+    }
+
+    /**
+     * Only the seqs are collected up front; each event is looked up again when it is read, since
+     * compaction may have moved it (or a newer snapshot dropped it) in the meantime.
+     */
+    @Override
+    public Stream<GameEvent> streamEvents(String gameId) {
+        List<Long> seqs;
+        synchronized (this) {
+            GameRecords records = index.get(gameId);
+            seqs = records != null ? new ArrayList<>(records.events.keySet()) : List.of();
+        }
+        return seqs.stream()
+                .map(seq -> readEventIfPresent(gameId, seq))
+                .filter(Objects::nonNull);
+    }
+
+    private synchronized GameEvent readEventIfPresent(String gameId, long seq) {
+        GameRecords records = index.get(gameId);
+        Location location = records != null ? records.events.get(seq) : null;
+        return location != null ? readEvent(gameId, seq, location) : null;
+    }
+
+    @Override
+    public synchronized void deleteGame(String gameId) {
+        delete(gameId);
+        commit();
+    }
+
+    /**
+     * Remove a game and write a tombstone for it. The tombstone carries its own journal position
+     * as its seq: compaction may copy it past the records of a new game that reuses the id, and
+     * on load it must only delete what was written before it.
+     */
+    private void delete(String gameId) {
+        if (!index.containsKey(gameId)) {
+            return;
+        }
+        removeGame(gameId);
+        byte[] body = new byte[0];
+        JournalSegment active = roomFor(JournalSegment.recordSize(gameId.getBytes(StandardCharsets.UTF_8), body));
+        Location tombstone = append(DELETE, position(active, active.writePosition()), gameId, body);
+        tombstone.segment().addLive(tombstone.size());
+    }
+
+    private Location append(byte kind, long seq, String key, byte[] body) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int size = JournalSegment.recordSize(keyBytes, body);
+        JournalSegment active = roomFor(size);
+        return new Location(active, active.append(kind, seq, keyBytes, body), size);
+    }
+
+    /** The active segment, rolled over to a new one if the record does not fit. */
+    private JournalSegment roomFor(int size) {
+        JournalSegment active = segments.get(segments.size() - 1);
+        if (active.hasRoom(size)) {
+            return active;
+        }
+        active.flush();
+        try {
+            JournalSegment next = JournalSegment.create(directory, active.id() + 1, Math.max(segmentSize, size));
+            segments.add(next);
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll game journal segment", e);
+        }
+    }
+
+    /** Make the batch durable, then compact sealed segments that became mostly garbage. */
+    private void commit() {
+        segments.get(segments.size() - 1).flush();
+        for (JournalSegment segment : new ArrayList<>(segments.subList(0, segments.size() - 1))) {
+            if (segment.liveBytes() < segment.writePosition() * COMPACT_LIVE_RATIO) {
+                compact(segment);
+            }
+        }
+    }
+
+    /** Copy the live records of a sealed segment to the end of the journal and delete it. */
+    private void compact(JournalSegment segment) {
+        boolean oldest = segments.get(0) == segment;
+        int offset = 0;
+        int copied = 0;
+        JournalSegment.Entry entry;
+        while ((entry = segment.read(offset)) != null) {
+            offset += entry.size();
+            GameRecords records = index.get(entry.key());
+            Location live = switch (entry.kind()) {
+                case SNAPSHOT -> records != null && records.snapshot != null
+                        && records.snapshot.segment() == segment && records.snapshot.offset() == entry.offset()
+                        ? records.snapshot : null;
+                case EVENT -> {
+                    Location event = records != null ? records.events.get(entry.seq()) : null;
+                    yield event != null && event.segment() == segment && event.offset() == entry.offset() ? event : null;
+                }
+                // A deletion only matters while older segments may still hold the game's records
+                case DELETE -> oldest ? null : new Location(segment, entry.offset(), entry.size());
+                default -> null;
+            };
+            if (live == null) {
+                continue;
+            }
+            JournalSegment target = roomFor(entry.size());
+            Location moved = new Location(target, target.appendRaw(segment, entry.offset(), entry.size()), entry.size());
+            target.addLive(moved.size());
+            if (entry.kind() == SNAPSHOT) {
+                records.snapshot = moved;
+            } else if (entry.kind() == EVENT) {
+                records.events.put(entry.seq(), moved);
+            }
+            copied++;
+        }
+        segments.get(segments.size() - 1).flush();
+        segments.remove(segment);
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            log.warn("JOURNAL: Failed to delete compacted segment {}: {}", segment.id(), e.getMessage());
+        }
+        log.info("JOURNAL: Compacted segment {}, kept {} records", segment.id(), copied);
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Game readGame(Location location) {
+        try {
+            return mapper.readValue(location.segment().readBody(location.offset()), Game.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private GameEvent readEvent(String gameId, long seq, Location location) {
+        try {
+            Map<String, Object> body = mapper.readValue(location.segment().readBody(location.offset()), Map.class);
+            return new GameEvent(gameId, seq, GameEvent.Type.valueOf((String) body.get("type")),
+                    (String) body.get("playerId"), (Map<String, Object>) body.get("data"),
+                    ((Number) body.get("timestamp")).longValue());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (JournalSegment segment : segments) {
+            try {
+                segment.flush();
+                segment.close();
+            } catch (IOException e) {
+                log.warn("JOURNAL: Failed to close segment {}: {}", segment.id(), e.getMessage());
+            }
+        }
+    }
+}
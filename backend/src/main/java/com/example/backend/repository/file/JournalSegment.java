@@ -0,0 +1,180 @@
+package com.example.backend.repository.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * One fixed-size file of the journal, memory-mapped for its whole length. Records are appended
+ * back to back; the unwritten rest of the file is zero, so a zero length marks the end.
+ *
+ * Record layout: {@code int length, int crc32, byte kind, long seq, short keyLength, key, body},
+ * where length and crc cover everything after the crc. A record whose crc does not match (torn
+ * write on crash) ends the segment.
+ */
+class JournalSegment {
+
+    static final int HEADER_BYTES = 8;
+    private static final int FIXED_BYTES = 1 + 8 + 2;
+
+    /** A record as read back from a segment */
+    record Entry(int offset, int size, byte kind, long seq, String key) {
+    }
+
+    private final long id;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+    private int flushedPosition;
+    /** Bytes of records that are still current; the rest is garbage left for compaction */
+    private long liveBytes;
+
+    private JournalSegment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(Path directory, long id, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(id));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return new JournalSegment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+    }
+
+    static JournalSegment open(Path path, long id) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new JournalSegment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+    }
+
+    static String fileName(long id) {
+        return String.format("segment-%010d.log", id);
+    }
+
+    /** Size of a record with the given key and body */
+    static int recordSize(byte[] key, byte[] body) {
+        return HEADER_BYTES + FIXED_BYTES + key.length + body.length;
+    }
+
+    long id() {
+        return id;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    int writePosition() {
+        return writePosition;
+    }
+
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    void addLive(long bytes) {
+        liveBytes += bytes;
+    }
+
+    boolean hasRoom(int recordSize) {
+        return writePosition + recordSize <= buffer.capacity();
+    }
+
+    /** Append a record and return its offset. The caller checks {@link #hasRoom} first. */
+    int append(byte kind, long seq, byte[] key, byte[] body) {
+        int offset = writePosition;
+        int length = FIXED_BYTES + key.length + body.length;
+        ByteBuffer out = buffer.duplicate();
+        out.position(offset + HEADER_BYTES);
+        out.put(kind).putLong(seq).putShort((short) key.length).put(key).put(body);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(offset + HEADER_BYTES).limit(offset + HEADER_BYTES + length));
+        // Length goes in last: a crash before this point leaves the record invisible
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        buffer.putInt(offset, length);
+        writePosition = offset + HEADER_BYTES + length;
+        return offset;
+    }
+
+    /** Append a record copied byte for byte from another segment. */
+    int appendRaw(JournalSegment source, int sourceOffset, int size) {
+        int offset = writePosition;
+        ByteBuffer record = source.buffer.duplicate();
+        record.position(sourceOffset).limit(sourceOffset + size);
+        ByteBuffer out = buffer.duplicate();
+        out.position(offset);
+        out.put(record);
+        writePosition = offset + size;
+        return offset;
+    }
+
+    /** Make everything appended since the last call durable. */
+    void flush() {
+        if (writePosition > flushedPosition) {
+            buffer.force(flushedPosition, writePosition - flushedPosition);
+            flushedPosition = writePosition;
+        }
+    }
+
+    /** Record body (after the key) at the given offset */
+    byte[] readBody(int offset) {
+        int length = buffer.getInt(offset);
+        int keyLength = buffer.getShort(offset + HEADER_BYTES + 9);
+        int bodyStart = offset + HEADER_BYTES + FIXED_BYTES + keyLength;
+        byte[] body = new byte[offset + HEADER_BYTES + length - bodyStart];
+        buffer.get(bodyStart, body);
+        return body;
+    }
+
+    /**
+     * Read the record at the given offset, or null at the end of the written data (zero length,
+     * out of room, or a torn record).
+     */
+    Entry read(int offset) {
+        if (offset + HEADER_BYTES > buffer.capacity()) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        if (length < FIXED_BYTES || offset + HEADER_BYTES + length > buffer.capacity()) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(offset + HEADER_BYTES).limit(offset + HEADER_BYTES + length));
+        if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+            return null;
+        }
+        int at = offset + HEADER_BYTES;
+        byte kind = buffer.get(at);
+        long seq = buffer.getLong(at + 1);
+        int keyLength = buffer.getShort(at + 9);
+        byte[] key = new byte[keyLength];
+        buffer.get(at + FIXED_BYTES, key);
+        return new Entry(offset, HEADER_BYTES + length, kind, seq, new String(key, StandardCharsets.UTF_8));
+    }
+
+    /** After scanning an existing segment: continue appending at the given offset. */
+    void resumeAt(int offset) {
+        if (offset + HEADER_BYTES <= buffer.capacity()) {
+            buffer.putInt(offset, 0); // Hide a torn record so it is not picked up again
+        }
+        writePosition = offset;
+        flushedPosition = offset;
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+}
@@ -2,14 +2,25 @@ package com.example.backend.repository.mongo;
 
 import com.example.backend.model.Game;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.Date;
+
 @Document(collection = "games")
 public class GameDocument {
 
     @Id
     private String id;
     private Game game;
+    /** Time of the last write; the TTL index removes games nobody has touched for app.games.store-ttl */
+    @Indexed(name = "updated_ttl", expireAfter = "#{@environment.getProperty('app.games.store-ttl', '1d')}")
+    private Date updatedAt;
+    /**
+     * Incremented by every write. Maintained by MongoGameStore's conditional writes, not by Spring
+     * Data: a write only applies if the document is still at the version the writer last saw.
+     */
+    private Long version;
 
     public GameDocument() {
     }
@@ -17,6 +28,7 @@ public class GameDocument {
     public GameDocument(Game game) {
         this.id = game.getId();
         this.game = game;
+        this.updatedAt = new Date();
     }
 
     public String getId() {
@@ -34,4 +46,20 @@ public class GameDocument {
     public void setGame(Game game) {
         this.game = game;
     }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
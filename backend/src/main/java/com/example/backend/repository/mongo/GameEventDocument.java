@@ -0,0 +1,74 @@
+package com.example.backend.repository.mongo;
+
+import com.example.backend.model.GameEvent;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Journal entry of a game. The id is {@code gameId:seq}, so an event can be stored only once:
+ * appending it again after a failed batch, or another instance appending its own event under the
+ * same seq, fails with a duplicate key instead of adding or overwriting one.
+ */
+@Document(collection = "game_events")
+@CompoundIndex(name = "game_seq", def = "{'gameId': 1, 'seq': 1}", unique = true)
+public class GameEventDocument {
+
+    @Id
+    private String id;
+    private String gameId;
+    private long seq;
+    private String type;
+    private String playerId;
+    private Map<String, Object> data;
+    private long timestamp;
+    /** Expires with the game's snapshot, see {@link GameDocument} */
+    @Indexed(name = "created_ttl", expireAfter = "#{@environment.getProperty('app.games.store-ttl', '1d')}")
+    private Date createdAt;
+
+    public GameEventDocument() {
+    }
+
+    public GameEventDocument(GameEvent event) {
+        this.id = event.getGameId() + ":" + event.getSeq();
+        this.gameId = event.getGameId();
+        this.seq = event.getSeq();
+        this.type = event.getType().name();
+        this.playerId = event.getPlayerId();
+        this.data = event.getData();
+        this.timestamp = event.getTimestamp();
+        this.createdAt = new Date(event.getTimestamp());
+    }
+
+    public GameEvent toEvent() {
+        return new GameEvent(gameId, seq, GameEvent.Type.valueOf(type), playerId, data, timestamp);
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+
+    public long getSeq() { return seq; }
+    public void setSeq(long seq) { this.seq = seq; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getPlayerId() { return playerId; }
+    public void setPlayerId(String playerId) { this.playerId = playerId; }
+
+    public Map<String, Object> getData() { return data; }
+    public void setData(Map<String, Object> data) { this.data = data; }
+
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+}
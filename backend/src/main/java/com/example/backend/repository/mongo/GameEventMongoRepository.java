@@ -0,0 +1,17 @@
+package com.example.backend.repository.mongo;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface GameEventMongoRepository extends MongoRepository<GameEventDocument, String> {
+
+    /** Journal tail of a game: every event after the given state version, oldest first */
+    List<GameEventDocument> findByGameIdAndSeqGreaterThanOrderBySeqAsc(String gameId, long seq);
+
+    /** Whole journal of a game, oldest first, read from a cursor */
+    Stream<GameEventDocument> streamByGameIdOrderBySeqAsc(String gameId);
+
+    void deleteByGameId(String gameId);
+}
@@ -1,6 +1,11 @@
 package com.example.backend.repository.mongo;
 
+import java.util.stream.Stream;
+
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 public interface GameMongoRepository extends MongoRepository<GameDocument, String> {
+
+    /** All persisted games, read from a cursor instead of loaded at once */
+    Stream<GameDocument> streamAllBy();
 }
@@ -0,0 +1,362 @@
+package com.example.backend.repository.mongo;
+
+import com.example.backend.model.Game;
+import com.example.backend.model.GameEvent;
+import com.example.backend.repository.GameStore;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Default game store: snapshots in the {@code games} collection, events in {@code game_events}.
+ *
+ * Snapshots are written as one unordered bulk write per batch. For a game this store wrote
+ * before, only the top-level game fields that changed since that write are sent, as a partial
+ * {@code $set}; other games are upserted whole. The last written form of recently written games
+ * is kept to compute these diffs; a game that dropped out of it is simply written whole again.
+ *
+ * Several instances can share the collection. Every document carries a version that this store
+ * increments itself; each write is conditional on the version this instance last read or wrote,
+ * so a write by another instance in between is never overwritten. The game is reported instead,
+ * and the caller reloads it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.persistence.backend", havingValue = "mongo", matchIfMissing = true)
+public class MongoGameStore implements GameStore {
+
+    private static final String GAMES_COLLECTION = "games";
+    /** Games whose last written form is kept for diffing */
+    private static final int MAX_TRACKED_GAMES = 10_000;
+    private static final int DUPLICATE_KEY = 11000;
+
+    /**
+     * Game sub-document and document version as last written by this instance; a game that was
+     * only read has no sub-document yet and is written whole at the version it was read at.
+     */
+    private record Written(Document game, long version) {
+    }
+
+    /** Document version and game state version as currently stored */
+    private record Stored(long version, long stateVersion) {
+    }
+
+    private final GameMongoRepository gameMongoRepository;
+    private final GameEventMongoRepository gameEventMongoRepository;
+    private final MongoTemplate mongoTemplate;
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    /** gameId -> game sub-document and version as last read or written, least recently used first */
+    private final Map<String, Written> lastWritten = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Written> eldest) {
+            return size() > MAX_TRACKED_GAMES;
+        }
+    };
+    private final Timer bulkLatency;
+    private final DistributionSummary bulkSize;
+    private final Counter partialWrites;
+    private final Counter fullWrites;
+    private final Counter bytesSent;
+    private final Counter conflicts;
+    private final Counter documentBytes;
+
+    public MongoGameStore(GameMongoRepository gameMongoRepository, GameEventMongoRepository gameEventMongoRepository,
+            MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.gameMongoRepository = gameMongoRepository;
+        this.gameEventMongoRepository = gameEventMongoRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.bulkLatency = Timer.builder("dobbelen.mongo.bulk.latency")
+                .description("Time taken by one bulk write of game snapshots")
+                .register(meterRegistry);
+        this.bulkSize = DistributionSummary.builder("dobbelen.mongo.bulk.size")
+                .description("Games per bulk write")
+                .register(meterRegistry);
+        this.partialWrites = Counter.builder("dobbelen.mongo.writes")
+                .description("Game snapshots written")
+                .tag("kind", "partial")
+                .register(meterRegistry);
+        this.fullWrites = Counter.builder("dobbelen.mongo.writes")
+                .description("Game snapshots written")
+                .tag("kind", "full")
+                .register(meterRegistry);
+        this.bytesSent = Counter.builder("dobbelen.mongo.bytes.sent")
+                .description("Bytes of game snapshot updates sent to Mongo")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.documentBytes = Counter.builder("dobbelen.mongo.bytes.document")
+                .description("Bytes the same writes would have sent as whole documents")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("dobbelen.mongo.conflicts")
+                .description("Game writes not applied because another instance wrote the game in between")
+                .register(meterRegistry);
+        Gauge.builder("dobbelen.mongo.write.amplification", this, MongoGameStore::writeAmplification)
+                .description("Bytes sent per byte of whole document; 1 means every write replaced the document")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<Game> findGame(String gameId) {
+        return gameMongoRepository.findById(gameId).map(this::read);
+    }
+
+    @Override
+    public Stream<Game> streamGames() {
+        return gameMongoRepository.streamAllBy().map(this::read);
+    }
+
+    /** The document's game; its next write is conditional on the version it was read at */
+    private synchronized Game read(GameDocument document) {
+        lastWritten.put(document.getId(), new Written(null, document.getVersion() != null ? document.getVersion() : 0));
+        return document.getGame();
+    }
+
+    /**
+     * Write the games in one bulk write. Synchronized so that the remembered documents always match
+     * what this instance stored: a diff against them then turns the stored document into exactly
+     * the new one.
+     *
+     * Every write is conditional on the document version this instance last read or wrote. A game
+     * another instance wrote in between is not written and its id is returned; its local copy is
+     * out of date. A game this instance no longer tracks is written on top of the stored document
+     * only if that holds an older state.
+     */
+    @Override
+    public synchronized List<String> saveGames(List<Game> games) {
+        List<String> conflicted = new ArrayList<>();
+        Map<String, Stored> stored = findStored(games.stream()
+                .map(Game::getId)
+                .filter(gameId -> !lastWritten.containsKey(gameId))
+                .toList());
+        Date now = new Date();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GAMES_COLLECTION);
+        Map<String, Written> written = new LinkedHashMap<>();
+        List<Game> batch = new ArrayList<>();
+        for (Game game : games) {
+            Written previous = lastWritten.get(game.getId());
+            Stored before = stored.get(game.getId());
+            if (previous == null && before != null && before.stateVersion() >= game.getStateVersion()) {
+                conflicts.increment();
+                conflicted.add(game.getId());
+                continue;
+            }
+            long version = previous != null ? previous.version() : before != null ? before.version() : 0;
+            Document current = toDocument(game);
+            long currentBytes = sizeOf(current);
+            documentBytes.increment(currentBytes);
+            Update update = new Update().set("updatedAt", now).set("version", version + 1);
+            if (previous == null && before == null) {
+                bulk.insert(new Document("_id", game.getId())
+                        .append("game", current)
+                        .append("updatedAt", now)
+                        .append("version", version + 1));
+                bytesSent.increment(currentBytes);
+                fullWrites.increment();
+            } else if (previous == null || previous.game() == null) {
+                bulk.updateOne(expecting(game.getId(), version), update.set("game", current));
+                bytesSent.increment(currentBytes);
+                fullWrites.increment();
+            } else {
+                Document changes = changedFields(previous.game(), current);
+                changes.forEach((field, value) -> update.set("game." + field, value));
+                for (String field : previous.game().keySet()) {
+                    if (!current.containsKey(field)) {
+                        update.unset("game." + field);
+                    }
+                }
+                bulk.updateOne(expecting(game.getId(), version), update);
+                bytesSent.increment(sizeOf(changes));
+                partialWrites.increment();
+            }
+            written.put(game.getId(), new Written(current, version + 1));
+            batch.add(game);
+        }
+        if (batch.isEmpty()) {
+            return conflicted;
+        }
+
+        long start = System.nanoTime();
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                forget(batch);
+                throw e;
+            }
+            result = e.getResult(); // Inserts that raced with another instance's insert
+        } catch (RuntimeException e) {
+            // The stored state of these games is unknown now; write them whole next time
+            forget(batch);
+            throw e;
+        } finally {
+            bulkLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        bulkSize.record(batch.size());
+        lastWritten.putAll(written);
+        if (result.getMatchedCount() + result.getInsertedCount() == batch.size()) {
+            return conflicted;
+        }
+
+        // Some writes found another version than expected: those games were written by another instance
+        Map<String, Stored> after = findStored(batch.stream().map(Game::getId).toList());
+        for (Game game : batch) {
+            Stored latest = after.get(game.getId());
+            Written ours = written.get(game.getId());
+            if (latest != null && latest.version() == ours.version() && latest.stateVersion() == game.getStateVersion()) {
+                continue;
+            }
+            lastWritten.remove(game.getId());
+            conflicts.increment();
+            conflicted.add(game.getId());
+        }
+        return conflicted;
+    }
+
+    /** Filter matching the game's document only while it is still at the given version */
+    private static Query expecting(String gameId, long version) {
+        Criteria byId = Criteria.where("_id").is(gameId);
+        // Documents written before versioning have no version field
+        return Query.query(version == 0 ? byId.and("version").exists(false) : byId.and("version").is(version));
+    }
+
+    /** Stored document and game state versions of those of the games that are stored */
+    private Map<String, Stored> findStored(List<String> gameIds) {
+        if (gameIds.isEmpty()) {
+            return Map.of();
+        }
+        Query query = Query.query(Criteria.where("_id").in(gameIds));
+        query.fields().include("version", "game.stateVersion");
+        Map<String, Stored> stored = new HashMap<>();
+        for (Document document : mongoTemplate.find(query, Document.class, GAMES_COLLECTION)) {
+            Document game = document.get("game", Document.class);
+            stored.put(document.getString("_id"), new Stored(longOf(document.get("version")),
+                    game != null ? longOf(game.get("stateVersion")) : 0));
+        }
+        return stored;
+    }
+
+    private static long longOf(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    private void forget(List<Game> games) {
+        games.forEach(game -> lastWritten.remove(game.getId()));
+    }
+
+    /** The game as Mongo stores it in the {@code game} field of its document */
+    private Document toDocument(Game game) {
+        Document root = new Document();
+        mongoTemplate.getConverter().write(new GameDocument(game), root);
+        return (Document) root.get("game");
+    }
+
+    /** Top-level fields of current that are new or differ from previous */
+    static Document changedFields(Document previous, Document current) {
+        Document changes = new Document();
+        current.forEach((field, value) -> {
+            if (!previous.containsKey(field) || !Objects.equals(previous.get(field), value)) {
+                changes.put(field, value);
+            }
+        });
+        return changes;
+    }
+
+    private long sizeOf(Document document) {
+        return new RawBsonDocument(document, documentCodec).getByteBuffer().remaining();
+    }
+
+    private double writeAmplification() {
+        double document = documentBytes.count();
+        return document == 0 ? 0 : bytesSent.count() / document;
+    }
+
+    /**
+     * Insert the events in one unordered bulk write. Events are never overwritten: an insert that
+     * hits an event stored under the same seq is either this instance writing the same event again
+     * after a failed batch, or another instance that advanced the game first, whose game is then
+     * reported like a conflicting snapshot write.
+     */
+    @Override
+    public List<String> appendEvents(List<GameEvent> events) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GameEventDocument.class);
+        for (GameEvent event : events) {
+            bulk.insert(new GameEventDocument(event));
+        }
+        try {
+            bulk.execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw e;
+            }
+            Set<String> conflicted = new LinkedHashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                GameEvent ours = events.get(error.getIndex());
+                GameEvent stored = gameEventMongoRepository.findById(new GameEventDocument(ours).getId())
+                        .map(GameEventDocument::toEvent)
+                        .orElse(null);
+                if (!sameEvent(stored, ours)) {
+                    conflicts.increment();
+                    conflicted.add(ours.getGameId());
+                }
+            }
+            return List.copyOf(conflicted);
+        }
+    }
+
+    /** Whether the stored event is the given one, written before; data is not compared, Mongo may widen its numbers */
+    private static boolean sameEvent(GameEvent stored, GameEvent event) {
+        return stored != null && stored.getType() == event.getType()
+                && Objects.equals(stored.getPlayerId(), event.getPlayerId())
+                && stored.getTimestamp() == event.getTimestamp();
+    }
+
+    @Override
+    public List<GameEvent> findEventsAfter(String gameId, long seq) {
+        return gameEventMongoRepository.findByGameIdAndSeqGreaterThanOrderBySeqAsc(gameId, seq).stream()
+                .map(GameEventDocument::toEvent)
+                .toList();
+    }
+
+    @Override
+    public Stream<GameEvent> streamEvents(String gameId) {
+        return gameEventMongoRepository.streamByGameIdOrderBySeqAsc(gameId).map(GameEventDocument::toEvent);
+    }
+
+    @Override
+    public void deleteGame(String gameId) {
+        synchronized (this) {
+            lastWritten.remove(gameId);
+        }
+        gameMongoRepository.deleteById(gameId);
+        gameEventMongoRepository.deleteByGameId(gameId);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.backend.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Merges GAME_UPDATED broadcast requests for the same game that arrive within a short window
+ * into a single publish of the latest state. A single action often triggers several broadcasts
+ * (e.g. the dice reveal inside processDoubt followed by the AI turn's own broadcast), and only
+ * the last state matters to clients.
+ *
+ * Event messages (PLAYER_LEFT, GAME_CANCELLED, ...) are never merged. They go through
+ * {@link #sendInOrder(String, Runnable)}, which first publishes any pending update for the game
+ * so clients still see updates and events in the order they were produced.
+ *
+ * The window timer only hands due flushes to a pool of publisher threads, so building and sending
+ * a large game's state never holds up the broadcasts of other games.
+ */
+class BroadcastCoalescer {
+    private static final int LOCK_STRIPES = 64;
+
+    private final long windowMs;
+    private final Consumer<String> publisher;
+    private final Set<String> pendingGameIds = ConcurrentHashMap.newKeySet();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Timer timer;
+    private final Executor publishers;
+
+    /** Runs a task once after a delay */
+    interface Timer {
+        void schedule(Runnable task, long delayMs);
+    }
+
+    /**
+     * @param windowMs         how long to wait for further update requests before publishing
+     * @param publisher        publishes the current state of the given game
+     * @param publisherThreads number of threads publishing due updates
+     */
+    BroadcastCoalescer(long windowMs, Consumer<String> publisher, int publisherThreads) {
+        this(windowMs, publisher, scheduler(), Executors.newFixedThreadPool(publisherThreads, r -> {
+            Thread t = new Thread(r, "broadcast-publisher");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    /**
+     * @param timer      schedules the end of a window
+     * @param publishers runs the publishes that are due
+     */
+    BroadcastCoalescer(long windowMs, Consumer<String> publisher, Timer timer, Executor publishers) {
+        this.windowMs = windowMs;
+        this.publisher = publisher;
+        this.timer = timer;
+        this.publishers = publishers;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    private static Timer scheduler() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "broadcast-coalescer");
+            t.setDaemon(true);
+            return t;
+        });
+        return (task, delayMs) -> scheduler.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Request a state publish for the game. Requests inside the same window share one publish. */
+    void request(String gameId) {
+        if (pendingGameIds.add(gameId)) {
+            timer.schedule(() -> publishers.execute(() -> flush(gameId)), windowMs);
+        }
+    }
+
+    /** Publish the pending update for the game now, if there is one. */
+    void flush(String gameId) {
+        synchronized (lockFor(gameId)) {
+            if (pendingGameIds.remove(gameId)) {
+                publisher.accept(gameId);
+            }
+        }
+    }
+
+    /**
+     * Send an event message for the game. Any pending update is published first so the event
+     * is never delivered ahead of the state that preceded it.
+     */
+    void sendInOrder(String gameId, Runnable send) {
+        synchronized (lockFor(gameId)) {
+            if (pendingGameIds.remove(gameId)) {
+                publisher.accept(gameId);
+            }
+            send.run();
+        }
+    }
+
+    private Object lockFor(String gameId) {
+        return locks[(gameId.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+}
@@ -1,32 +1,28 @@
 package com.example.backend.service;
 
 import com.example.backend.model.Bid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 @Service
 public class EasyAIService {
+
+    private static final Logger log = LoggerFactory.getLogger(EasyAIService.class);
+
     
-    // Track AI actions to prevent double-acting
+    // Track the last AI action of each game to prevent double-acting
     private final Map<String, AIActionRecord> aiActionTracker = new ConcurrentHashMap<>();
     
     // Track round end times for delay enforcement
     private final Map<String, Long> roundEndTimes = new ConcurrentHashMap<>();
     
-    private static class AIActionRecord {
-        String gameId;
-        int roundNumber;
-        String currentPlayerId;
-        long timestamp;
-        
-        AIActionRecord(String gameId, int roundNumber, String currentPlayerId, long timestamp) {
-            this.gameId = gameId;
-            this.roundNumber = roundNumber;
-            this.currentPlayerId = currentPlayerId;
-            this.timestamp = timestamp;
-        }
+    private record AIActionRecord(int roundNumber, int playerHandle, long timestamp) {
     }
     
     public static class AIAction {
@@ -52,9 +48,8 @@ public class EasyAIService {
     /**
      * Check if AI can act (hasn't already acted in this turn)
      */
-    public boolean canAIAct(String gameId, int roundNumber, String currentPlayerId) {
-        String key = currentPlayerId;
-        AIActionRecord lastAction = aiActionTracker.get(key);
+    public boolean canAIAct(String gameId, int roundNumber, int playerHandle) {
+        AIActionRecord lastAction = aiActionTracker.get(gameId);
         
         // AI can act if:
         // 1. Never acted before, OR
@@ -64,23 +59,20 @@ public class EasyAIService {
             return true;
         }
         
-        if (!lastAction.gameId.equals(gameId) || 
-            lastAction.roundNumber != roundNumber || 
-            !lastAction.currentPlayerId.equals(currentPlayerId)) {
+        if (lastAction.roundNumber() != roundNumber || lastAction.playerHandle() != playerHandle) {
             return true;
         }
         
         // Check if enough time has passed (at least 1 second to prevent spam)
-        long timeSinceLastAction = System.currentTimeMillis() - lastAction.timestamp;
+        long timeSinceLastAction = System.currentTimeMillis() - lastAction.timestamp();
         return timeSinceLastAction > 1000;
     }
     
     /**
      * Mark that an AI has acted
      */
-    public void markAIAction(String gameId, int roundNumber, String currentPlayerId) {
-        String key = currentPlayerId;
-        aiActionTracker.put(key, new AIActionRecord(gameId, roundNumber, currentPlayerId, System.currentTimeMillis()));
+    public void markAIAction(String gameId, int roundNumber, int playerHandle) {
+        aiActionTracker.put(gameId, new AIActionRecord(roundNumber, playerHandle, System.currentTimeMillis()));
     }
     
     /**
@@ -113,43 +105,51 @@ public class EasyAIService {
     public void clearRoundTracking(String gameId) {
         roundEndTimes.remove(gameId);
     }
+
+    /**
+     * Forget all tracking for a game that was removed or hibernated
+     */
+    public void forgetGame(String gameId) {
+        roundEndTimes.remove(gameId);
+        aiActionTracker.remove(gameId);
+    }
     
     /**
-     * Generate a random AI action based on the current game state
+     * Generate a random AI action based on the current game state, drawing from the given generator
      */
-    public AIAction generateRandomAction(Bid currentBid, int totalPlayers, int roundNumber) {
+    public AIAction generateRandomAction(Bid currentBid, int totalPlayers, int roundNumber, RandomGenerator random) {
         // If no current bid, must bid (start of round)
         if (currentBid == null) {
-            System.out.println("AI starting new round (" + roundNumber + "), generating first bid");
-            return generateBidAction(null);
+            log.debug("AI starting new round ({}), generating first bid", roundNumber);
+            return generateBidAction(null, random);
         }
         
         // Calculate doubt probability using the formula: (1 / number of players) * 0.3 * amount^1.5
         double doubtProbability = (1.0 / totalPlayers) * 0.3 * Math.pow(currentBid.getQuantity(), 1.5);
         double spotOnProbability = 0.01; // 1% chance for spot-on
         
-        double random = Math.random();
+        double roll = random.nextDouble();
         
-        if (random < doubtProbability) {
-            System.out.println(String.format("AI considering doubt: probability=%.3f, bid=%d of %ds",
-                doubtProbability, currentBid.getQuantity(), currentBid.getFaceValue()));
+        if (roll < doubtProbability) {
+            log.debug("AI considering doubt: probability={}, bid={} of {}s",
+                doubtProbability, currentBid.getQuantity(), currentBid.getFaceValue());
             return new AIAction("doubt");
-        } else if (random < doubtProbability + spotOnProbability) {
+        } else if (roll < doubtProbability + spotOnProbability) {
             return new AIAction("spotOn");
         } else {
-            return generateBidAction(currentBid);
+            return generateBidAction(currentBid, random);
         }
     }
     
     /**
      * Generate a bid action (either first bid or raise)
      */
-    private AIAction generateBidAction(Bid currentBid) {
+    private AIAction generateBidAction(Bid currentBid, RandomGenerator random) {
         if (currentBid == null) {
             // First bid - start with 1 or 2 of any value
-            int quantity = Math.random() < 0.5 ? 1 : 2;
-            int faceValue = (int) (Math.random() * 6) + 1;
-            System.out.println("AI first bid: " + quantity + " of " + faceValue + "s");
+            int quantity = random.nextBoolean() ? 1 : 2;
+            int faceValue = random.nextInt(6) + 1;
+            log.debug("AI first bid: {} of {}s", quantity, faceValue);
             return new AIAction("bid", quantity, faceValue);
         }
         
@@ -160,7 +160,7 @@ public class EasyAIService {
         int newQuantity;
         int newFaceValue;
         
-        if (Math.random() < 0.5) {
+        if (random.nextBoolean()) {
             // Strategy 1: Same quantity, higher face value (if possible)
             if (currentFaceValue < 6) {
                 newQuantity = currentQuantity;
@@ -176,8 +176,8 @@ public class EasyAIService {
             newFaceValue = currentFaceValue;
         }
         
-        System.out.println(String.format("AI bid strategy: current=%d of %ds, new=%d of %ds",
-            currentQuantity, currentFaceValue, newQuantity, newFaceValue));
+        log.debug("AI bid strategy: current={} of {}s, new={} of {}s",
+            currentQuantity, currentFaceValue, newQuantity, newFaceValue);
         
         return new AIAction("bid", newQuantity, newFaceValue);
     }
@@ -189,8 +189,8 @@ public class EasyAIService {
      */
     public long getThinkingDelay(boolean isFirstTurn) {
         if (isFirstTurn) {
-            return (long) (Math.random() * 1000) + 5500; // 5.5-6.5 seconds
+            return ThreadLocalRandom.current().nextLong(1000) + 5500; // 5.5-6.5 seconds
         }
-        return (long) (Math.random() * 1000) + 500; // 0.5-1.5 seconds
+        return ThreadLocalRandom.current().nextLong(1000) + 500; // 0.5-1.5 seconds
     }
 }
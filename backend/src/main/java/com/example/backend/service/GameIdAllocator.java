@@ -0,0 +1,87 @@
+package com.example.backend.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out short game ids that players can type: lowercase letters, as few as possible. An id
+ * is only handed out if no live, hibernated or not yet deleted game holds it. The length grows
+ * with the number of ids in use, so that a random draw almost never hits one; after a few misses
+ * at one length the next draws are one letter longer. Nothing here locks: claiming an id is a
+ * single add to a concurrent set.
+ */
+class GameIdAllocator {
+
+    static final int MIN_LENGTH = 3;
+    static final int MAX_LENGTH = 12;
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+    /** Ids in use stay below this share of all ids of the chosen length */
+    private static final double MAX_OCCUPANCY = 0.1;
+    private static final int ATTEMPTS_PER_LENGTH = 4;
+
+    /** Number of ids of each length that may be in use before ids get longer */
+    private static final long[] CAPACITY = new long[MAX_LENGTH + 1];
+
+    static {
+        double ids = 1;
+        for (int length = 1; length <= MAX_LENGTH; length++) {
+            ids *= ALPHABET.length();
+            CAPACITY[length] = (long) (ids * MAX_OCCUPANCY);
+        }
+    }
+
+    private final Set<String> inUse = ConcurrentHashMap.newKeySet();
+    private final AtomicLong collisionCount = new AtomicLong();
+
+    /** Claim a fresh id. */
+    String allocate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int length = lengthFor(inUse.size()); length <= MAX_LENGTH; length++) {
+            for (int attempt = 0; attempt < ATTEMPTS_PER_LENGTH; attempt++) {
+                char[] id = new char[length];
+                for (int i = 0; i < length; i++) {
+                    id[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+                }
+                String candidate = new String(id);
+                if (inUse.add(candidate)) {
+                    return candidate;
+                }
+                collisionCount.incrementAndGet();
+            }
+        }
+        throw new IllegalStateException("No free game id among " + inUse.size() + " in use");
+    }
+
+    /** Mark an id as taken by a game that was not allocated here, e.g. one loaded from the game store. */
+    void register(String gameId) {
+        inUse.add(gameId);
+    }
+
+    /**
+     * Make an id available again. Only for games whose snapshot and journal are gone from the
+     * game store, or a new game could be rebuilt from what the old one left behind.
+     */
+    void release(String gameId) {
+        inUse.remove(gameId);
+    }
+
+    int inUseCount() {
+        return inUse.size();
+    }
+
+    /** Draws that hit an id already in use */
+    long collisionCount() {
+        return collisionCount.get();
+    }
+
+    /** Length new ids start at with the given number of ids in use */
+    static int lengthFor(int inUse) {
+        int length = MIN_LENGTH;
+        while (length < MAX_LENGTH && inUse >= CAPACITY[length]) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.backend.service;
+
+import com.example.backend.model.GameEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Append-only action journal with group commit. Commands append their event in memory and
+ * return; a background thread writes everything appended since the last write in one batch.
+ * Unlike the snapshot write-behind, events are never merged: a failed batch goes back to the
+ * front of the queue and is written again, in order, on the next run.
+ *
+ * Retries are bounded. A batch that keeps failing is written one event at a time; events that
+ * fail on their own while others get through are handed to the dead-letter handler instead of
+ * holding up every game behind them. While nothing gets through at all (the store is down) the
+ * queue keeps at most maxPending events, and the oldest beyond that are dead-lettered too. The
+ * handler is expected to make the games' next snapshots carry the effect of those events.
+ */
+class GameJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(GameJournal.class);
+
+    /** Times a batch is written as a whole before its events are written one at a time */
+    static final int BATCH_ATTEMPTS = 3;
+
+    private final int batchSize;
+    private final int maxPending;
+    private final Consumer<List<GameEvent>> writer;
+    private final Consumer<List<GameEvent>> deadLetter;
+    private final Deque<GameEvent> pending = new ArrayDeque<>();
+    private final AtomicLong appendedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong deadLetteredCount = new AtomicLong();
+    /** Consecutive failed writes of the batch at the head of the queue */
+    private int headAttempts;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "game-journal");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * @param commitIntervalMs delay between the end of one group commit and the start of the next
+     * @param batchSize        maximum number of events handed to the writer at once
+     * @param maxPending       events kept for retrying while the writer fails
+     * @param writer           durably appends the given events
+     * @param deadLetter       takes the events given up on
+     */
+    GameJournal(long commitIntervalMs, int batchSize, int maxPending, Consumer<List<GameEvent>> writer,
+            Consumer<List<GameEvent>> deadLetter) {
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.writer = writer;
+        this.deadLetter = deadLetter;
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, commitIntervalMs, commitIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    void append(GameEvent event) {
+        synchronized (pending) {
+            pending.addLast(event);
+        }
+    }
+
+    /** Write every event appended so far, or until the writer fails. */
+    synchronized void flush() {
+        dropOverflow();
+        while (true) {
+            List<GameEvent> batch = new ArrayList<>();
+            synchronized (pending) {
+                while (batch.size() < batchSize && !pending.isEmpty()) {
+                    batch.add(pending.pollFirst());
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            RuntimeException error = write(batch);
+            if (error == null) {
+                headAttempts = 0;
+                continue;
+            }
+            if (++headAttempts < BATCH_ATTEMPTS) {
+                requeue(batch);
+                log.warn("Journal append of {} events failed, will retry: {}", batch.size(), error.getMessage());
+                return;
+            }
+            // Find the events that fail on their own so they don't hold up the rest
+            headAttempts = 0;
+            List<GameEvent> failed = new ArrayList<>();
+            for (GameEvent event : batch) {
+                if (write(List.of(event)) != null) {
+                    failed.add(event);
+                }
+            }
+            if (failed.size() == batch.size()) {
+                requeue(batch); // Nothing gets through: the store is failing, not these events
+                log.warn("Journal append of {} events keeps failing, will retry", batch.size());
+                return;
+            }
+            if (!failed.isEmpty()) {
+                deadLetter(failed, "failed on their own");
+            }
+        }
+    }
+
+    /** Hand the events to the writer; null if they were written, otherwise why not */
+    private RuntimeException write(List<GameEvent> batch) {
+        try {
+            writer.accept(batch);
+            appendedCount.addAndGet(batch.size());
+            return null;
+        } catch (RuntimeException e) {
+            failedCount.addAndGet(batch.size());
+            return e;
+        }
+    }
+
+    private void requeue(List<GameEvent> batch) {
+        synchronized (pending) {
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                pending.addFirst(batch.get(i));
+            }
+        }
+    }
+
+    /** Give up on the oldest events beyond maxPending */
+    private void dropOverflow() {
+        List<GameEvent> dropped = new ArrayList<>();
+        synchronized (pending) {
+            while (pending.size() > maxPending) {
+                dropped.add(pending.pollFirst());
+            }
+        }
+        if (!dropped.isEmpty()) {
+            deadLetter(dropped, "exceeded the journal backlog limit");
+        }
+    }
+
+    private void deadLetter(List<GameEvent> events, String reason) {
+        deadLetteredCount.addAndGet(events.size());
+        log.error("Journal gave up on {} events that {}", events.size(), reason);
+        deadLetter.accept(events);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Journal flush error", e);
+        }
+    }
+
+    /** Stop the background writer after writing everything still pending. */
+    void shutdown() {
+        scheduler.shutdown();
+        flushQuietly();
+    }
+
+    /** Whether the removal of the game is appended but not written yet */
+    boolean hasPendingRemoval(String gameId) {
+        synchronized (pending) {
+            for (GameEvent event : pending) {
+                if (event.getType() == GameEvent.Type.REMOVED && event.getGameId().equals(gameId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** Number of events not yet written */
+    int queueDepth() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    long appendedCount() {
+        return appendedCount.get();
+    }
+
+    long failedCount() {
+        return failedCount.get();
+    }
+
+    long deadLetteredCount() {
+        return deadLetteredCount.get();
+    }
+}
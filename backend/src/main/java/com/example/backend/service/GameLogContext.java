@@ -0,0 +1,31 @@
+package com.example.backend.service;
+
+import org.slf4j.MDC;
+
+/**
+ * Per-game logging context. While a command, timer or AI turn of a game runs, the game's id is in
+ * the MDC under {@link #GAME_ID}, so every line logged on the way (also by the AI services and the
+ * model) can be traced back to the game: the console pattern prints it, structured output has it
+ * as a field.
+ */
+public final class GameLogContext {
+
+    public static final String GAME_ID = "gameId";
+
+    private GameLogContext() {
+    }
+
+    /** Put the game in the context of this thread until the returned handle is closed. */
+    public static MDC.MDCCloseable enter(String gameId) {
+        return MDC.putCloseable(GAME_ID, gameId);
+    }
+
+    /** The task, run with the game in the context of whichever thread runs it */
+    static Runnable wrap(String gameId, Runnable task) {
+        return () -> {
+            try (MDC.MDCCloseable ignored = enter(gameId)) {
+                task.run();
+            }
+        };
+    }
+}
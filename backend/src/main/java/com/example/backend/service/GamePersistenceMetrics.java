@@ -0,0 +1,101 @@
+package com.example.backend.service;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the persistence stages: how many games wait for a snapshot write, how far behind the store
+ * is, how many snapshot writes succeeded or failed, the same for the action journal, how many
+ * games are held in memory versus hibernated, and the outcome of the startup recovery pass.
+ */
+@Component
+public class GamePersistenceMetrics implements MeterBinder {
+
+    private final GameService gameService;
+
+    public GamePersistenceMetrics(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GameWriteBehind writeBehind = gameService.writeBehind();
+        Gauge.builder("dobbelen.persist.queue.depth", writeBehind, GameWriteBehind::queueDepth)
+                .description("Games with changes not yet written to the game store")
+                .register(registry);
+        Gauge.builder("dobbelen.persist.pending.age", writeBehind, GameWriteBehind::oldestPendingAgeMs)
+                .description("Age of the oldest change not yet written to the game store")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("dobbelen.persist.flush.lag", writeBehind, GameWriteBehind::lastFlushLagMs)
+                .description("Time from the oldest change to its write in the last flushed batch")
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("dobbelen.persist.mutations", writeBehind, GameWriteBehind::mutationCount)
+                .description("Game mutations marked for the write-behind stage, coalesced into fewer writes")
+                .register(registry);
+        FunctionCounter.builder("dobbelen.persist.writes", writeBehind, GameWriteBehind::writtenCount)
+                .description("Game documents written by the write-behind stage")
+                .register(registry);
+        FunctionCounter.builder("dobbelen.persist.failures", writeBehind, GameWriteBehind::failedCount)
+                .description("Game documents whose write failed and was retried")
+                .register(registry);
+
+        GameJournal journal = gameService.journal();
+        Gauge.builder("dobbelen.journal.queue.depth", journal, GameJournal::queueDepth)
+                .description("Journal events not yet written to the game store")
+                .register(registry);
+        FunctionCounter.builder("dobbelen.journal.appends", journal, GameJournal::appendedCount)
+                .description("Journal events written")
+                .register(registry);
+        FunctionCounter.builder("dobbelen.journal.failures", journal, GameJournal::failedCount)
+                .description("Journal events whose write failed and was retried")
+                .register(registry);
+        FunctionCounter.builder("dobbelen.journal.dead.lettered", journal, GameJournal::deadLetteredCount)
+                .description("Journal events given up on; their games were snapshotted instead")
+                .register(registry);
+
+        Gauge.builder("dobbelen.games.resident", gameService, GameService::residentGameCount)
+                .description("Games held in memory")
+                .register(registry);
+        FunctionCounter.builder("dobbelen.games.hibernated", gameService, GameService::hibernatedCount)
+                .description("Idle games written out and dropped from memory")
+                .register(registry);
+        FunctionCounter.builder("dobbelen.games.rehydrated", gameService, GameService::rehydratedCount)
+                .description("Games brought back into memory on first access")
+                .register(registry);
+        FunctionCounter.builder("dobbelen.games.reaped", gameService, GameService::reapedCount)
+                .description("Finished or abandoned games removed after their TTL")
+                .register(registry);
+        Gauge.builder("dobbelen.games.ids", gameService.gameIds(), GameIdAllocator::inUseCount)
+                .description("Game ids held by live, hibernated or not yet deleted games")
+                .register(registry);
+        FunctionCounter.builder("dobbelen.games.id.collisions", gameService.gameIds(), GameIdAllocator::collisionCount)
+                .description("Random game id draws that hit an id in use and were drawn again")
+                .register(registry);
+        FunctionCounter.builder("dobbelen.archive.dropped", gameService.handArchive(), HandArchiveService::droppedCount)
+                .description("Completed hands dropped because the archive writer fell behind")
+                .register(registry);
+
+        Gauge.builder("dobbelen.recovery.duration", gameService, GameService::recoveryDurationMs)
+                .description("Time taken to rebuild persisted games on startup")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("dobbelen.recovery.games", gameService, GameService::recoveredGameCount)
+                .description("Games rebuilt on startup")
+                .tag("outcome", "recovered")
+                .register(registry);
+        Gauge.builder("dobbelen.recovery.games", gameService, GameService::discardedGameCount)
+                .description("Games rebuilt on startup")
+                .tag("outcome", "discarded")
+                .register(registry);
+        Gauge.builder("dobbelen.recovery.games", gameService, GameService::failedGameCount)
+                .description("Games rebuilt on startup")
+                .tag("outcome", "failed")
+                .register(registry);
+    }
+}
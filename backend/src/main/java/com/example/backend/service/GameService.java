@@ -1,39 +1,123 @@
 package com.example.backend.service;
 
+import com.example.backend.config.OutboundFramePolicy;
 import com.example.backend.model.*;
 import com.example.backend.dto.*;
-import com.example.backend.repository.mongo.GameDocument;
-import com.example.backend.repository.mongo.GameMongoRepository;
+import com.example.backend.repository.GameStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
 
 @Service
 public class GameService {
+    private static final Logger log = LoggerFactory.getLogger(GameService.class);
     private static final long RECONNECT_TIMEOUT_MS = 300_000; // 5 minutes for current player to reconnect
     private static final long HOST_INACTIVITY_TIMEOUT_MS = 3 * 60 * 60 * 1000L; // 3 hours for host when game has started
     /** Public lobby list: host must have had the lobby tab visible (presence ping) within this window */
     private static final long PUBLIC_LOBBY_HOST_PRESENCE_TTL_MS = 5 * 60 * 1000L;
+    /** Update broadcasts for the same game within this window are merged into one publish */
+    private static final long BROADCAST_COALESCE_WINDOW_MS = 15;
+    /**
+     * Threads publishing game updates. Building a response is CPU work and sending only queues the
+     * frame per session (see OutboundFramePolicy), so one thread per core keeps every core busy
+     * however many games are live.
+     */
+    private static final int BROADCAST_PUBLISHER_THREADS = Runtime.getRuntime().availableProcessors();
+    /** Threads answering parked long-poll requests once their game has changed */
+    private static final int LONG_POLL_RESPONDER_THREADS = Runtime.getRuntime().availableProcessors();
+    /**
+     * Changed games get a fresh snapshot in the game store this often, or sooner once a full batch is
+     * dirty; at most this many per bulk write
+     */
+    private static final long SNAPSHOT_INTERVAL_MS = 10_000;
+    private static final int SNAPSHOT_BATCH_SIZE = 100;
+    /** Journal events are group-committed this often, at most this many per insert */
+    private static final long JOURNAL_COMMIT_INTERVAL_MS = 100;
+    private static final int JOURNAL_BATCH_SIZE = 500;
+    /** Journal events kept for retrying while the game store is failing */
+    private static final int JOURNAL_MAX_PENDING = 100_000;
+    /** Games without state changes or player activity for this long are dropped from memory */
+    private static final long HIBERNATE_IDLE_MS = 15 * 60 * 1000L;
+    /**
+     * Ids found to have no game (removed, or never existed) are answered from memory for this long,
+     * for at most this many ids, instead of looking them up in the game store again
+     */
+    private static final long MISSING_GAME_TTL_MS = 60_000;
+    private static final int MAX_MISSING_GAMES = 10_000;
+    /** Persisted games are rebuilt on startup by this many threads */
+    private static final int RECOVERY_THREADS = 8;
+    /** Lines the AI tick repeats while nothing changes are logged at most this often per game */
+    private static final long AI_TICK_LOG_INTERVAL_MS = 10_000;
 
     private final Map<String, Game> games = new ConcurrentHashMap<>();
     private final Set<String> processingAITurns = ConcurrentHashMap.newKeySet(); // Track games currently processing AI
                                                                                  // turns
-    /** Last activity timestamp (gameId:playerId -> epoch ms) for disconnect/reconnect timeout */
-    private final Map<String, Long> lastActivityByGameAndPlayer = new ConcurrentHashMap<>();
+    /** Last activity per game (epoch ms, indexed by player handle) for disconnect/reconnect timeout */
+    private final Map<String, PlayerActivity> activityByGame = new ConcurrentHashMap<>();
+    /** Ids recently found to have no game, with the time they were found missing */
+    private final Map<String, Long> missingGames = new ConcurrentHashMap<>();
+    private final BroadcastCoalescer broadcastCoalescer =
+            new BroadcastCoalescer(BROADCAST_COALESCE_WINDOW_MS, this::publishGameUpdate, BROADCAST_PUBLISHER_THREADS);
+    /** Long-poll requests waiting for a game's state version to advance */
+    private final GameStateWatchers stateWatchers = new GameStateWatchers(LONG_POLL_RESPONDER_THREADS);
+    /** Games changed since their last snapshot was written to the game store */
+    private final GameWriteBehind writeBehind =
+            new GameWriteBehind(SNAPSHOT_INTERVAL_MS, SNAPSHOT_BATCH_SIZE, SNAPSHOT_BATCH_SIZE, this::persistGames);
+    /** Action journal: every committed change as a small event, replayed on top of the last snapshot */
+    private final GameJournal journal =
+            new GameJournal(JOURNAL_COMMIT_INTERVAL_MS, JOURNAL_BATCH_SIZE, JOURNAL_MAX_PENDING, this::appendEvents,
+                    this::deadLetterEvents);
+    private final LogSampler aiTickLog = new LogSampler(AI_TICK_LOG_INTERVAL_MS);
+    /** Ids of every game this instance knows of, live or hibernated; new games get one nobody holds */
+    private final GameIdAllocator gameIds = new GameIdAllocator();
+    /**
+     * Game this thread is rebuilding from its journal. It is registered only once the replay is
+     * done; until then its commands must not journal, schedule or broadcast again.
+     */
+    private final ThreadLocal<Game> replaying = new ThreadLocal<>();
+    /** Outcome of the startup recovery pass, for metrics */
+    private volatile long recoveryDurationMs;
+    private volatile int recoveredGameCount;
+    private volatile int discardedGameCount;
+    private volatile int failedGameCount;
+    private final AtomicLong hibernatedCount = new AtomicLong();
+    private final AtomicLong rehydratedCount = new AtomicLong();
+    private final AtomicLong reapedCount = new AtomicLong();
+
+    /** Finished games are removed this long after they ended */
+    @Value("${app.games.finished-ttl-ms:600000}")
+    private long finishedGameTtlMs;
+
+    /** Games whose state has not changed for this long are removed, even if a tab is still open */
+    @Value("${app.games.abandoned-ttl-ms:10800000}")
+    private long abandonedGameTtlMs;
 
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
     @Autowired
-    private GameMongoRepository gameMongoRepository;
+    private GameStore gameStore;
 
     @Autowired
     private EasyAIService easyAIService;
@@ -41,15 +125,138 @@ public class GameService {
     @Autowired
     private MediumAIService mediumAIService;
 
+    @Autowired
+    private HandArchiveService handArchive;
+
     /**
-     * On startup, remove all persisted games from the database.
-     * This ensures that when a new version of the application is published,
-     * stale games from previous versions are cleaned up.
+     * On startup, rebuild every persisted game (snapshot plus journal tail) in parallel and
+     * re-arm its pending deadlines. Games that were removed, or that nobody has touched for longer
+     * than any player could still reconnect, are deleted from the database instead. Games whose
+     * journal fails to replay are logged and left in the database untouched.
+     *
+     * Runs while the application context starts, so the server reports ready only once every game
+     * is back in memory.
      */
     @PostConstruct
-    public void clearGamesOnStartup() {
-        gameMongoRepository.deleteAll();
-        System.out.println("STARTUP: Cleared all persisted games from database");
+    public void recoverGamesOnStartup() {
+        long started = System.currentTimeMillis();
+        AtomicInteger recovered = new AtomicInteger();
+        AtomicInteger discarded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(RECOVERY_THREADS, r -> {
+            Thread t = new Thread(r, "game-recovery");
+            t.setDaemon(true);
+            return t;
+        });
+        try (Stream<Game> stored = gameStore.streamGames()) {
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+            stored.forEach(base -> pending.add(CompletableFuture.runAsync(GameLogContext.wrap(base.getId(), () -> {
+                switch (recoverGame(base, started)) {
+                    case RECOVERED -> recovered.incrementAndGet();
+                    case DISCARDED -> discarded.incrementAndGet();
+                    case FAILED -> failed.incrementAndGet();
+                }
+            }), workers)));
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        } finally {
+            workers.shutdown();
+        }
+        recoveryDurationMs = System.currentTimeMillis() - started;
+        recoveredGameCount = recovered.get();
+        discardedGameCount = discarded.get();
+        failedGameCount = failed.get();
+        log.info("STARTUP: Recovered {} games, discarded {}, failed {} in {}ms", recoveredGameCount,
+                discardedGameCount, failedGameCount, recoveryDurationMs);
+    }
+
+    private enum Recovery { RECOVERED, DISCARDED, FAILED }
+
+    /**
+     * Rebuild one persisted game. Removed or expired games are deleted instead; a game that fails
+     * to replay keeps its snapshot and journal, and its id stays taken.
+     */
+    private Recovery recoverGame(Game base, long now) {
+        String gameId = base.getId();
+        gameIds.register(gameId);
+        List<GameEvent> tail = gameStore.findEventsAfter(gameId, base.getStateVersion());
+        if (!endsWithRemoval(tail)) {
+            Game game;
+            try {
+                game = rebuildGame(base, tail);
+            } catch (RuntimeException e) {
+                log.error("STARTUP: Failed to replay game {} from version {}, leaving it in the game store", gameId,
+                        base.getStateVersion(), e);
+                return Recovery.FAILED;
+            }
+            if (now - game.getLastModifiedAt() <= HOST_INACTIVITY_TIMEOUT_MS) {
+                rearmDeadlines(game, now);
+                return Recovery.RECOVERED;
+            }
+            games.remove(gameId);
+        }
+        gameStore.deleteGame(gameId);
+        gameIds.release(gameId);
+        return Recovery.DISCARDED;
+    }
+
+    /**
+     * Schedule again what was pending for a recovered game when the previous instance stopped:
+     * the end of a countdown, the next round, continuing after a reveal. Deadlines are measured
+     * from the game's last change; ones already past fire right away. The current player gets a
+     * fresh reconnect window, since their heartbeats went to the previous instance.
+     */
+    private void rearmDeadlines(Game game, long now) {
+        String gameId = game.getId();
+        long elapsed = Math.max(0, now - game.getLastModifiedAt());
+        if (game.getState() == GameState.COUNTDOWN && game.getCountdownEndTime() != null) {
+            runLater(gameId, Math.max(0, game.getCountdownEndTime() - now), () -> doActualStart(gameId));
+        } else if (game.getState() == GameState.ROUND_ENDED && !game.hasGameWinner()) {
+            runLater(gameId, Math.max(0, 8000 - elapsed), () -> startNewRound(gameId));
+        } else if (game.isShowAllDice()) {
+            if (!game.isCanContinue()) {
+                runLater(gameId, Math.max(0, 7000 - elapsed), () -> {
+                    synchronized (game) {
+                        if (game.isShowAllDice() && !game.isCanContinue()) {
+                            game.setCanContinue(true);
+                            commit(game, GameEvent.Type.CONTINUE_ENABLED, null, null);
+                            broadcastGameUpdate(gameId);
+                        }
+                    }
+                });
+            }
+            runLater(gameId, Math.max(1000, 8000 - elapsed), () -> {
+                if (games.get(gameId) == game && game.isShowAllDice()) {
+                    continueGame(gameId);
+                }
+            });
+        }
+        Player current = game.getCurrentPlayer();
+        if (current != null && !current.isAI()) {
+            recordActivity(gameId, current.getId());
+        }
+    }
+
+    long recoveryDurationMs() {
+        return recoveryDurationMs;
+    }
+
+    int recoveredGameCount() {
+        return recoveredGameCount;
+    }
+
+    int discardedGameCount() {
+        return discardedGameCount;
+    }
+
+    int failedGameCount() {
+        return failedGameCount;
+    }
+
+    /** Write out pending game state before the application stops. */
+    @PreDestroy
+    public void flushPendingWrites() {
+        journal.shutdown();
+        writeBehind.shutdown();
     }
 
     private static final int MAX_PLAYERS = 8;
@@ -90,23 +297,33 @@ public class GameService {
             } else if (name.startsWith("AI ")) {
                 aiType = "EASY_AI";
             }
-            System.out.println("Creating player " + name + " with color " + color + " (AI: " + aiType + ")");
+            log.debug("Creating player {} with color {} (AI: {})", name, color, aiType);
             players.add(new Player(name, color, aiType));
         }
 
         Game game = new Game(players);
+        game.setId(allocateGameId());
 
-        // Roll initial dice for all players
-        for (Player player : game.getPlayers()) {
-            player.rollDice();
-        }
+        // Roll initial dice for all players and pick the opening dealer
+        RandomGenerator random = GameRandom.forGame(game);
+        game.rollAllDice(random);
+        game.chooseDealer(random);
 
+        game.publishSnapshot(); // Readers may see the game as soon as it is registered
         games.put(game.getId(), game);
-        gameMongoRepository.save(new GameDocument(game));
+        commit(game, GameEvent.Type.CREATED, null, null);
         return game;
     }
 
     public Game createGame(List<CreateGameRequest.PlayerInfo> playerInfos, boolean usePlayerInfo) {
+        return createGame(playerInfos, usePlayerInfo, null);
+    }
+
+    /**
+     * Create a game; with a seed, its dice, dealers and AI choices are drawn from that seed, so
+     * the same seed and the same moves replay the same game.
+     */
+    public Game createGame(List<CreateGameRequest.PlayerInfo> playerInfos, boolean usePlayerInfo, Long seed) {
         if (playerInfos == null || playerInfos.size() < 3) {
             throw new IllegalArgumentException("Game requires at least 3 players");
         }
@@ -119,318 +336,587 @@ public class GameService {
             CreateGameRequest.PlayerInfo info = playerInfos.get(i);
             validatePlayerName(info.getName());
             String color = COLOR_ORDER[i % COLOR_ORDER.length];
-            System.out.println("Creating player " + info.getName() + " with color " + color +
-                    " (AI: " + info.isAI() + ", type: " + info.getAiType() + ")");
+            log.debug("Creating player {} with color {} (AI: {})", info.getName(), color, info.getAiType());
             players.add(new Player(info.getName(), color, info.getAiType()));
         }
 
         Game game = new Game(players);
-        
-        // Roll initial dice for all players
-        for (Player player : game.getPlayers()) {
-            player.rollDice();
-        }
+        game.setId(allocateGameId());
+        game.setRandomSeed(seed);
 
+        // Roll initial dice for all players and pick the opening dealer
+        RandomGenerator random = GameRandom.forGame(game);
+        game.rollAllDice(random);
+        game.chooseDealer(random);
+
+        game.publishSnapshot();
         games.put(game.getId(), game);
-        gameMongoRepository.save(new GameDocument(game));
+        commit(game, GameEvent.Type.CREATED, null, null);
         return game;
     }
 
     public Game getGame(String gameId) {
-        Game game = games.get(gameId);
+        Game game = residentGame(gameId);
         if (game != null) {
             return game;
         }
 
-        return gameMongoRepository.findById(gameId)
-                .map(GameDocument::getGame)
-                .map(loaded -> {
-                    games.put(gameId, loaded);
-                    return loaded;
-                })
-                .orElseThrow(() -> new IllegalArgumentException("Game not found: " + gameId));
+        // Hibernated (or not yet seen by this instance): bring it back from the game store, unless it
+        // is known to be gone. A removal still waiting in the journal buffer counts as gone as well.
+        if (isKnownMissing(gameId) || journal.hasPendingRemoval(gameId)) {
+            throw new IllegalArgumentException("Game not found: " + gameId);
+        }
+        return rehydrateGame(gameId);
     }
 
-    public List<Game> getAllGames() {
-        List<Game> inMemory = new ArrayList<>(games.values());
-        if (!inMemory.isEmpty()) {
-            return inMemory;
+    private String allocateGameId() {
+        String gameId = gameIds.allocate();
+        missingGames.remove(gameId);
+        return gameId;
+    }
+
+    private boolean isKnownMissing(String gameId) {
+        Long since = missingGames.get(gameId);
+        if (since == null) {
+            return false;
         }
-        return gameMongoRepository.findAll().stream()
-                .map(GameDocument::getGame)
-                .toList();
+        if (System.currentTimeMillis() - since < MISSING_GAME_TTL_MS) {
+            return true;
+        }
+        missingGames.remove(gameId, since);
+        return false;
     }
 
-    public void startNewRound(String gameId) {
-        Game game = getGame(gameId);
-        System.out.println("🔄 NEW_ROUND: startNewRound called for game " + gameId + " at " + System.currentTimeMillis()
-                + ", showAllDice=" + (game != null ? game.isShowAllDice() : "null"));
-        
-        // Game may have been removed (e.g. last players left)
-        if (game == null) {
-            System.out.println("NEW_ROUND: Game " + gameId + " no longer exists, skipping");
+    private void rememberMissing(String gameId) {
+        if (missingGames.size() < MAX_MISSING_GAMES) {
+            missingGames.put(gameId, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Drop games nobody has touched for HIBERNATE_IDLE_MS from memory, after writing their
+     * current snapshot. Finished games and abandoned lobbies no longer stay on the heap; the next
+     * {@link #getGame} brings a game back transparently.
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void hibernateIdleGames() {
+        long now = System.currentTimeMillis();
+        missingGames.values().removeIf(since -> now - since >= MISSING_GAME_TTL_MS);
+        for (Game game : new ArrayList<>(games.values())) {
+            String gameId = game.getId();
+            // Heartbeats only touch the activity tracking, so count them as use of the game too
+            PlayerActivity activity = activityByGame.get(gameId);
+            long lastTouched = Math.max(game.getLastModifiedAt(), activity != null ? activity.latest() : 0);
+            Long presence = game.getLastHostLobbyPresenceAt();
+            if (presence != null) {
+                lastTouched = Math.max(lastTouched, presence);
+            }
+            if (now - lastTouched < HIBERNATE_IDLE_MS || processingAITurns.contains(gameId)) {
+                continue;
+            }
+            try {
+                hibernate(game);
+            } catch (Exception e) {
+                log.warn("HIBERNATE: Failed to hibernate game {}: {}", gameId, e.getMessage());
+            }
+        }
+    }
+
+    private void hibernate(Game game) {
+        String gameId = game.getId();
+        GameSnapshot snapshot = game.getSnapshot();
+        gameStore.saveGames(List.of(snapshot.toGame()));
+        if (!games.remove(gameId, game)) {
             return;
         }
+        writeBehind.discard(gameId);
+        forgetGame(gameId);
+        GameSnapshot latest = game.getSnapshot();
+        if (latest.getStateVersion() != snapshot.getStateVersion()) {
+            // Changed while being written out; its journal events cover the difference, but save it too
+            gameStore.saveGames(List.of(latest.toGame()));
+        }
+        hibernatedCount.incrementAndGet();
+        log.info("HIBERNATE: Game {} idle, dropped from memory at version {}", gameId, latest.getStateVersion());
+    }
+
+    int residentGameCount() {
+        return games.size();
+    }
+
+    long hibernatedCount() {
+        return hibernatedCount.get();
+    }
+
+    long rehydratedCount() {
+        return rehydratedCount.get();
+    }
+
+    /**
+     * Rebuild a game that is not in memory from its last snapshot plus the journal events after
+     * it, register it and re-arm its deadlines like startup recovery does. Fails if the game is
+     * not stored or its journal ends with its removal.
+     */
+    private Game rehydrateGame(String gameId) {
+        Game base = gameStore.findGame(gameId).orElse(null);
+        List<GameEvent> tail = base != null ? gameStore.findEventsAfter(gameId, base.getStateVersion()) : List.of();
+        if (base == null || endsWithRemoval(tail)) {
+            rememberMissing(gameId);
+            throw new IllegalArgumentException("Game not found: " + gameId);
+        }
+        gameIds.register(gameId);
+        Game game = rebuildGame(base, tail);
+        if (game == base) { // Not when another thread rebuilt it first
+            rearmDeadlines(game, System.currentTimeMillis());
+            rehydratedCount.incrementAndGet();
+        }
+        return game;
+    }
+
+    /**
+     * Replay the journal tail onto the snapshot and register the result. A replay failure is an
+     * IllegalStateException, never mistaken for the game not existing.
+     */
+    private Game rebuildGame(Game base, List<GameEvent> tail) {
+        String gameId = base.getId();
+        // Nobody else sees the game until it is fully replayed
+        try {
+            replay(base, tail);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Failed to replay game " + gameId, e);
+        }
+        Game existing = games.putIfAbsent(gameId, base);
+        return existing != null ? existing : base; // Someone else may have rebuilt it first
+    }
+
+    private static boolean endsWithRemoval(List<GameEvent> tail) {
+        return !tail.isEmpty() && tail.get(tail.size() - 1).getType() == GameEvent.Type.REMOVED;
+    }
 
-        if (game.hasGameWinner()) {
-            System.out.println("Game already has winner, not starting new round");
-            return; // Don't start new round if game is over
+    /**
+     * Apply journal events to a game that is not registered yet by running the same commands
+     * again. Random outcomes (dice, dealer, starting player, ids) are taken from the events, and
+     * delayed follow-ups and broadcasts are skipped since their own events are in the journal as
+     * well and no client has seen this copy of the game.
+     */
+    private void replay(Game game, List<GameEvent> events) {
+        String gameId = game.getId();
+        replaying.set(game);
+        try {
+            for (GameEvent event : events) {
+                applyEvent(game, event);
+                game.setStateVersion(event.getSeq());
+                game.setLastModifiedAt(event.getTimestamp());
+            }
+        } finally {
+            replaying.remove();
         }
+        game.publishSnapshot();
+        if (!events.isEmpty()) {
+            log.info("REPLAY: Rebuilt game {} from snapshot + {} events, version {}", gameId, events.size(),
+                    game.getStateVersion());
+        }
+    }
 
-        System.out.println("Starting new round " + (game.getRoundNumber() + 1) + " for game " + gameId);
+    /** Registered game with the given id, or the one this thread is replaying */
+    private Game residentGame(String gameId) {
+        Game game = replaying.get();
+        return game != null && game.getId().equals(gameId) ? game : games.get(gameId);
+    }
 
-        // Round reset: bring everyone back. Elimination is per-round only.
-        game.getEliminatedPlayers().clear();
+    private boolean isReplaying(String gameId) {
+        Game game = replaying.get();
+        return game != null && game.getId().equals(gameId);
+    }
+
+    private void applyEvent(Game game, GameEvent event) {
+        String gameId = game.getId();
+        switch (event.getType()) {
+            case CREATED, REMOVED -> {
+                // Creation is covered by the snapshot, a removed game is never rebuilt
+            }
+            case JOINED -> joinGame(gameId, event.getString("name"), event.getPlayerId());
+            case PLAYER_REMOVED -> removePlayer(gameId, event.getPlayerId());
+            case COUNTDOWN_STARTED -> {
+                startMultiplayerGame(gameId);
+                game.setCountdownEndTime(event.getLong("countdownEndTime"));
+            }
+            case STARTED -> {
+                doActualStart(gameId);
+                applyDice(game, event);
+                game.setDealerIndex(event.getInt("dealerIndex"));
+                game.setCurrentPlayerIndex(event.getInt("dealerIndex"));
+            }
+            case RAISE -> processBid(gameId, event.getPlayerId(), event.getInt("quantity"), event.getInt("faceValue"));
+            case DOUBT -> processDoubt(gameId, event.getPlayerId());
+            case SPOT_ON -> processSpotOn(gameId, event.getPlayerId());
+            case CONTINUE_ENABLED -> game.setCanContinue(true);
+            case CONTINUED -> {
+                continueGame(gameId);
+                applyDice(game, event);
+            }
+            case ROUND_STARTED -> {
+                startNewRound(gameId);
+                applyDice(game, event);
+                game.setCurrentPlayerIndex(event.getInt("currentPlayerIndex"));
+            }
+            case PLAYER_CONTINUED -> playerContinue(gameId, event.getPlayerId());
+            case LEFT -> leaveGame(gameId, event.getPlayerId());
+            case CHAT -> {
+                Player sender = game.getPlayer(event.getPlayerId());
+                com.example.backend.model.ChatMessage msg = new com.example.backend.model.ChatMessage(
+                        event.getPlayerId(), sender != null ? sender.getName() : "", event.getString("text"));
+                msg.setId(event.getString("messageId"));
+                msg.setTimestamp(event.getLong("timestamp"));
+                game.getChatMessages().append(msg);
+            }
+        }
+    }
+
+    /** Dice of every player, as recorded in events of commands that roll */
+    private static Map<String, List<Integer>> diceOf(Game game) {
+        Map<String, List<Integer>> dice = new LinkedHashMap<>();
         for (Player player : game.getPlayers()) {
-            player.reset();
-            player.rollDice();
+            dice.put(player.getId(), player.getDice().toList());
+        }
+        return dice;
+    }
+
+    /**
+     * How a doubt or spot-on turned out, journaled for the replay stream only: replaying the
+     * command recomputes all of it.
+     */
+    private static Map<String, Object> handOutcome(Game game) {
+        Map<String, Object> outcome = new LinkedHashMap<>();
+        outcome.put("bidPlayerId", game.getLastBidPlayerId());
+        outcome.put("bidQuantity", game.getLastBidQuantity());
+        outcome.put("bidFaceValue", game.getLastBidFaceValue());
+        outcome.put("actualCount", game.getLastActualCount());
+        outcome.put("eliminatedPlayerId", game.getLastEliminatedPlayerId());
+        outcome.put("state", game.getState().name());
+        if (game.getPreviousRoundPlayers() != null) {
+            // The dice revealed by the call
+            Map<String, List<Integer>> dice = new LinkedHashMap<>();
+            for (Player player : game.getPreviousRoundPlayers()) {
+                dice.put(player.getId(), player.getDice().toList());
+            }
+            outcome.put("dice", dice);
         }
+        outcome.values().removeIf(Objects::isNull);
+        return outcome;
+    }
 
-        // Randomize starting player from all players
-        if (!game.getPlayers().isEmpty()) {
-            Player randomPlayer = game.getPlayers().get((int) (Math.random() * game.getPlayers().size()));
-            game.setCurrentPlayerIndex(game.getPlayers().indexOf(randomPlayer));
+    private static void applyDice(Game game, GameEvent event) {
+        Map<?, ?> dice = (Map<?, ?>) event.getData().get("dice");
+        for (Player player : game.getPlayers()) {
+            Object rolled = dice.get(player.getId());
+            if (rolled instanceof List<?> values) {
+                int[] faces = new int[values.size()];
+                for (int i = 0; i < faces.length; i++) {
+                    faces[i] = ((Number) values.get(i)).intValue();
+                }
+                game.setPlayerDice(player, Dice.of(faces));
+            }
         }
-        game.setCurrentBid(null);
-        game.setPreviousBid(null);
-        game.setWinner(null);
-        game.setState(GameState.IN_PROGRESS);
-        game.setRoundNumber(game.getRoundNumber() + 1);
-        game.setTwoPlayerRoundStartIndex(null);
-        game.setShowAllDice(false);
-        game.clearCurrentHandBidHistory();
+    }
 
-        Player newCurrent = game.getCurrentPlayer();
-        if (newCurrent != null) recordActivity(gameId, newCurrent.getId());
-        System.out.println("New round started. State: " + game.getState() + ", Current player: "
-                + (newCurrent != null ? newCurrent.getName() : "none"));
+    /**
+     * Whether the game is still being played, i.e. its current dice are secret; null if the game
+     * is neither in memory nor in the game store.
+     */
+    public Boolean isGameInPlay(String gameId) {
+        Game game = games.get(gameId);
+        if (game == null && !isKnownMissing(gameId)) {
+            game = gameStore.findGame(gameId).orElse(null);
+            if (game == null) {
+                rememberMissing(gameId);
+            }
+        }
+        return game != null ? game.getState() != GameState.GAME_ENDED : null;
     }
 
-    // Use GameRules for bid validation and dice counting
+    /**
+     * Recorded history of a game, oldest event first, read lazily from the game store. Events
+     * still buffered in the journal are written out first, so a game in progress replays up to
+     * its latest action. The stream must be closed.
+     */
+    public Stream<GameEvent> streamHistory(String gameId) {
+        journal.flush();
+        return gameStore.streamEvents(gameId);
+    }
 
-    public GameResult processDoubt(String gameId, String doubtingPlayerId) {
-        recordActivity(gameId, doubtingPlayerId);
-        Game game = getGame(gameId);
-        // Verify the doubting player is an active (non-eliminated) member of this game
-        boolean isActivePlayer = game.getActivePlayers().stream()
-                .anyMatch(p -> p.getId().equals(doubtingPlayerId));
-        if (!isActivePlayer) {
-            throw new IllegalArgumentException("Player is not an active participant in this game");
+    public List<Game> getAllGames() {
+        List<Game> inMemory = new ArrayList<>(games.values());
+        if (!inMemory.isEmpty()) {
+            return inMemory;
         }
-        Bid currentBid = game.getCurrentBid();
-        
-        if (currentBid == null) {
-            throw new IllegalStateException("No current bid to doubt");
+        try (Stream<Game> stored = gameStore.streamGames()) {
+            return stored.toList();
         }
+    }
 
-        List<Player> activePlayers = game.getActivePlayers();
-        // No wild cards - only count exact face value matches
-        int actualCount = com.example.backend.model.GameRules.countDiceWithValue(activePlayers,
-                currentBid.getFaceValue(), false);
-        
-        System.out.println("DOUBT: Player " + doubtingPlayerId + " doubted " +
-                currentBid.getQuantity() + " " + currentBid.getFaceValue() + "s. " +
-                "Actual count: " + actualCount);
-
-        String eliminatedPlayerId;
-        if (actualCount >= currentBid.getQuantity()) {
-            // Bid was accurate or understated - doubter is eliminated
-            eliminatedPlayerId = doubtingPlayerId;
-        } else {
-            // Bid was overstated - bidder is eliminated
-            eliminatedPlayerId = currentBid.getPlayerId();
-        }
-
-        // Store previous round players before rerolling (deep copy) - only active
-        // players
-        List<Player> previousPlayers = new ArrayList<>();
-        for (Player player : activePlayers) {
-            Player copy = new Player(player.getName());
-            copy.setId(player.getId());
-            copy.setDice(new ArrayList<>(player.getDice())); // Copy dice values
-            copy.setEliminated(player.isEliminated());
-            copy.setWinTokens(player.getWinTokens());
-            copy.setColor(player.getColor()); // Copy color so it's available even if player leaves
-            copy.setAiType(player.getAiType()); // Copy aiType for completeness
-            previousPlayers.add(copy);
-        }
-        game.setPreviousRoundPlayers(previousPlayers);
-
-        // Store result data
-        game.setLastActualCount(actualCount);
-        game.setLastBidQuantity(currentBid.getQuantity());
-        game.setLastBidFaceValue(currentBid.getFaceValue());
-        game.setLastBidPlayerId(currentBid.getPlayerId());
-        game.setLastEliminatedPlayerId(eliminatedPlayerId);
-        game.setLastActionPlayerId(doubtingPlayerId);
-        game.setLastActionType(BidType.DOUBT);
-
-        // Add the DOUBT action to current hand history
-        Bid doubtAction = new Bid(doubtingPlayerId, 0, 0, BidType.DOUBT);
-        game.addBidToCurrentHand(doubtAction);
-        System.out.println("📝 Added DOUBT action to history. Current hand history size: "
-                + game.getCurrentHandBidHistory().size());
-
-        // Show all dice for 15 seconds
-        System.out
-                .println("🎲 DOUBT: Setting showAllDice=true for game " + gameId + " at " + System.currentTimeMillis());
-        game.setShowAllDice(true);
-        game.setCanContinue(false); // Disable continue button initially
-        broadcastGameUpdate(gameId); // Broadcast dice reveal
-        System.out.println("🎲 DOUBT: Broadcasted game update with showAllDice=true for game " + gameId);
-
-        // Eliminate the player
-        game.eliminatePlayer(eliminatedPlayerId);
-
-        // Reset the current bid after elimination
-        game.setCurrentBid(null);
-
-        // After elimination, the turn should start with the dealer or next
-        // non-eliminated player after dealer
-        int dealerIndex = game.getDealerIndex();
-        int attempts = 0;
-        int nextIndex = dealerIndex;
-
-        // Find the next non-eliminated player starting from the dealer
-        while (game.getEliminatedPlayers().contains(game.getPlayers().get(nextIndex).getId())
-                && attempts < game.getPlayers().size()) {
-            nextIndex = (nextIndex + 1) % game.getPlayers().size();
-            attempts++;
-        }
-        game.setCurrentPlayerIndex(nextIndex);
-
-        // If elimination resulted in 2 active players, set the start index for the
-        // 2-player phase
-        List<Player> activeAfterElimination = game.getActivePlayers();
-        if (activeAfterElimination.size() == 2 && game.getTwoPlayerRoundStartIndex() == null) {
-            // If eliminated player had the dealer button, the next non-eliminated after
-            // them starts
-            int startIndex;
-            int eliminatedIndex = -1;
-            for (int i = 0; i < game.getPlayers().size(); i++) {
-                if (game.getPlayers().get(i).getId().equals(eliminatedPlayerId)) {
-                    eliminatedIndex = i;
-                    break;
+    /**
+     * Called after every state-changing operation on a game: bumps its state version, publishes
+     * the new immutable snapshot for readers, journals the change, and wakes long-poll requests
+     * waiting for a newer version.
+     *
+     * @param type     journal event type of the command
+     * @param playerId player that issued the command, if any
+     * @param data     command inputs and random outcomes needed to replay it, or null
+     */
+    private void commit(Game game, GameEvent.Type type, String playerId, Map<String, Object> data) {
+        game.markModified();
+        GameSnapshot snapshot = game.publishSnapshot();
+        if (!isReplaying(game.getId())) {
+            journal.append(new GameEvent(game.getId(), snapshot.getStateVersion(), type, playerId, data,
+                    System.currentTimeMillis()));
+            if (type == GameEvent.Type.DOUBT || type == GameEvent.Type.SPOT_ON) {
+                HandRecord hand = HandRecord.of(snapshot);
+                if (hand != null) {
+                    handArchive.record(hand);
                 }
             }
-            if (eliminatedIndex == game.getDealerIndex()) {
-                // Find next non-eliminated player after the eliminated dealer
-                int idx = (eliminatedIndex + 1) % game.getPlayers().size();
-                int attempts2 = 0;
-                while (game.getEliminatedPlayers().contains(game.getPlayers().get(idx).getId())
-                        && attempts2 < game.getPlayers().size()) {
-                    idx = (idx + 1) % game.getPlayers().size();
-                    attempts2++;
-                }
-                startIndex = idx;
-            } else {
-                // Otherwise, keep the current player as the one to start the 2-player phase
-                startIndex = game.getCurrentPlayerIndex();
+        }
+        writeBehind.markDirty(game.getId());
+        stateWatchers.notifyChanged(game.getId(), snapshot.getStateVersion());
+    }
+
+    /** Remove a game from the registry and release anything waiting on it. */
+    private void removeGame(String gameId) {
+        Game removed = games.remove(gameId);
+        if (removed != null && !isReplaying(gameId)) {
+            // Journal the removal so the game is never rebuilt from its last snapshot
+            journal.append(new GameEvent(gameId, removed.markModified(), GameEvent.Type.REMOVED, null, null,
+                    System.currentTimeMillis()));
+            rememberMissing(gameId);
+        }
+        writeBehind.discard(gameId);
+        stateWatchers.notifyRemoved(gameId);
+        forgetGame(gameId);
+    }
+
+    /** Drop per-game state kept outside the game itself. */
+    private void forgetGame(String gameId) {
+        activityByGame.remove(gameId);
+        processingAITurns.remove(gameId);
+        aiTickLog.forget(gameId);
+        easyAIService.forgetGame(gameId);
+        mediumAIService.forgetGame(gameId);
+    }
+
+    /**
+     * Remove finished games once their TTL has passed, and games whose state has not changed for
+     * longer than the abandoned TTL. Hibernated games are not seen here; their documents expire
+     * through the TTL index of the game store.
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void reapExpiredGames() {
+        long now = System.currentTimeMillis();
+        for (Game game : new ArrayList<>(games.values())) {
+            String gameId = game.getId();
+            long idle = now - game.getLastModifiedAt();
+            boolean finished = game.getState() == GameState.GAME_ENDED;
+            if (idle < (finished ? finishedGameTtlMs : abandonedGameTtlMs)) {
+                continue;
+            }
+            if (!finished) {
+                sendGameEvent(gameId, new WebSocketMessage("GAME_CANCELLED", null, gameId, null));
             }
-            game.setTwoPlayerRoundStartIndex(startIndex);
+            removeGame(gameId);
+            reapedCount.incrementAndGet();
+            log.info("REAPER: Removed {} game {} after {}s without changes", finished ? "finished" : "abandoned",
+                    gameId, idle / 1000);
         }
+    }
 
-        // If one player left, they win the round; finish round and schedule next. Otherwise enable continue.
-        if (activeAfterElimination.size() == 1) {
-            Player roundWinner = activeAfterElimination.get(0);
-            finishRoundWithOneWinner(game, gameId, roundWinner);
-        } else {
-            scheduleEnableContinue(gameId);
+    long reapedCount() {
+        return reapedCount.get();
+    }
+
+    /**
+     * Run a delayed follow-up of a command (next round, continue, countdown end). Skipped while
+     * the game is replayed: the follow-up's own event comes later in the journal.
+     */
+    private void runLater(String gameId, long delayMs, Runnable task) {
+        if (isReplaying(gameId)) {
+            return;
         }
+        Runnable inContext = GameLogContext.wrap(gameId, task);
+        new java.util.Timer().schedule(new java.util.TimerTask() {
+            @Override
+            public void run() {
+                inContext.run();
+            }
+        }, delayMs);
+    }
 
-        return new GameResult(game, eliminatedPlayerId, actualCount, currentBid.getQuantity());
+    /**
+     * Snapshot writer: save the given games in one bulk call. The state written is the published
+     * snapshot, so it always matches the state version the journal tail is replayed from.
+     */
+    private void persistGames(List<String> gameIds) {
+        List<Game> snapshots = new ArrayList<>(gameIds.size());
+        for (String gameId : gameIds) {
+            Game game = games.get(gameId);
+            if (game != null) {
+                snapshots.add(game.getSnapshot().toGame());
+            }
+        }
+        if (!snapshots.isEmpty()) {
+            for (String gameId : gameStore.saveGames(snapshots)) {
+                evictSuperseded(gameId);
+            }
+        }
     }
 
-    public GameResult processSpotOn(String gameId, String spotOnPlayerId) {
-        recordActivity(gameId, spotOnPlayerId);
-        Game game = getGame(gameId);
-        // Verify the player is an active (non-eliminated) member of this game
-        boolean isActivePlayer = game.getActivePlayers().stream()
-                .anyMatch(p -> p.getId().equals(spotOnPlayerId));
-        if (!isActivePlayer) {
-            throw new IllegalArgumentException("Player is not an active participant in this game");
+    /**
+     * Another instance wrote this game since we last read or wrote it. Drop the local copy instead
+     * of writing over it; the next access rehydrates the stored state.
+     */
+    private void evictSuperseded(String gameId) {
+        if (games.remove(gameId) != null) {
+            writeBehind.discard(gameId);
+            forgetGame(gameId);
+            log.info("CONFLICT: Game {} was written by another instance, reloading on next access", gameId);
         }
-        Bid currentBid = game.getCurrentBid();
-        
-        if (currentBid == null) {
-            throw new IllegalStateException("No current bid to call spot on");
+    }
+
+
+    /** Journal writer: append a group of events in one bulk call. */
+    private void appendEvents(List<GameEvent> events) {
+        for (String gameId : gameStore.appendEvents(events)) {
+            evictSuperseded(gameId);
         }
+    }
 
-        List<Player> activePlayers = game.getActivePlayers();
-        // No wild cards - only count exact face value matches
-        int actualCount = com.example.backend.model.GameRules.countDiceWithValue(activePlayers,
-                currentBid.getFaceValue(), false);
-        
-        System.out.println("SPOT ON: Player " + spotOnPlayerId + " called spot on for " +
-                currentBid.getQuantity() + " " + currentBid.getFaceValue() + "s. " +
-                "Actual count: " + actualCount);
+    /**
+     * Journal events that could not be written. Their games get a snapshot write instead, which
+     * carries the effect of the events, so replays start after them.
+     */
+    private void deadLetterEvents(List<GameEvent> events) {
+        for (GameEvent event : events) {
+            log.error("JOURNAL: Dropped event {} {} of game {}", event.getSeq(), event.getType(), event.getGameId());
+        }
+        events.stream()
+                .map(GameEvent::getGameId)
+                .distinct()
+                .filter(games::containsKey)
+                .forEach(writeBehind::markDirty);
+    }
 
-        if (actualCount == currentBid.getQuantity()) {
-            // Store previous round players before rerolling (deep copy) - only active
-            // players
-            List<Player> previousPlayers = new ArrayList<>();
-            for (Player player : activePlayers) {
-                Player copy = new Player(player.getName());
-                copy.setId(player.getId());
-                copy.setDice(new ArrayList<>(player.getDice())); // Copy dice values
-                copy.setEliminated(player.isEliminated());
-                copy.setWinTokens(player.getWinTokens());
-                copy.setColor(player.getColor()); // Copy color so it's available even if player leaves
-                copy.setAiType(player.getAiType()); // Copy aiType for completeness
-                previousPlayers.add(copy);
+    GameWriteBehind writeBehind() {
+        return writeBehind;
+    }
+
+    HandArchiveService handArchive() {
+        return handArchive;
+    }
+
+    GameJournal journal() {
+        return journal;
+    }
+
+    GameIdAllocator gameIds() {
+        return gameIds;
+    }
+
+    /**
+     * Register a callback for the first committed change after {@code sinceVersion}, or for the
+     * removal of the game. Fires immediately if the game is already newer. The callback runs on
+     * a responder thread, never on the thread committing the change.
+     *
+     * @return a handle that cancels the registration
+     */
+    public Runnable onStateChange(String gameId, long sinceVersion, Runnable callback) {
+        Game game = getGame(gameId);
+        return stateWatchers.watch(gameId, sinceVersion, () -> game.getSnapshot().getStateVersion(), callback);
+    }
+
+    public void startNewRound(String gameId) {
+        Game game = getGame(gameId);
+        // Game may have been removed (e.g. last players left)
+        if (game == null) {
+            log.debug("NEW_ROUND: Game {} no longer exists, skipping", gameId);
+            return;
+        }
+
+        synchronized (game) {
+            if (game.hasGameWinner()) {
+                log.debug("NEW_ROUND: Game {} already has a winner, not starting a new round", gameId);
+                return; // Don't start new round if game is over
             }
-            game.setPreviousRoundPlayers(previousPlayers);
 
-            // Store result data
-            game.setLastActualCount(actualCount);
-            game.setLastBidQuantity(currentBid.getQuantity());
-            game.setLastBidFaceValue(currentBid.getFaceValue());
-            game.setLastBidPlayerId(currentBid.getPlayerId());
-            game.setLastEliminatedPlayerId(null); // No elimination for correct spot-on
-            game.setLastActionPlayerId(spotOnPlayerId);
-            game.setLastActionType(BidType.SPOT_ON);
+            log.debug("NEW_ROUND: Starting round {} of game {}", game.getRoundNumber() + 1, gameId);
 
-            // Add the SPOT_ON action to current hand history
-            Bid spotOnAction = new Bid(spotOnPlayerId, 0, 0, BidType.SPOT_ON);
-            game.addBidToCurrentHand(spotOnAction);
-            System.out.println("📝 Added SPOT_ON (correct) action to history. Current hand history size: "
-                    + game.getCurrentHandBidHistory().size());
+            // Round reset: bring everyone back. Elimination is per-round only.
+            RandomGenerator random = GameRandom.forGame(game);
+            for (Player player : game.getPlayers()) {
+                game.resetPlayer(player);
+            }
+            game.rollAllDice(random);
 
-            // Show all dice for 15 seconds
-            System.out.println("🎲 SPOT_ON_CORRECT: Setting showAllDice=true for game " + gameId + " at "
-                    + System.currentTimeMillis());
-            game.setShowAllDice(true);
-            game.setCanContinue(false); // Disable continue button initially
-            broadcastGameUpdate(gameId); // Broadcast dice reveal
-            System.out.println("🎲 SPOT_ON_CORRECT: Broadcasted game update with showAllDice=true for game " + gameId);
-            
-            // Spot on is correct - round resets with same players
-            // Reset the current bid
+            // Randomize starting player from all players
+            if (!game.getPlayers().isEmpty()) {
+                game.setCurrentPlayerIndex(random.nextInt(game.getPlayers().size()));
+            }
             game.setCurrentBid(null);
+            game.setPreviousBid(null);
+            game.setWinner(null);
+            game.setState(GameState.IN_PROGRESS);
+            game.setRoundNumber(game.getRoundNumber() + 1);
+            game.setTwoPlayerRoundStartIndex(null);
+            game.setShowAllDice(false);
+            game.clearCurrentHandBidHistory();
+
+            commit(game, GameEvent.Type.ROUND_STARTED, null,
+                    Map.of("dice", diceOf(game), "currentPlayerIndex", game.getCurrentPlayerIndex()));
+
+            Player newCurrent = game.getCurrentPlayer();
+            if (newCurrent != null) recordActivity(gameId, newCurrent.getId());
+            log.debug("NEW_ROUND: Round started, current player {}", newCurrent != null ? newCurrent.getName() : "none");
+        }
+    }
+
+    // Use GameRules for bid validation and dice counting
+
+    public GameResult processDoubt(String gameId, String doubtingPlayerId) {
+        recordActivity(gameId, doubtingPlayerId);
+        Game game = getGame(gameId);
+        synchronized (game) {
+            // Verify the doubting player is an active (non-eliminated) member of this game
+            int seat = game.seatOf(doubtingPlayerId);
+            if (seat < 0 || game.isSeatEliminated(seat)) {
+                throw new IllegalArgumentException("Player is not an active participant in this game");
+            }
+            Bid currentBid = game.getCurrentBid();
+        
+            if (currentBid == null) {
+                throw new IllegalStateException("No current bid to doubt");
+            }
 
-            // After a correct spot-on, start with the dealer
-            int dealerIndex = game.getDealerIndex();
-            int attempts = 0;
-            int nextIndex = dealerIndex;
+            List<Player> activePlayers = game.getActivePlayers();
+            // No wild cards - only count exact face value matches
+            int actualCount = game.countDice(currentBid.getFaceValue());
+        
+            log.debug("DOUBT: Player {} doubted {} {}s, actual count {}", doubtingPlayerId, currentBid.getQuantity(),
+                    currentBid.getFaceValue(), actualCount);
 
-            // Find the next non-eliminated player starting from the dealer
-            while (game.getEliminatedPlayers().contains(game.getPlayers().get(nextIndex).getId())
-                    && attempts < game.getPlayers().size()) {
-                nextIndex = (nextIndex + 1) % game.getPlayers().size();
-                attempts++;
+            String eliminatedPlayerId;
+            if (actualCount >= currentBid.getQuantity()) {
+                // Bid was accurate or understated - doubter is eliminated
+                eliminatedPlayerId = doubtingPlayerId;
+            } else {
+                // Bid was overstated - bidder is eliminated
+                eliminatedPlayerId = currentBid.getPlayerId();
             }
-            game.setCurrentPlayerIndex(nextIndex);
 
-            // Schedule to enable continue button after 15 seconds
-            scheduleEnableContinue(gameId);
-        } else {
             // Store previous round players before rerolling (deep copy) - only active
             // players
             List<Player> previousPlayers = new ArrayList<>();
             for (Player player : activePlayers) {
                 Player copy = new Player(player.getName());
                 copy.setId(player.getId());
-                copy.setDice(new ArrayList<>(player.getDice())); // Copy dice values
+                copy.setDice(player.getDice()); // Immutable, shared safely
                 copy.setEliminated(player.isEliminated());
                 copy.setWinTokens(player.getWinTokens());
                 copy.setColor(player.getColor()); // Copy color so it's available even if player leaves
@@ -444,66 +930,40 @@ public class GameService {
             game.setLastBidQuantity(currentBid.getQuantity());
             game.setLastBidFaceValue(currentBid.getFaceValue());
             game.setLastBidPlayerId(currentBid.getPlayerId());
-            game.setLastEliminatedPlayerId(spotOnPlayerId);
-            game.setLastActionPlayerId(spotOnPlayerId);
-            game.setLastActionType(BidType.SPOT_ON);
+            game.setLastEliminatedPlayerId(eliminatedPlayerId);
+            game.setLastActionPlayerId(doubtingPlayerId);
+            game.setLastActionType(BidType.DOUBT);
 
-            // Add the SPOT_ON action to current hand history
-            Bid spotOnAction = new Bid(spotOnPlayerId, 0, 0, BidType.SPOT_ON);
-            game.addBidToCurrentHand(spotOnAction);
-            System.out.println("📝 Added SPOT_ON (wrong) action to history. Current hand history size: "
-                    + game.getCurrentHandBidHistory().size());
+            // Add the DOUBT action to current hand history
+            Bid doubtAction = Bid.doubt(doubtingPlayerId);
+            game.addBidToCurrentHand(doubtAction);
 
             // Show all dice for 15 seconds
-            System.out.println("🎲 SPOT_ON_WRONG: Setting showAllDice=true for game " + gameId + " at "
-                    + System.currentTimeMillis());
             game.setShowAllDice(true);
             game.setCanContinue(false); // Disable continue button initially
             broadcastGameUpdate(gameId); // Broadcast dice reveal
-            System.out.println("🎲 SPOT_ON_WRONG: Broadcasted game update with showAllDice=true for game " + gameId);
 
-            // Spot on is wrong - spot on player is eliminated
-            game.eliminatePlayer(spotOnPlayerId);
+            // Eliminate the player
+            game.eliminatePlayer(eliminatedPlayerId);
 
             // Reset the current bid after elimination
             game.setCurrentBid(null);
 
             // After elimination, the turn should start with the dealer or next
             // non-eliminated player after dealer
-            int dealerIndex = game.getDealerIndex();
-            int attempts = 0;
-            int nextIndex = dealerIndex;
-
-            // Find the next non-eliminated player starting from the dealer
-            while (game.getEliminatedPlayers().contains(game.getPlayers().get(nextIndex).getId())
-                    && attempts < game.getPlayers().size()) {
-                nextIndex = (nextIndex + 1) % game.getPlayers().size();
-                attempts++;
-            }
-            game.setCurrentPlayerIndex(nextIndex);
+            game.setCurrentPlayerIndex(game.activeSeatFrom(game.getDealerIndex()));
 
             // If elimination resulted in 2 active players, set the start index for the
             // 2-player phase
             List<Player> activeAfterElimination = game.getActivePlayers();
             if (activeAfterElimination.size() == 2 && game.getTwoPlayerRoundStartIndex() == null) {
+                // If eliminated player had the dealer button, the next non-eliminated after
+                // them starts
                 int startIndex;
-                int eliminatedIndex = -1;
-                for (int i = 0; i < game.getPlayers().size(); i++) {
-                    if (game.getPlayers().get(i).getId().equals(spotOnPlayerId)) {
-                        eliminatedIndex = i;
-                        break;
-                    }
-                }
+                int eliminatedIndex = game.seatOf(eliminatedPlayerId);
                 if (eliminatedIndex == game.getDealerIndex()) {
                     // Find next non-eliminated player after the eliminated dealer
-                    int idx = (eliminatedIndex + 1) % game.getPlayers().size();
-                    int attempts2 = 0;
-                    while (game.getEliminatedPlayers().contains(game.getPlayers().get(idx).getId())
-                            && attempts2 < game.getPlayers().size()) {
-                        idx = (idx + 1) % game.getPlayers().size();
-                        attempts2++;
-                    }
-                    startIndex = idx;
+                    startIndex = game.nextActiveSeat(eliminatedIndex);
                 } else {
                     // Otherwise, keep the current player as the one to start the 2-player phase
                     startIndex = game.getCurrentPlayerIndex();
@@ -518,81 +978,214 @@ public class GameService {
             } else {
                 scheduleEnableContinue(gameId);
             }
+
+            commit(game, GameEvent.Type.DOUBT, doubtingPlayerId, handOutcome(game));
+            return new GameResult(game, eliminatedPlayerId, actualCount, currentBid.getQuantity());
         }
+    }
+
+    public GameResult processSpotOn(String gameId, String spotOnPlayerId) {
+        recordActivity(gameId, spotOnPlayerId);
+        Game game = getGame(gameId);
+        synchronized (game) {
+            // Verify the player is an active (non-eliminated) member of this game
+            int seat = game.seatOf(spotOnPlayerId);
+            if (seat < 0 || game.isSeatEliminated(seat)) {
+                throw new IllegalArgumentException("Player is not an active participant in this game");
+            }
+            Bid currentBid = game.getCurrentBid();
+        
+            if (currentBid == null) {
+                throw new IllegalStateException("No current bid to call spot on");
+            }
+
+            List<Player> activePlayers = game.getActivePlayers();
+            // No wild cards - only count exact face value matches
+            int actualCount = game.countDice(currentBid.getFaceValue());
+        
+            log.debug("SPOT ON: Player {} called spot on for {} {}s, actual count {}", spotOnPlayerId,
+                    currentBid.getQuantity(), currentBid.getFaceValue(), actualCount);
+
+            if (actualCount == currentBid.getQuantity()) {
+                // Store previous round players before rerolling (deep copy) - only active
+                // players
+                List<Player> previousPlayers = new ArrayList<>();
+                for (Player player : activePlayers) {
+                    Player copy = new Player(player.getName());
+                    copy.setId(player.getId());
+                    copy.setDice(player.getDice()); // Immutable, shared safely
+                    copy.setEliminated(player.isEliminated());
+                    copy.setWinTokens(player.getWinTokens());
+                    copy.setColor(player.getColor()); // Copy color so it's available even if player leaves
+                    copy.setAiType(player.getAiType()); // Copy aiType for completeness
+                    previousPlayers.add(copy);
+                }
+                game.setPreviousRoundPlayers(previousPlayers);
+
+                // Store result data
+                game.setLastActualCount(actualCount);
+                game.setLastBidQuantity(currentBid.getQuantity());
+                game.setLastBidFaceValue(currentBid.getFaceValue());
+                game.setLastBidPlayerId(currentBid.getPlayerId());
+                game.setLastEliminatedPlayerId(null); // No elimination for correct spot-on
+                game.setLastActionPlayerId(spotOnPlayerId);
+                game.setLastActionType(BidType.SPOT_ON);
+
+                // Add the SPOT_ON action to current hand history
+                Bid spotOnAction = Bid.spotOn(spotOnPlayerId);
+                game.addBidToCurrentHand(spotOnAction);
+
+                // Show all dice for 15 seconds
+                game.setShowAllDice(true);
+                game.setCanContinue(false); // Disable continue button initially
+                broadcastGameUpdate(gameId); // Broadcast dice reveal
+            
+                // Spot on is correct - round resets with same players
+                // Reset the current bid
+                game.setCurrentBid(null);
+
+                // After a correct spot-on, start with the dealer
+                // Find the next non-eliminated player starting from the dealer
+                game.setCurrentPlayerIndex(game.activeSeatFrom(game.getDealerIndex()));
+
+                // Schedule to enable continue button after 15 seconds
+                scheduleEnableContinue(gameId);
+            } else {
+                // Store previous round players before rerolling (deep copy) - only active
+                // players
+                List<Player> previousPlayers = new ArrayList<>();
+                for (Player player : activePlayers) {
+                    Player copy = new Player(player.getName());
+                    copy.setId(player.getId());
+                    copy.setDice(player.getDice()); // Immutable, shared safely
+                    copy.setEliminated(player.isEliminated());
+                    copy.setWinTokens(player.getWinTokens());
+                    copy.setColor(player.getColor()); // Copy color so it's available even if player leaves
+                    copy.setAiType(player.getAiType()); // Copy aiType for completeness
+                    previousPlayers.add(copy);
+                }
+                game.setPreviousRoundPlayers(previousPlayers);
+
+                // Store result data
+                game.setLastActualCount(actualCount);
+                game.setLastBidQuantity(currentBid.getQuantity());
+                game.setLastBidFaceValue(currentBid.getFaceValue());
+                game.setLastBidPlayerId(currentBid.getPlayerId());
+                game.setLastEliminatedPlayerId(spotOnPlayerId);
+                game.setLastActionPlayerId(spotOnPlayerId);
+                game.setLastActionType(BidType.SPOT_ON);
+
+                // Add the SPOT_ON action to current hand history
+                Bid spotOnAction = Bid.spotOn(spotOnPlayerId);
+                game.addBidToCurrentHand(spotOnAction);
+
+                // Show all dice for 15 seconds
+                game.setShowAllDice(true);
+                game.setCanContinue(false); // Disable continue button initially
+                broadcastGameUpdate(gameId); // Broadcast dice reveal
+
+                // Spot on is wrong - spot on player is eliminated
+                game.eliminatePlayer(spotOnPlayerId);
+
+                // Reset the current bid after elimination
+                game.setCurrentBid(null);
+
+                // After elimination, the turn should start with the dealer or next
+                // non-eliminated player after dealer
+                game.setCurrentPlayerIndex(game.activeSeatFrom(game.getDealerIndex()));
+
+                // If elimination resulted in 2 active players, set the start index for the
+                // 2-player phase
+                List<Player> activeAfterElimination = game.getActivePlayers();
+                if (activeAfterElimination.size() == 2 && game.getTwoPlayerRoundStartIndex() == null) {
+                    int startIndex;
+                    int eliminatedIndex = game.seatOf(spotOnPlayerId);
+                    if (eliminatedIndex == game.getDealerIndex()) {
+                        // Find next non-eliminated player after the eliminated dealer
+                        startIndex = game.nextActiveSeat(eliminatedIndex);
+                    } else {
+                        // Otherwise, keep the current player as the one to start the 2-player phase
+                        startIndex = game.getCurrentPlayerIndex();
+                    }
+                    game.setTwoPlayerRoundStartIndex(startIndex);
+                }
+
+                // If one player left, they win the round; finish round and schedule next. Otherwise enable continue.
+                if (activeAfterElimination.size() == 1) {
+                    Player roundWinner = activeAfterElimination.get(0);
+                    finishRoundWithOneWinner(game, gameId, roundWinner);
+                } else {
+                    scheduleEnableContinue(gameId);
+                }
+            }
 
-        // Dice will be hidden when continue is pressed, not automatically
+            // Dice will be hidden when continue is pressed, not automatically
 
-        return new GameResult(game, spotOnPlayerId, actualCount, currentBid.getQuantity());
+            commit(game, GameEvent.Type.SPOT_ON, spotOnPlayerId, handOutcome(game));
+            return new GameResult(game, spotOnPlayerId, actualCount, currentBid.getQuantity());
+        }
     }
 
     public GameResult processBid(String gameId, String playerId, int quantity, int faceValue) {
         recordActivity(gameId, playerId);
         Game game = getGame(gameId);
 
-        // Validate dice face value and quantity bounds
-        if (faceValue < 1 || faceValue > 6) {
-            throw new IllegalArgumentException("Face value must be between 1 and 6");
-        }
-        int maxPossibleDice = game.getActivePlayers().stream()
-                .mapToInt(p -> p.getDice().size())
-                .sum();
-        if (quantity < 1 || quantity > maxPossibleDice) {
-            throw new IllegalArgumentException("Quantity must be between 1 and " + maxPossibleDice);
-        }
-
-        if (game.getState() != GameState.IN_PROGRESS) {
-            throw new IllegalStateException("Game is not in progress. Current state: " + game.getState());
-        }
+        synchronized (game) {
+            // Validate dice face value and quantity bounds
+            if (faceValue < 1 || faceValue > 6) {
+                throw new IllegalArgumentException("Face value must be between 1 and 6");
+            }
+            int maxPossibleDice = game.getDiceCount();
+            if (quantity < 1 || quantity > maxPossibleDice) {
+                throw new IllegalArgumentException("Quantity must be between 1 and " + maxPossibleDice);
+            }
 
-        Player currentPlayer = game.getCurrentPlayer();
-        if (currentPlayer == null) {
-            throw new IllegalArgumentException("No current player found");
-        }
+            if (game.getState() != GameState.IN_PROGRESS) {
+                throw new IllegalStateException("Game is not in progress. Current state: " + game.getState());
+            }
 
-        if (!currentPlayer.getId().equals(playerId)) {
-            throw new IllegalArgumentException("It's not this player's turn. Current player: " + currentPlayer.getId()
-                    + ", Requested player: " + playerId);
-        }
+            Player currentPlayer = game.getCurrentPlayer();
+            if (currentPlayer == null) {
+                throw new IllegalArgumentException("No current player found");
+            }
 
-        if (game.getEliminatedPlayers().contains(playerId)) {
-            throw new IllegalArgumentException("Player is eliminated");
-        }
+            if (!currentPlayer.getId().equals(playerId)) {
+                throw new IllegalArgumentException("It's not this player's turn. Current player: " + currentPlayer.getId()
+                        + ", Requested player: " + playerId);
+            }
 
-        Bid newBid = new Bid(playerId, quantity, faceValue, BidType.RAISE);
+            if (game.isEliminated(playerId)) {
+                throw new IllegalArgumentException("Player is eliminated");
+            }
 
-        if (!com.example.backend.model.GameRules.isBidValid(newBid, game.getCurrentBid())) {
-            String currentBidStr = game.getCurrentBid() != null
-                    ? game.getCurrentBid().getQuantity() + " of " + game.getCurrentBid().getFaceValue()
-                    : "none";
-            throw new IllegalArgumentException("Invalid bid. Current bid: " + currentBidStr +
-                    ", New bid: " + quantity + " of " + faceValue + ". Must increase quantity or face value");
-        }
+            Bid newBid = Bid.raise(playerId, quantity, faceValue);
 
-        // Store the current bid as previous before setting the new one
-        game.setPreviousBid(game.getCurrentBid());
-        game.setCurrentBid(newBid);
+            if (!com.example.backend.model.GameRules.isBidValid(newBid, game.getCurrentBid())) {
+                String currentBidStr = game.getCurrentBid() != null
+                        ? game.getCurrentBid().getQuantity() + " of " + game.getCurrentBid().getFaceValue()
+                        : "none";
+                throw new IllegalArgumentException("Invalid bid. Current bid: " + currentBidStr +
+                        ", New bid: " + quantity + " of " + faceValue + ". Must increase quantity or face value");
+            }
 
-        // Add the bid to the current hand history
-        game.addBidToCurrentHand(newBid);
-        System.out.println("📝 Added RAISE action to history. Current hand history size: "
-                + game.getCurrentHandBidHistory().size());
+            // Store the current bid as previous before setting the new one
+            game.setPreviousBid(game.getCurrentBid());
+            game.setCurrentBid(newBid);
 
-        // Move to next player
-        int oldPlayerIndex = game.getCurrentPlayerIndex();
-        game.setCurrentPlayerIndex((game.getCurrentPlayerIndex() + 1) % game.getPlayers().size());
+            // Add the bid to the current hand history
+            game.addBidToCurrentHand(newBid);
 
-        // Skip eliminated players - ensure we don't get stuck in infinite loop
-        int attempts = 0;
-        while (game.getEliminatedPlayers().contains(game.getCurrentPlayer().getId())
-                && attempts < game.getPlayers().size()) {
-            game.setCurrentPlayerIndex((game.getCurrentPlayerIndex() + 1) % game.getPlayers().size());
-            attempts++;
-        }
+            // Move to next player
+            int oldPlayerIndex = game.getCurrentPlayerIndex();
+            // Skip eliminated players
+            game.setCurrentPlayerIndex(game.nextActiveSeat(oldPlayerIndex));
 
-        System.out.println("TURN CHANGE: Player " + playerId + " made bid, moved from index " + oldPlayerIndex + " to "
-                + game.getCurrentPlayerIndex() + ", current player: " + game.getCurrentPlayer().getId());
+            log.debug("TURN CHANGE: Player {} bid, turn moved from seat {} to {}", playerId, oldPlayerIndex,
+                    game.getCurrentPlayerIndex());
 
-        return new GameResult(game, null, 0, 0);
+            commit(game, GameEvent.Type.RAISE, playerId, Map.of("quantity", quantity, "faceValue", faceValue));
+            return new GameResult(game, null, 0, 0);
+        }
     }
 
     public static class GameResult {
@@ -617,13 +1210,16 @@ public class GameService {
     // Multiplayer methods
     public Game createMultiplayerGame(boolean isPrivate) {
         Game game = new Game();
+        game.setId(allocateGameId());
         game.setMultiplayer(true);
         game.setPrivate(isPrivate);
         game.setMaxPlayers(4);
         game.setWaitingForPlayers(true);
         game.setState(GameState.WAITING_FOR_PLAYERS);
         game.setLastHostLobbyPresenceAt(System.currentTimeMillis());
+        game.publishSnapshot();
         games.put(game.getId(), game);
+        commit(game, GameEvent.Type.CREATED, null, null);
         return game;
     }
 
@@ -637,33 +1233,36 @@ public class GameService {
         if (game == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        if (!game.isMultiplayer() || game.getState() != GameState.WAITING_FOR_PLAYERS) {
-            throw new IllegalArgumentException("Lobby presence only applies while waiting for players");
-        }
-        if (game.getPlayers().isEmpty()) {
-            throw new IllegalArgumentException("Game has no players");
-        }
-        if (!game.getPlayers().get(0).getId().equals(playerId)) {
-            throw new IllegalArgumentException("Only the host can refresh lobby presence");
+        synchronized (game) {
+            if (!game.isMultiplayer() || game.getState() != GameState.WAITING_FOR_PLAYERS) {
+                throw new IllegalArgumentException("Lobby presence only applies while waiting for players");
+            }
+            if (game.getPlayers().isEmpty()) {
+                throw new IllegalArgumentException("Game has no players");
+            }
+            if (!game.getPlayers().get(0).getId().equals(playerId)) {
+                throw new IllegalArgumentException("Only the host can refresh lobby presence");
+            }
+            game.setLastHostLobbyPresenceAt(System.currentTimeMillis());
         }
-        game.setLastHostLobbyPresenceAt(System.currentTimeMillis());
     }
 
-    public List<Game> listMultiplayerLobbyGames() {
+    public List<GameSnapshot> listMultiplayerLobbyGames() {
         long now = System.currentTimeMillis();
-        List<Game> all = new ArrayList<>(games.values());
-        return all.stream()
-                .filter(g -> g.isMultiplayer())
-                .filter(g -> g.getState() == GameState.WAITING_FOR_PLAYERS)
-                .filter(g -> !g.isPrivate())
-                .filter(g -> {
-                    Long last = g.getLastHostLobbyPresenceAt();
-                    if (last == null) {
-                        return false;
-                    }
-                    return now - last <= PUBLIC_LOBBY_HOST_PRESENCE_TTL_MS;
-                })
-                .toList();
+        List<GameSnapshot> lobbies = new ArrayList<>();
+        for (Game g : games.values()) {
+            Long last = g.getLastHostLobbyPresenceAt();
+            if (last == null || now - last > PUBLIC_LOBBY_HOST_PRESENCE_TTL_MS) {
+                continue;
+            }
+            GameSnapshot snapshot = g.getSnapshot();
+            if (snapshot.isMultiplayer()
+                    && snapshot.getState() == GameState.WAITING_FOR_PLAYERS
+                    && !snapshot.isPrivate()) {
+                lobbies.add(snapshot);
+            }
+        }
+        return lobbies;
     }
 
     private static final String[] COLOR_ORDER = { "blue", "red", "green", "yellow", "brown", "cyan" };
@@ -674,61 +1273,71 @@ public class GameService {
     }
 
     public Game joinGame(String gameId, String playerName) {
-        System.out.println("JOIN ATTEMPT: GameId=" + gameId + ", PlayerName=" + playerName + ", Timestamp="
-                + System.currentTimeMillis());
+        return joinGame(gameId, playerName, null);
+    }
+
+    /** Join with the given player id, as journaled, or a fresh one if null. */
+    private Game joinGame(String gameId, String playerName, String playerId) {
+        log.debug("JOIN ATTEMPT: Game {}, player {}", gameId, playerName);
 
         Game game = getGame(gameId);
         if (game == null) {
-            System.out.println("JOIN FAILED: Game not found for ID=" + gameId);
+            log.debug("JOIN FAILED: Game {} not found", gameId);
             throw new IllegalArgumentException("Game not found");
         }
-        if (!game.canJoin()) {
-            System.out.println("JOIN FAILED: Cannot join game, current players=" + game.getPlayers().size() + ", max="
-                    + game.getMaxPlayers());
-            throw new IllegalArgumentException("Cannot join game");
-        }
+        synchronized (game) {
+            if (!game.canJoin()) {
+                log.debug("JOIN FAILED: Cannot join game {}, players {} of {}", gameId, game.getPlayers().size(),
+                        game.getMaxPlayers());
+                throw new IllegalArgumentException("Cannot join game");
+            }
 
-        // Validate human player name: letters and numbers only, max 12 characters
-        if (playerName == null || playerName.isEmpty()) {
-            throw new IllegalArgumentException("Username cannot be empty");
-        }
-        boolean isAiPlayer = playerName.startsWith("AI ") || playerName.startsWith("🧠AI ");
-        if (!isAiPlayer && !playerName.matches("[a-zA-Z0-9]{1,12}")) {
-            throw new IllegalArgumentException("Username must be letters or numbers only, max 12 characters");
-        }
+            // Validate human player name: letters and numbers only, max 12 characters
+            if (playerName == null || playerName.isEmpty()) {
+                throw new IllegalArgumentException("Username cannot be empty");
+            }
+            boolean isAiPlayer = playerName.startsWith("AI ") || playerName.startsWith("🧠AI ");
+            if (!isAiPlayer && !playerName.matches("[a-zA-Z0-9]{1,12}")) {
+                throw new IllegalArgumentException("Username must be letters or numbers only, max 12 characters");
+            }
 
-        // Check if player with this name already exists
-        boolean playerExists = game.getPlayers().stream()
-                .anyMatch(p -> p.getName().equals(playerName));
+            // Check if player with this name already exists
+            boolean playerExists = game.getPlayers().stream()
+                    .anyMatch(p -> p.getName().equals(playerName));
 
-        if (playerExists) {
-            System.out.println("JOIN FAILED: Player already exists with name=" + playerName);
-            throw new IllegalArgumentException("Player with name '" + playerName + "' already exists in this game");
-        }
+            if (playerExists) {
+                log.debug("JOIN FAILED: Player name {} already taken in game {}", playerName, gameId);
+                throw new IllegalArgumentException("Player with name '" + playerName + "' already exists in this game");
+            }
 
-        String color = getNextColor(game);
-        // Check if player name starts with "🧠AI " for medium AI, or "AI " for easy AI
-        String aiType = null;
-        if (playerName.startsWith("🧠AI ")) {
-            aiType = "MEDIUM_AI";
-        } else if (playerName.startsWith("AI ")) {
-            aiType = "EASY_AI";
-        }
-        System.out.println("Assigning color " + color + " to player " + playerName + " (AI: " + aiType + ")");
+            String color = getNextColor(game);
+            // Check if player name starts with "🧠AI " for medium AI, or "AI " for easy AI
+            String aiType = null;
+            if (playerName.startsWith("🧠AI ")) {
+                aiType = "MEDIUM_AI";
+            } else if (playerName.startsWith("AI ")) {
+                aiType = "EASY_AI";
+            }
+            log.debug("Assigning color {} to player {} (AI: {})", color, playerName, aiType);
 
-        Player player = new Player(playerName, color, aiType);
-        game.getPlayers().add(player);
-        if (game.getPlayers().size() == 1) {
-            game.setLastHostLobbyPresenceAt(System.currentTimeMillis());
-        }
+            Player player = new Player(playerName, color, aiType);
+            if (playerId != null) {
+                player.setId(playerId); // Before seating, the seat index is keyed on it
+            }
+            game.addPlayer(player);
+            if (game.getPlayers().size() == 1) {
+                game.setLastHostLobbyPresenceAt(System.currentTimeMillis());
+            }
 
-        System.out.println("JOIN SUCCESS: Added player=" + playerName + ", total players=" + game.getPlayers().size()
-                + ", isAI=" + (aiType != null));
+            commit(game, GameEvent.Type.JOINED, player.getId(), Map.of("name", playerName));
+            log.info("JOIN: Player {} joined game {}, {} players, AI: {}", playerName, gameId, game.getPlayers().size(),
+                    aiType);
 
-        // Don't auto-start the game - let the host control when to start
-        // The game will remain in WAITING_FOR_PLAYERS state until manually started
+            // Don't auto-start the game - let the host control when to start
+            // The game will remain in WAITING_FOR_PLAYERS state until manually started
 
-        return game;
+            return game;
+        }
     }
 
     public void addPlayerToGame(String gameId, String playerName) {
@@ -736,33 +1345,34 @@ public class GameService {
     }
 
     public Game removePlayer(String gameId, String playerId) {
-        System.out.println("REMOVE ATTEMPT: GameId=" + gameId + ", PlayerId=" + playerId + ", Timestamp="
-                + System.currentTimeMillis());
+        log.debug("REMOVE ATTEMPT: Game {}, player {}", gameId, playerId);
 
         Game game = getGame(gameId);
         if (game == null) {
-            System.out.println("REMOVE FAILED: Game not found for ID=" + gameId);
+            log.debug("REMOVE FAILED: Game {} not found", gameId);
             throw new IllegalArgumentException("Game not found");
         }
 
-        // Only allow removing players before game starts
-        if (game.getState() != GameState.WAITING_FOR_PLAYERS) {
-            System.out.println("REMOVE FAILED: Game already started, state=" + game.getState());
-            throw new IllegalArgumentException("Cannot remove player after game has started");
-        }
+        synchronized (game) {
+            // Only allow removing players before game starts
+            if (game.getState() != GameState.WAITING_FOR_PLAYERS) {
+                log.debug("REMOVE FAILED: Game {} already started, state {}", gameId, game.getState());
+                throw new IllegalArgumentException("Cannot remove player after game has started");
+            }
 
-        // Find and remove the player
-        boolean removed = game.getPlayers().removeIf(p -> p.getId().equals(playerId));
+            // Find and remove the player
+            boolean removed = game.removePlayer(playerId);
 
-        if (!removed) {
-            System.out.println("REMOVE FAILED: Player not found with ID=" + playerId);
-            throw new IllegalArgumentException("Player not found");
-        }
+            if (!removed) {
+                log.debug("REMOVE FAILED: Player {} not in game {}", playerId, gameId);
+                throw new IllegalArgumentException("Player not found");
+            }
 
-        System.out.println("REMOVE SUCCESS: Removed player with ID=" + playerId + ", remaining players="
-                + game.getPlayers().size());
+            commit(game, GameEvent.Type.PLAYER_REMOVED, playerId, null);
+            log.info("REMOVE: Player {} removed from game {}, {} players left", playerId, gameId, game.getPlayers().size());
 
-        return game;
+            return game;
+        }
     }
 
     /**
@@ -777,91 +1387,81 @@ public class GameService {
         if (game == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        if (game.getState() != GameState.IN_PROGRESS && game.getState() != GameState.ROUND_ENDED) {
-            throw new IllegalArgumentException("Can only leave when game is in progress or round ended");
-        }
-        int leaveIndex = -1;
-        String playerName = null;
-        for (int i = 0; i < game.getPlayers().size(); i++) {
-            if (game.getPlayers().get(i).getId().equals(playerId)) {
-                leaveIndex = i;
-                playerName = game.getPlayers().get(i).getName();
-                break;
+        synchronized (game) {
+            if (game.getState() != GameState.IN_PROGRESS && game.getState() != GameState.ROUND_ENDED) {
+                throw new IllegalArgumentException("Can only leave when game is in progress or round ended");
+            }
+            int leaveIndex = game.seatOf(playerId);
+            String playerName = leaveIndex >= 0 ? game.getPlayers().get(leaveIndex).getName() : null;
+            if (leaveIndex < 0 || playerName == null) {
+                throw new IllegalArgumentException("Player not found");
             }
-        }
-        if (leaveIndex < 0 || playerName == null) {
-            throw new IllegalArgumentException("Player not found");
-        }
-
-        // If the host (first player) leaves, cancel the entire game
-        if (leaveIndex == 0) {
-            games.remove(gameId);
-            System.out.println("LEAVE GAME: Game " + gameId + " cancelled (host " + playerName + " left)");
-            messagingTemplate.convertAndSend("/topic/game/" + gameId,
-                    new WebSocketMessage("GAME_CANCELLED", null, gameId, null));
-            return;
-        }
 
-        // If it's their turn and there's a bid, treat as spot on (they lose), then they leave before next round
-        com.example.backend.model.Player currentPlayer = game.getCurrentPlayer();
-        if (currentPlayer != null && currentPlayer.getId().equals(playerId) && game.getCurrentBid() != null) {
-            try {
-                processSpotOn(gameId, playerId);
-            } catch (Exception e) {
-                System.err.println("leaveGame: processSpotOn failed for " + playerId + ": " + e.getMessage());
+            // If the host (first player) leaves, cancel the entire game
+            if (leaveIndex == 0) {
+                removeGame(gameId);
+                log.info("LEAVE GAME: Game {} cancelled (host {} left)", gameId, playerName);
+                sendGameEvent(gameId, new WebSocketMessage("GAME_CANCELLED", null, gameId, null));
+                return;
             }
-            // Re-resolve leaveIndex after processSpotOn (list unchanged)
-            leaveIndex = -1;
-            for (int i = 0; i < game.getPlayers().size(); i++) {
-                if (game.getPlayers().get(i).getId().equals(playerId)) {
-                    leaveIndex = i;
-                    break;
+
+            // If it's their turn and there's a bid, treat as spot on (they lose), then they leave before next round.
+            // On replay that spot on has its own journal event right before this one.
+            com.example.backend.model.Player currentPlayer = game.getCurrentPlayer();
+            if (currentPlayer != null && currentPlayer.getId().equals(playerId) && game.getCurrentBid() != null
+                    && !isReplaying(gameId)) {
+                try {
+                    processSpotOn(gameId, playerId);
+                } catch (Exception e) {
+                    log.warn("LEAVE GAME: Spot on for leaving player {} failed: {}", playerId, e.getMessage());
                 }
+                // Re-resolve leaveIndex after processSpotOn (list unchanged)
+                leaveIndex = game.seatOf(playerId);
             }
-        }
 
-        game.getPlayers().remove(leaveIndex);
-        game.getEliminatedPlayers().removeIf(id -> id.equals(playerId));
-        int newSize = game.getPlayers().size();
+            game.removePlayerAt(leaveIndex);
+            int newSize = game.getPlayers().size();
 
-        // Fix currentPlayerIndex after removal
-        int cp = game.getCurrentPlayerIndex();
-        if (cp == leaveIndex) {
-            game.setCurrentPlayerIndex(newSize > 0 ? (leaveIndex % newSize) : 0);
-        } else if (cp > leaveIndex) {
-            game.setCurrentPlayerIndex(cp - 1);
-        }
-        if (game.getCurrentPlayerIndex() >= newSize && newSize > 0) {
-            game.setCurrentPlayerIndex(0);
-        }
+            // Fix currentPlayerIndex after removal
+            int cp = game.getCurrentPlayerIndex();
+            if (cp == leaveIndex) {
+                game.setCurrentPlayerIndex(newSize > 0 ? (leaveIndex % newSize) : 0);
+            } else if (cp > leaveIndex) {
+                game.setCurrentPlayerIndex(cp - 1);
+            }
+            if (game.getCurrentPlayerIndex() >= newSize && newSize > 0) {
+                game.setCurrentPlayerIndex(0);
+            }
 
-        // Fix dealerIndex after removal
-        int di = game.getDealerIndex();
-        if (di == leaveIndex) {
-            game.setDealerIndex(newSize > 0 ? 0 : 0);
-        } else if (di > leaveIndex) {
-            game.setDealerIndex(di - 1);
-        }
-        if (game.getDealerIndex() >= newSize && newSize > 0) {
-            game.setDealerIndex(0);
-        }
+            // Fix dealerIndex after removal
+            int di = game.getDealerIndex();
+            if (di == leaveIndex) {
+                game.setDealerIndex(newSize > 0 ? 0 : 0);
+            } else if (di > leaveIndex) {
+                game.setDealerIndex(di - 1);
+            }
+            if (game.getDealerIndex() >= newSize && newSize > 0) {
+                game.setDealerIndex(0);
+            }
 
-        // Clear current bid if it was from the leaving player
-        if (game.getCurrentBid() != null && game.getCurrentBid().getPlayerId().equals(playerId)) {
-            game.setCurrentBid(null);
-        }
+            // Clear current bid if it was from the leaving player
+            if (game.getCurrentBid() != null && game.getCurrentBid().getPlayerId().equals(playerId)) {
+                game.setCurrentBid(null);
+            }
 
-        // Notify all clients that this player left (before game update or cancel)
-        messagingTemplate.convertAndSend("/topic/game/" + gameId,
-                new WebSocketMessage("PLAYER_LEFT", java.util.Map.of("playerName", playerName), gameId, playerId));
+            commit(game, GameEvent.Type.LEFT, playerId, null);
 
-        if (newSize < 2) {
-            games.remove(gameId);
-            System.out.println("LEAVE GAME: Game " + gameId + " cancelled (only " + newSize + " player(s) left)");
-            messagingTemplate.convertAndSend("/topic/game/" + gameId,
-                    new WebSocketMessage("GAME_CANCELLED", null, gameId, null));
-        } else {
-            broadcastGameUpdate(gameId);
+            // Notify all clients that this player left (before game update or cancel)
+            sendGameEvent(gameId,
+                    new WebSocketMessage("PLAYER_LEFT", java.util.Map.of("playerName", playerName), gameId, playerId));
+
+            if (newSize < 2) {
+                removeGame(gameId);
+                log.info("LEAVE GAME: Game {} cancelled (only {} player(s) left)", gameId, newSize);
+                sendGameEvent(gameId, new WebSocketMessage("GAME_CANCELLED", null, gameId, null));
+            } else {
+                broadcastGameUpdate(gameId);
+            }
         }
     }
 
@@ -871,7 +1471,22 @@ public class GameService {
      */
     public void recordActivity(String gameId, String playerId) {
         if (gameId == null || playerId == null) return;
-        lastActivityByGameAndPlayer.put(gameId + ":" + playerId, System.currentTimeMillis());
+        recordActivity(gameId, playerId, System.currentTimeMillis());
+    }
+
+    /** Record activity at the given time; ignored for games not in memory or players not in the game. */
+    void recordActivity(String gameId, String playerId, long at) {
+        Game game = games.get(gameId);
+        if (game == null) {
+            return;
+        }
+        int handle;
+        synchronized (game) {
+            handle = game.handleOf(playerId);
+        }
+        if (handle > 0) {
+            activityByGame.computeIfAbsent(gameId, id -> new PlayerActivity()).record(handle, at);
+        }
     }
 
     /**
@@ -883,23 +1498,27 @@ public class GameService {
         long now = System.currentTimeMillis();
         List<String> gameIds = new ArrayList<>(games.keySet());
         for (String gameId : gameIds) {
-            Game game = games.get(gameId);
-            if (game == null) continue;
+            Game live = games.get(gameId);
+            if (live == null) continue;
+            GameSnapshot game = live.getSnapshot();
             if (game.getState() != GameState.IN_PROGRESS && game.getState() != GameState.ROUND_ENDED) continue;
-            com.example.backend.model.Player current = game.getCurrentPlayer();
+            GameSnapshot.PlayerSnapshot current = game.getCurrentPlayer();
             if (current == null) continue;
             String currentPlayerId = current.getId();
-            String key = gameId + ":" + currentPlayerId;
-            boolean isHost = !game.getPlayers().isEmpty() && game.getPlayers().get(0).getId().equals(currentPlayerId);
+            boolean isHost = game.getPlayers().get(0) == current;
             long timeout = isHost ? HOST_INACTIVITY_TIMEOUT_MS : RECONNECT_TIMEOUT_MS;
-            Long last = lastActivityByGameAndPlayer.get(key);
-            if (last != null && (now - last) > timeout) {
-                System.out.println("RECONNECT TIMEOUT: Current player " + currentPlayerId + " in game " + gameId + " had no activity for " + ((now - last) / 1000) + "s, treating as left");
-                lastActivityByGameAndPlayer.remove(key);
+            PlayerActivity activity = activityByGame.get(gameId);
+            int handle = current.getHandle();
+            long last = activity != null ? activity.lastActiveAt(handle) : 0;
+            if (last != 0 && (now - last) > timeout) {
+                log.info("RECONNECT TIMEOUT: Current player {} in game {} had no activity for {}s, treating as left",
+                        currentPlayerId, gameId, (now - last) / 1000);
+                activity.clear(handle);
                 try {
                     leaveGame(gameId, currentPlayerId);
                 } catch (Exception ex) {
-                    System.err.println("checkDisconnectedCurrentPlayers leaveGame failed: " + ex.getMessage());
+                    log.warn("RECONNECT TIMEOUT: Leaving game {} failed for {}: {}", gameId, currentPlayerId,
+                            ex.getMessage());
                 }
             }
         }
@@ -914,18 +1533,20 @@ public class GameService {
         if (game == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        if (game.getState() != GameState.WAITING_FOR_PLAYERS) {
-            throw new IllegalArgumentException("Cannot cancel game after it has started");
-        }
-        if (game.getPlayers().isEmpty()) {
-            throw new IllegalArgumentException("Game has no players");
-        }
-        com.example.backend.model.Player host = game.getPlayers().get(0);
-        if (!host.getId().equals(playerId)) {
-            throw new IllegalArgumentException("Only the host can cancel the game");
+        synchronized (game) {
+            if (game.getState() != GameState.WAITING_FOR_PLAYERS) {
+                throw new IllegalArgumentException("Cannot cancel game after it has started");
+            }
+            if (game.getPlayers().isEmpty()) {
+                throw new IllegalArgumentException("Game has no players");
+            }
+            com.example.backend.model.Player host = game.getPlayers().get(0);
+            if (!host.getId().equals(playerId)) {
+                throw new IllegalArgumentException("Only the host can cancel the game");
+            }
+            removeGame(gameId);
+            log.info("CANCEL GAME: Removed game {} (host cancelled)", gameId);
         }
-        games.remove(gameId);
-        System.out.println("CANCEL GAME: Removed game " + gameId + " (host cancelled)");
     }
 
     /**
@@ -937,18 +1558,19 @@ public class GameService {
         if (game == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        if (game.getPlayers().isEmpty()) {
-            throw new IllegalArgumentException("Game has no players");
-        }
-        com.example.backend.model.Player host = game.getPlayers().get(0);
-        if (!host.getId().equals(playerId)) {
-            throw new IllegalArgumentException("Only the host can end the game");
+        synchronized (game) {
+            if (game.getPlayers().isEmpty()) {
+                throw new IllegalArgumentException("Game has no players");
+            }
+            com.example.backend.model.Player host = game.getPlayers().get(0);
+            if (!host.getId().equals(playerId)) {
+                throw new IllegalArgumentException("Only the host can end the game");
+            }
+            // Broadcast cancellation before removing the game so clients receive it
+            sendGameEvent(gameId, new WebSocketMessage("GAME_CANCELLED", null, gameId, null));
+            removeGame(gameId);
+            log.info("END GAME: Removed game {} (host ended)", gameId);
         }
-        // Broadcast cancellation before removing the game so clients receive it
-        messagingTemplate.convertAndSend("/topic/game/" + gameId,
-                new WebSocketMessage("GAME_CANCELLED", null, gameId, null));
-        games.remove(gameId);
-        System.out.println("END GAME: Removed game " + gameId + " (host ended)");
     }
 
     /**
@@ -962,26 +1584,34 @@ public class GameService {
         if (game == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        // Resolve the player name from game state — never trust the client-supplied name
-        String resolvedName = game.getPlayers().stream()
-                .filter(p -> p.getId().equals(playerId))
-                .findFirst()
-                .map(Player::getName)
-                .orElseThrow(() -> new IllegalArgumentException("Player not found in game"));
-        String sanitized = text != null ? text.trim() : "";
-        if (sanitized.isEmpty() || sanitized.length() > 200) {
-            throw new IllegalArgumentException("Invalid message");
-        }
-        com.example.backend.model.ChatMessage msg =
-                new com.example.backend.model.ChatMessage(playerId, resolvedName, sanitized);
-        game.getChatMessages().add(msg);
-        // Keep at most 200 messages to avoid unbounded growth
-        List<com.example.backend.model.ChatMessage> msgs = game.getChatMessages();
-        if (msgs.size() > 200) {
-            msgs.subList(0, msgs.size() - 200).clear();
+        synchronized (game) {
+            // Resolve the player name from game state — never trust the client-supplied name
+            Player sender = game.getPlayer(playerId);
+            if (sender == null) {
+                throw new IllegalArgumentException("Player not found in game");
+            }
+            String resolvedName = sender.getName();
+            String sanitized = text != null ? text.trim() : "";
+            if (sanitized.isEmpty() || sanitized.length() > 200) {
+                throw new IllegalArgumentException("Invalid message");
+            }
+            com.example.backend.model.ChatMessage msg =
+                    new com.example.backend.model.ChatMessage(playerId, resolvedName, sanitized);
+            // The chat keeps the last ChatLog.CAPACITY messages, dropping the oldest
+            game.getChatMessages().append(msg);
+            commit(game, GameEvent.Type.CHAT, playerId,
+                    Map.of("messageId", msg.getId(), "text", msg.getText(), "timestamp", msg.getTimestamp()));
+            broadcastGameUpdate(gameId);
+            log.debug("CHAT: {} in game {}: {}", resolvedName, gameId, sanitized);
         }
-        broadcastGameUpdate(gameId);
-        System.out.println("CHAT: " + resolvedName + " in game " + gameId + ": " + sanitized);
+    }
+
+    /**
+     * Chat messages of a game with a sequence number above the given one, oldest first. Read
+     * from the published snapshot, so this never waits for a command.
+     */
+    public List<com.example.backend.model.ChatMessage> getChatMessagesSince(String gameId, long afterSeq) {
+        return getGame(gameId).getSnapshot().getChatMessagesSince(afterSeq);
     }
 
     /**
@@ -990,44 +1620,47 @@ public class GameService {
      * When all human players have continued, the game resets to WAITING_FOR_PLAYERS.
      */
     public GameResponse playerContinue(String gameId, String playerId) {
-        Game game = games.get(gameId);
+        Game game = residentGame(gameId);
         if (game == null) {
             throw new IllegalArgumentException("Game not found: " + gameId);
         }
-        if (game.getState() != GameState.GAME_ENDED) {
-            throw new IllegalArgumentException("Game is not in GAME_ENDED state");
-        }
+        synchronized (game) {
+            if (game.getState() != GameState.GAME_ENDED) {
+                throw new IllegalArgumentException("Game is not in GAME_ENDED state");
+            }
 
-        // Add the clicking player to continued list (idempotent)
-        if (!game.getPlayersContinued().contains(playerId)) {
-            game.getPlayersContinued().add(playerId);
-            System.out.println("CONTINUE: Player " + playerId + " continued in game " + gameId);
-        }
+            // Add the clicking player to continued list (idempotent)
+            if (!game.getPlayersContinued().contains(playerId)) {
+                game.getPlayersContinued().add(playerId);
+                log.debug("CONTINUE: Player {} continued in game {}", playerId, gameId);
+            }
 
-        // Auto-continue all AI players
-        for (com.example.backend.model.Player p : game.getPlayers()) {
-            if (p.isAI() && !game.getPlayersContinued().contains(p.getId())) {
-                game.getPlayersContinued().add(p.getId());
-                System.out.println("CONTINUE: Auto-continuing AI player " + p.getName() + " in game " + gameId);
+            // Auto-continue all AI players
+            for (com.example.backend.model.Player p : game.getPlayers()) {
+                if (p.isAI() && !game.getPlayersContinued().contains(p.getId())) {
+                    game.getPlayersContinued().add(p.getId());
+                    log.debug("CONTINUE: Auto-continuing AI player {} in game {}", p.getName(), gameId);
+                }
             }
-        }
 
-        // Check if all human players have now continued
-        List<String> humanIds = game.getPlayers().stream()
-                .filter(p -> !p.isAI())
-                .map(com.example.backend.model.Player::getId)
-                .collect(java.util.stream.Collectors.toList());
+            // Check if all human players have now continued
+            List<String> humanIds = game.getPlayers().stream()
+                    .filter(p -> !p.isAI())
+                    .map(com.example.backend.model.Player::getId)
+                    .collect(java.util.stream.Collectors.toList());
 
-        boolean allHumansContinued = !humanIds.isEmpty() &&
-                humanIds.stream().allMatch(id -> game.getPlayersContinued().contains(id));
+            boolean allHumansContinued = !humanIds.isEmpty() &&
+                    humanIds.stream().allMatch(id -> game.getPlayersContinued().contains(id));
 
-        if (allHumansContinued) {
-            System.out.println("CONTINUE: All human players continued in game " + gameId + " – resetting for new game");
-            game.resetForNewGame();
-        }
+            if (allHumansContinued) {
+                log.info("CONTINUE: All human players continued in game {}, resetting for a new game", gameId);
+                game.resetForNewGame();
+            }
 
-        broadcastGameUpdate(gameId);
-        return getGameResponse(gameId);
+            commit(game, GameEvent.Type.PLAYER_CONTINUED, playerId, null);
+            broadcastGameUpdate(gameId);
+            return getGameResponse(gameId);
+        }
     }
 
     /**
@@ -1036,13 +1669,12 @@ public class GameService {
      * own hidden dice without exposing opponents' values.
      */
     public List<Integer> getPlayerDice(String gameId, String playerId) {
-        Game game = getGame(gameId);
-        return game.getPlayers().stream()
-                .filter(p -> p.getId().equals(playerId))
-                .findFirst()
-                .map(Player::getDice)
-                .map(dice -> new ArrayList<>(dice))
-                .orElseThrow(() -> new IllegalArgumentException("Player not found: " + playerId));
+        GameSnapshot game = getGame(gameId).getSnapshot();
+        GameSnapshot.PlayerSnapshot player = game.getPlayer(playerId);
+        if (player == null) {
+            throw new IllegalArgumentException("Player not found: " + playerId);
+        }
+        return player.getDice().toList();
     }
 
     public void startMultiplayerGame(String gameId, String requestingPlayerId) {
@@ -1050,27 +1682,25 @@ public class GameService {
         if (game == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        if (game.getPlayers().isEmpty()) {
-            throw new IllegalArgumentException("Game has no players");
-        }
-        // Only the host (first player) may start the game
-        if (!game.getPlayers().get(0).getId().equals(requestingPlayerId)) {
-            throw new IllegalArgumentException("Only the host can start the game");
-        }
-        if (game.getPlayers().size() < 2) {
-            throw new IllegalArgumentException("Not enough players to start game. Minimum 2 players required");
-        }
+        synchronized (game) {
+            if (game.getPlayers().isEmpty()) {
+                throw new IllegalArgumentException("Game has no players");
+            }
+            // Only the host (first player) may start the game
+            if (!game.getPlayers().get(0).getId().equals(requestingPlayerId)) {
+                throw new IllegalArgumentException("Only the host can start the game");
+            }
+            if (game.getPlayers().size() < 2) {
+                throw new IllegalArgumentException("Not enough players to start game. Minimum 2 players required");
+            }
 
-        game.setState(GameState.COUNTDOWN);
-        game.setCountdownEndTime(System.currentTimeMillis() + 3000L);
-        broadcastGameUpdate(gameId);
+            game.setState(GameState.COUNTDOWN);
+            game.setCountdownEndTime(System.currentTimeMillis() + 3000L);
+            commit(game, GameEvent.Type.COUNTDOWN_STARTED, requestingPlayerId, Map.of("countdownEndTime", game.getCountdownEndTime()));
+            broadcastGameUpdate(gameId);
 
-        new java.util.Timer().schedule(new java.util.TimerTask() {
-            @Override
-            public void run() {
-                doActualStart(gameId);
-            }
-        }, 3000);
+            runLater(gameId, 3000, () -> doActualStart(gameId));
+        }
     }
 
     /** Internal overload used by the WebSocket join flow (host not yet determined). */
@@ -1079,48 +1709,52 @@ public class GameService {
         if (game == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        if (game.getPlayers().size() < 2) {
-            throw new IllegalArgumentException("Not enough players to start game. Minimum 2 players required");
-        }
+        synchronized (game) {
+            if (game.getPlayers().size() < 2) {
+                throw new IllegalArgumentException("Not enough players to start game. Minimum 2 players required");
+            }
 
-        game.setState(GameState.COUNTDOWN);
-        game.setCountdownEndTime(System.currentTimeMillis() + 3000L);
-        broadcastGameUpdate(gameId);
+            game.setState(GameState.COUNTDOWN);
+            game.setCountdownEndTime(System.currentTimeMillis() + 3000L);
+            commit(game, GameEvent.Type.COUNTDOWN_STARTED, null, Map.of("countdownEndTime", game.getCountdownEndTime()));
+            broadcastGameUpdate(gameId);
 
-        new java.util.Timer().schedule(new java.util.TimerTask() {
-            @Override
-            public void run() {
-                doActualStart(gameId);
-            }
-        }, 3000);
+            runLater(gameId, 3000, () -> doActualStart(gameId));
+        }
     }
 
     private void doActualStart(String gameId) {
-        Game game = getGame(gameId);
-        if (game == null || game.getState() != GameState.COUNTDOWN) {
-            return;
+        Game game = residentGame(gameId);
+        if (game == null) {
+            return; // Removed before the countdown ended
+        }
+        synchronized (game) {
+            if (game.getState() != GameState.COUNTDOWN) {
+                return;
+            }
+            RandomGenerator random = GameRandom.forGame(game);
+            for (Player player : game.getPlayers()) {
+                game.resetPlayer(player);
+            }
+            game.rollAllDice(random);
+            int dealerIdx = random.nextInt(Math.max(1, game.getPlayers().size()));
+            game.setDealerIndex(dealerIdx);
+            game.setCurrentPlayerIndex(dealerIdx);
+            game.setState(GameState.IN_PROGRESS);
+            game.setWaitingForPlayers(false);
+            game.setCurrentBid(null);
+            game.setPreviousBid(null);
+            game.clearEliminations();
+            game.setRoundNumber(1);
+            game.setMultiplayer(true);
+            game.setMaxPlayers(4);
+            game.setCountdownEndTime(null);
+            Player initialCurrent = game.getCurrentPlayer();
+            if (initialCurrent != null) recordActivity(gameId, initialCurrent.getId());
+            commit(game, GameEvent.Type.STARTED, null, Map.of("dice", diceOf(game), "dealerIndex", dealerIdx));
+            log.info("START GAME: Game {} started with {} players", gameId, game.getPlayers().size());
+            broadcastGameUpdate(gameId);
         }
-        for (Player player : game.getPlayers()) {
-            player.reset();
-            player.rollDice();
-        }
-        int dealerIdx = (int) (Math.random() * game.getPlayers().size());
-        game.setDealerIndex(dealerIdx);
-        game.setCurrentPlayerIndex(dealerIdx);
-        game.setState(GameState.IN_PROGRESS);
-        game.setWaitingForPlayers(false);
-        game.setCurrentBid(null);
-        game.setPreviousBid(null);
-        game.setEliminatedPlayers(new ArrayList<>());
-        game.setRoundNumber(1);
-        game.setMultiplayer(true);
-        game.setMaxPlayers(4);
-        game.setCountdownEndTime(null);
-        Player initialCurrent = game.getCurrentPlayer();
-        if (initialCurrent != null) recordActivity(gameId, initialCurrent.getId());
-        System.out.println(
-                "START GAME COMPLETE: Game state=" + game.getState() + ", Players=" + game.getPlayers().size());
-        broadcastGameUpdate(gameId);
     }
 
     public GameResponse getGameResponse(String gameId) {
@@ -1128,18 +1762,42 @@ public class GameService {
         if (game == null) {
             throw new IllegalArgumentException("Game not found");
         }
-        return new GameResponse(game);
+        return new GameResponse(game.getSnapshot());
     }
 
-    // Broadcast updates for multiplayer
+    // Broadcast updates for multiplayer. Requests for the same game are coalesced so that
+    // back-to-back mutations result in a single GAME_UPDATED carrying the latest state.
     public void broadcastGameUpdate(String gameId) {
+        if (isReplaying(gameId)) {
+            return;
+        }
+        broadcastCoalescer.request(gameId);
+    }
+
+    private void publishGameUpdate(String gameId) {
+        if (!games.containsKey(gameId)) {
+            return; // Game was removed while the update was pending
+        }
         try {
             GameResponse gameResponse = getGameResponse(gameId);
             messagingTemplate.convertAndSend("/topic/game/" + gameId,
-                    new WebSocketMessage("GAME_UPDATED", gameResponse, gameId, null));
+                    new WebSocketMessage("GAME_UPDATED", gameResponse, gameId, null),
+                    Map.of(OutboundFramePolicy.STATE_KEY_HEADER, gameId));
         } catch (Exception e) {
-            System.err.println("Error broadcasting game update: " + e.getMessage());
+            log.warn("Error broadcasting update of game {}", gameId, e);
+        }
+    }
+
+    /**
+     * Send an event message (PLAYER_LEFT, GAME_CANCELLED, ...). Events are never coalesced;
+     * a pending GAME_UPDATED for the game is published first to keep the original order.
+     */
+    private void sendGameEvent(String gameId, WebSocketMessage message) {
+        if (isReplaying(gameId)) {
+            return;
         }
+        broadcastCoalescer.sendInOrder(gameId,
+                () -> messagingTemplate.convertAndSend("/topic/game/" + gameId, message));
     }
 
     // Override existing methods to broadcast updates
@@ -1162,11 +1820,8 @@ public class GameService {
     }
 
     private void recordActivityForCurrentPlayer(String gameId) {
-        Game game = getGame(gameId);
-        if (game != null) {
-            Player current = game.getCurrentPlayer();
-            if (current != null) recordActivity(gameId, current.getId());
-        }
+        GameSnapshot.PlayerSnapshot current = getGame(gameId).getSnapshot().getCurrentPlayer();
+        if (current != null) recordActivity(gameId, current.getId());
     }
 
     /**
@@ -1178,83 +1833,66 @@ public class GameService {
         game.setState(GameState.ROUND_ENDED);
         boolean gameEnded = game.addRoundWinner(roundWinner.getId());
         if (gameEnded) {
-            System.out.println("Game ended! Winner: " + roundWinner.getName() + " with "
-                    + roundWinner.getWinTokens() + " tokens");
+            log.info("GAME OVER: {} won game {} with {} tokens", roundWinner.getName(), gameId,
+                    roundWinner.getWinTokens());
         } else {
             game.passDealerToNextPlayer();
-            System.out.println("Dealer button passed to next player: " + (game.getDealer() != null ? game.getDealer().getName() : "unknown"));
-            System.out.println("Round won by: " + roundWinner.getName() + " with "
-                    + roundWinner.getWinTokens() + " tokens. Starting new round in 8s.");
-            new java.util.Timer().schedule(new java.util.TimerTask() {
-                @Override
-                public void run() {
-                    startNewRound(gameId);
-                }
-            }, 8000);
+            log.debug("ROUND OVER: {} won with {} tokens, dealer is now {}, new round in 8s", roundWinner.getName(),
+                    roundWinner.getWinTokens(), game.getDealer() != null ? game.getDealer().getName() : "unknown");
+            runLater(gameId, 8000, () -> startNewRound(gameId));
         }
     }
 
     private void scheduleEnableContinue(String gameId) {
         // Enable continue button after 7 seconds
-        System.out.println("⏰ SCHEDULE: Scheduling enableContinue for game " + gameId + " in 7 seconds at "
-                + System.currentTimeMillis());
-        new java.util.Timer().schedule(new java.util.TimerTask() {
-            @Override
-            public void run() {
-                Game game = games.get(gameId);
-                System.out.println(
-                        "⏰ TIMER: EnableContinue timer fired for game " + gameId + " at " + System.currentTimeMillis()
-                                + ", showAllDice=" + (game != null ? game.isShowAllDice() : "null"));
-                if (game != null && game.isShowAllDice()) {
+        runLater(gameId, 7000, () -> {
+            Game game = games.get(gameId);
+            if (game == null) {
+                return;
+            }
+            synchronized (game) {
+                if (game.isShowAllDice()) {
                     game.setCanContinue(true);
+                    commit(game, GameEvent.Type.CONTINUE_ENABLED, null, null);
                     broadcastGameUpdate(gameId);
-                    System.out.println("⏰ TIMER: Set canContinue=true and broadcasted for game " + gameId);
+                    log.debug("TIMER: Continue enabled for game {}", gameId);
                 }
             }
-        }, 7000); // 7 seconds
+        });
 
         // Auto-continue after 8 seconds
-        System.out.println("⏰ SCHEDULE: Scheduling auto-continue for game " + gameId + " in 8 seconds at "
-                + System.currentTimeMillis());
-        new java.util.Timer().schedule(new java.util.TimerTask() {
-            @Override
-            public void run() {
-                Game game = games.get(gameId);
-                System.out.println(
-                        "⏰ TIMER: Auto-continue timer fired for game " + gameId + " at " + System.currentTimeMillis()
-                                + ", showAllDice=" + (game != null ? game.isShowAllDice() : "null"));
-                if (game != null && game.isShowAllDice()) {
-                    System.out.println("⏰ TIMER: Auto-continuing game " + gameId);
-                    continueGame(gameId);
-                }
+        runLater(gameId, 8000, () -> {
+            Game game = games.get(gameId);
+            if (game != null && game.isShowAllDice()) {
+                log.debug("TIMER: Auto-continuing game {}", gameId);
+                continueGame(gameId);
             }
-        }, 8000); // 8 seconds
+        });
     }
 
     public void continueGame(String gameId) {
-        Game game = games.get(gameId);
-        System.out.println("🔄 CONTINUE: continueGame called for game " + gameId + " at " + System.currentTimeMillis()
-                + ", showAllDice=" + (game != null ? game.isShowAllDice() : "null") + ", canContinue="
-                + (game != null ? game.isCanContinue() : "null"));
-        if (game != null && game.isShowAllDice() && game.isCanContinue()) {
-            // Clear the bid history for the new hand
-            game.clearCurrentHandBidHistory();
-            System.out.println("🔄 CONTINUE: Cleared current hand bid history for new hand");
+        Game game = residentGame(gameId);
+        if (game == null) {
+            log.debug("CONTINUE: Game {} no longer exists, skipping", gameId);
+            return;
+        }
+        synchronized (game) {
+            if (game.isShowAllDice() && game.isCanContinue()) {
+                // Clear the bid history for the new hand
+                game.clearCurrentHandBidHistory();
 
-            // Reroll dice for all remaining active players
-            for (Player player : game.getActivePlayers()) {
-                player.rollDice();
-            }
+                // Reroll dice for all remaining active players
+                game.rollAllDice(GameRandom.forGame(game));
 
-            // Hide dice and reset continue state
-            System.out.println(
-                    "🔄 CONTINUE: Setting showAllDice=false for game " + gameId + " at " + System.currentTimeMillis());
-            game.setShowAllDice(false);
-            game.setCanContinue(false);
-            broadcastGameUpdate(gameId);
-            System.out.println("🔄 CONTINUE: Broadcasted game update with showAllDice=false for game " + gameId);
-        } else {
-            System.out.println("🔄 CONTINUE: Cannot continue game " + gameId + " - conditions not met");
+                // Hide dice and reset continue state
+                game.setShowAllDice(false);
+                game.setCanContinue(false);
+                commit(game, GameEvent.Type.CONTINUED, null, Map.of("dice", diceOf(game)));
+                broadcastGameUpdate(gameId);
+                log.debug("CONTINUE: New hand dealt in game {}", gameId);
+            } else {
+                log.debug("CONTINUE: Cannot continue game {}, the hand is not over", gameId);
+            }
         }
     }
 
@@ -1268,7 +1906,10 @@ public class GameService {
             return; // No games to process
         }
 
-        for (Game game : games.values()) {
+        for (Game liveGame : games.values()) {
+            // Decide on the published snapshot; the live game may be mid-mutation
+            GameSnapshot game = liveGame.getSnapshot();
+
             // Skip if game is not in progress
             if (game.getState() != GameState.IN_PROGRESS) {
                 continue;
@@ -1286,7 +1927,7 @@ public class GameService {
             }
 
             // Check if current player is AI
-            Player currentPlayer = game.getCurrentPlayer();
+            GameSnapshot.PlayerSnapshot currentPlayer = game.getCurrentPlayer();
             if (currentPlayer == null) {
                 continue;
             }
@@ -1295,17 +1936,13 @@ public class GameService {
                 continue;
             }
 
-            System.out.println("🤖 AI DETECTION: Found AI player " + currentPlayer.getName() +
-                    " (ID: " + currentPlayer.getId() + ", aiType: " + currentPlayer.getAiType() +
-                    ") in game " + gameId);
-
             // Check if AI can act (use appropriate service based on AI type)
             boolean canAct = "MEDIUM_AI".equals(currentPlayer.getAiType())
-                    ? mediumAIService.canAIAct(gameId, game.getRoundNumber(), currentPlayer.getId())
-                    : easyAIService.canAIAct(gameId, game.getRoundNumber(), currentPlayer.getId());
+                    ? mediumAIService.canAIAct(gameId, game.getRoundNumber(), currentPlayer.getHandle())
+                    : easyAIService.canAIAct(gameId, game.getRoundNumber(), currentPlayer.getHandle());
 
             if (!canAct) {
-                System.out.println("🤖 AI SKIP: AI " + currentPlayer.getName() + " already acted this turn");
+                logSampled(gameId, "AI SKIP: AI {} already acted this turn", currentPlayer.getName());
                 continue;
             }
 
@@ -1315,44 +1952,56 @@ public class GameService {
                     : easyAIService.canActAfterRoundEnd(gameId, game.isShowAllDice());
 
             if (!canActAfterRound) {
-                System.out.println("🤖 AI SKIP: AI " + currentPlayer.getName() + " waiting for round end delay");
+                logSampled(gameId, "AI SKIP: AI {} waiting for round end delay", currentPlayer.getName());
                 continue;
             }
 
             // Mark as processing to prevent concurrent execution
             processingAITurns.add(gameId);
 
-            System.out.println("🤖 AI START: Starting AI turn for " + currentPlayer.getName());
+            log.debug("AI START: Starting turn of {} ({}) in game {}", currentPlayer.getName(), currentPlayer.getAiType(),
+                    gameId);
 
             // Process AI turn asynchronously
-            new Thread(() -> {
+            new Thread(GameLogContext.wrap(gameId, () -> {
                 try {
                     executeAITurn(game, currentPlayer);
                 } catch (Exception e) {
-                    System.err.println("Error processing AI turn for game " + gameId + ": " + e.getMessage());
-                    e.printStackTrace();
+                    log.error("Error processing AI turn for game {}", gameId, e);
                 } finally {
                     processingAITurns.remove(gameId);
                 }
-            }).start();
+            })).start();
+        }
+    }
+
+    /**
+     * Debug line from the AI tick, which runs every 500ms: let through at most once per
+     * {@link #AI_TICK_LOG_INTERVAL_MS} per game, saying how many were held back since.
+     */
+    private void logSampled(String gameId, String format, Object arg) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        long skipped = aiTickLog.sample(gameId, System.currentTimeMillis());
+        if (skipped >= 0) {
+            log.debug(format + " (game {}, {} similar lines skipped)", arg, gameId, skipped);
         }
     }
 
     /**
      * Execute an AI player's turn
      */
-    private void executeAITurn(Game game, Player aiPlayer) {
+    private void executeAITurn(GameSnapshot game, GameSnapshot.PlayerSnapshot aiPlayer) {
         String gameId = game.getId();
         String aiType = aiPlayer.getAiType();
         boolean isMediumAI = "MEDIUM_AI".equals(aiType);
 
-        System.out.println("🤖 " + (isMediumAI ? "Medium" : "Easy") + " AI " + aiPlayer.getName() + " is thinking...");
-
         // Mark that AI is acting (use appropriate service)
         if (isMediumAI) {
-            mediumAIService.markAIAction(gameId, game.getRoundNumber(), aiPlayer.getId());
+            mediumAIService.markAIAction(gameId, game.getRoundNumber(), aiPlayer.getHandle());
         } else {
-            easyAIService.markAIAction(gameId, game.getRoundNumber(), aiPlayer.getId());
+            easyAIService.markAIAction(gameId, game.getRoundNumber(), aiPlayer.getHandle());
         }
 
         try {
@@ -1364,12 +2013,14 @@ public class GameService {
                 ? mediumAIService.getThinkingDelay(isFirstTurn) 
                 : easyAIService.getThinkingDelay(isFirstTurn);
             
-            if (isFirstTurn) {
-                System.out.println("🤖 First turn detected - AI will think for ~6 seconds");
-            }
-            
             Thread.sleep(thinkingDelay);
 
+            // Decide on the state as it is after thinking, like a human would
+            Game liveGame = games.get(gameId);
+            if (liveGame != null) {
+                game = liveGame.getSnapshot();
+            }
+
             // Generate AI action (use appropriate service and method)
             Object actionObj;
             if (isMediumAI) {
@@ -1378,7 +2029,8 @@ public class GameService {
                 actionObj = easyAIService.generateRandomAction(
                         game.getCurrentBid(),
                         game.getPlayers().size(),
-                        game.getRoundNumber());
+                        game.getRoundNumber(),
+                        GameRandom.forAI(game));
             }
 
             // Both services use same AIAction class structure
@@ -1398,8 +2050,7 @@ public class GameService {
                 faceValue = easyAction.getFaceValue();
             }
 
-            System.out.println(
-                    "🤖 " + (isMediumAI ? "Medium" : "Easy") + " AI " + aiPlayer.getName() + " chooses: " + actionType);
+            log.debug("AI {} chooses {} after {}ms", aiPlayer.getName(), actionType, thinkingDelay);
 
             // Execute the action
             switch (actionType) {
@@ -1416,16 +2067,14 @@ public class GameService {
                     broadcastGameUpdate(gameId);
                     break;
                 default:
-                    System.err.println("Unknown AI action: " + actionType);
+                    log.warn("Unknown AI action: {}", actionType);
             }
 
-            System.out.println("🤖 AI DONE: " + aiPlayer.getName() + " completed " + actionType);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            System.err.println("AI turn interrupted for " + aiPlayer.getName());
+            log.debug("AI turn of {} interrupted", aiPlayer.getName());
         } catch (Exception e) {
-            System.err.println("Error executing AI turn: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error executing AI turn of {}", aiPlayer.getName(), e);
         }
     }
 }
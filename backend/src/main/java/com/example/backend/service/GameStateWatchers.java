@@ -0,0 +1,105 @@
+package com.example.backend.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Parked long-poll requests waiting for a game's state version to move past the version the
+ * client already has. Each watcher fires at most once: on the first committed change with a
+ * newer version, or when the game is removed.
+ *
+ * Changes are announced from inside a command, under the game's monitor, so callbacks run on
+ * a pool of responder threads: answering a parked request (building its response) never holds
+ * up the command or other games.
+ */
+class GameStateWatchers {
+
+    private static final class Watcher {
+        final long sinceVersion;
+        final Runnable callback;
+        final AtomicBoolean fired = new AtomicBoolean(false);
+
+        Watcher(long sinceVersion, Runnable callback) {
+            this.sinceVersion = sinceVersion;
+            this.callback = callback;
+        }
+
+        void fire(Executor responders) {
+            if (fired.compareAndSet(false, true)) {
+                responders.execute(callback);
+            }
+        }
+    }
+
+    private final Map<String, Set<Watcher>> watchersByGame = new ConcurrentHashMap<>();
+    private final Executor responders;
+
+    /** @param responderThreads number of threads running the callbacks of fired watchers */
+    GameStateWatchers(int responderThreads) {
+        this(Executors.newFixedThreadPool(responderThreads, r -> {
+            Thread t = new Thread(r, "long-poll-responder");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    /** @param responders runs the callbacks of fired watchers */
+    GameStateWatchers(Executor responders) {
+        this.responders = responders;
+    }
+
+    /**
+     * Register a callback for the next version after {@code sinceVersion}. Fires immediately if
+     * the game is already past it.
+     *
+     * @return a handle that unregisters the watcher (e.g. on request timeout)
+     */
+    Runnable watch(String gameId, long sinceVersion, LongSupplier currentVersion, Runnable callback) {
+        Watcher watcher = new Watcher(sinceVersion, callback);
+        watchersByGame.compute(gameId, (id, set) -> {
+            Set<Watcher> watchers = set != null ? set : ConcurrentHashMap.newKeySet();
+            watchers.add(watcher);
+            return watchers;
+        });
+        // Re-check after registering so a commit between the caller's read and now is not missed
+        if (currentVersion.getAsLong() > sinceVersion) {
+            unregister(gameId, watcher);
+            watcher.fire(responders);
+        }
+        return () -> unregister(gameId, watcher);
+    }
+
+    /** Fire every watcher of the game that is waiting for a version older than {@code version}. */
+    void notifyChanged(String gameId, long version) {
+        Set<Watcher> watchers = watchersByGame.get(gameId);
+        if (watchers == null) {
+            return;
+        }
+        for (Watcher watcher : watchers) {
+            if (version > watcher.sinceVersion) {
+                unregister(gameId, watcher);
+                watcher.fire(responders);
+            }
+        }
+    }
+
+    /** Fire and drop every watcher of a game that no longer exists. */
+    void notifyRemoved(String gameId) {
+        Set<Watcher> watchers = watchersByGame.remove(gameId);
+        if (watchers != null) {
+            watchers.forEach(watcher -> watcher.fire(responders));
+        }
+    }
+
+    private void unregister(String gameId, Watcher watcher) {
+        watchersByGame.computeIfPresent(gameId, (id, set) -> {
+            set.remove(watcher);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind persistence of game state. Committed mutations only mark the game dirty; a
+ * background flusher writes dirty games in batches, so Mongo latency never lands on the request
+ * path. Any number of mutations to a game between two flushes result in a single write. A flush
+ * runs every interval, or as soon as enough games are dirty to fill the flush threshold.
+ *
+ * A failed batch is marked dirty again (keeping its original dirty time) and retried on the next
+ * flush.
+ */
+class GameWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(GameWriteBehind.class);
+
+    private final int batchSize;
+    private final int flushThreshold;
+    private final Consumer<List<String>> writer;
+    /** gameId -> time (epoch ms) of the oldest mutation not yet written */
+    private final Map<String, Long> dirtySince = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLong lastFlushLagMs = new AtomicLong();
+    private final AtomicLong mutationCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "game-write-behind");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Flush on the interval only. */
+    GameWriteBehind(long flushIntervalMs, int batchSize, Consumer<List<String>> writer) {
+        this(flushIntervalMs, batchSize, Integer.MAX_VALUE, writer);
+    }
+
+    /**
+     * @param flushIntervalMs delay between the end of one flush and the start of the next
+     * @param batchSize       maximum number of games handed to the writer at once
+     * @param flushThreshold  number of dirty games that triggers a flush before the interval is up
+     * @param writer          writes the current state of the given games
+     */
+    GameWriteBehind(long flushIntervalMs, int batchSize, int flushThreshold, Consumer<List<String>> writer) {
+        this.batchSize = batchSize;
+        this.flushThreshold = flushThreshold;
+        this.writer = writer;
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Mark the game as changed since it was last written. */
+    void markDirty(String gameId) {
+        mutationCount.incrementAndGet();
+        if (dirtySince.putIfAbsent(gameId, System.currentTimeMillis()) == null
+                && dirtySince.size() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /** Forget pending writes of a game, e.g. because it was deleted. */
+    void discard(String gameId) {
+        dirtySince.remove(gameId);
+    }
+
+    /** Write every game that is currently dirty. */
+    synchronized void flush() {
+        flushRequested.set(false);
+        if (dirtySince.isEmpty()) {
+            return;
+        }
+        List<String> pending = new ArrayList<>(dirtySince.keySet());
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            writeBatch(pending.subList(from, Math.min(from + batchSize, pending.size())));
+        }
+    }
+
+    private void writeBatch(List<String> candidates) {
+        List<String> batch = new ArrayList<>(candidates.size());
+        List<Long> marks = new ArrayList<>(candidates.size());
+        long oldest = Long.MAX_VALUE;
+        for (String gameId : candidates) {
+            // Removing before the write means a mutation during the write marks the game again
+            Long since = dirtySince.remove(gameId);
+            if (since != null) {
+                batch.add(gameId);
+                marks.add(since);
+                oldest = Math.min(oldest, since);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writer.accept(batch);
+            writtenCount.addAndGet(batch.size());
+            lastFlushLagMs.set(System.currentTimeMillis() - oldest);
+        } catch (RuntimeException e) {
+            failedCount.addAndGet(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                dirtySince.merge(batch.get(i), marks.get(i), Math::min);
+            }
+            log.warn("Write-behind flush of {} games failed, will retry: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Write-behind flush error", e);
+        }
+    }
+
+    /** Stop the background flusher after writing everything still pending. */
+    void shutdown() {
+        scheduler.shutdown();
+        flushQuietly();
+    }
+
+    /** Number of games waiting to be written */
+    int queueDepth() {
+        return dirtySince.size();
+    }
+
+    /** Age (ms) of the oldest unwritten mutation, 0 when nothing is pending */
+    long oldestPendingAgeMs() {
+        long oldest = Long.MAX_VALUE;
+        for (Long since : dirtySince.values()) {
+            oldest = Math.min(oldest, since);
+        }
+        return oldest == Long.MAX_VALUE ? 0 : System.currentTimeMillis() - oldest;
+    }
+
+    /** Time (ms) from the oldest mutation to its write, for the last successful batch */
+    long lastFlushLagMs() {
+        return lastFlushLagMs.get();
+    }
+
+    /** Mutations marked so far; divided by {@link #writtenCount()} this shows how much is coalesced */
+    long mutationCount() {
+        return mutationCount.get();
+    }
+
+    long writtenCount() {
+        return writtenCount.get();
+    }
+
+    long failedCount() {
+        return failedCount.get();
+    }
+}
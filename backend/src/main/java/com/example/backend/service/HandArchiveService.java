@@ -0,0 +1,141 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.HandStatsResponse;
+import com.example.backend.model.BidType;
+import com.example.backend.model.HandRecord;
+import com.example.backend.repository.archive.HandArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exports completed hands to the local hand archive and answers queries over it. Recording a
+ * hand only queues it; a background thread writes a block once enough hands are queued or the
+ * oldest has waited long enough. Queries read the archive files only, never the live games.
+ */
+@Service
+public class HandArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(HandArchiveService.class);
+
+    /** Hands per archive block: large blocks compress better */
+    private static final int BLOCK_HANDS = 4096;
+    private static final long MAX_BLOCK_DELAY_MS = 60_000;
+    /** Hands beyond this many waiting for the writer are dropped */
+    private static final int MAX_PENDING = 100_000;
+
+    private final HandArchiveRepository repository;
+    private final List<HandRecord> pending = new ArrayList<>();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "hand-archive");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public HandArchiveService(HandArchiveRepository repository) {
+        this.repository = repository;
+        writer.scheduleWithFixedDelay(this::flushQuietly, MAX_BLOCK_DELAY_MS, MAX_BLOCK_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Queue a completed hand for the archive. */
+    public void record(HandRecord hand) {
+        boolean blockFull;
+        synchronized (pending) {
+            if (pending.size() >= MAX_PENDING) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            pending.add(hand);
+            blockFull = pending.size() == BLOCK_HANDS;
+        }
+        if (blockFull) {
+            writer.execute(this::flushQuietly);
+        }
+    }
+
+    /** Write everything queued so far. */
+    synchronized void flush() {
+        while (true) {
+            List<HandRecord> block;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                List<HandRecord> head = pending.subList(0, Math.min(BLOCK_HANDS, pending.size()));
+                block = new ArrayList<>(head);
+                head.clear();
+            }
+            repository.append(block);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Hand archive write failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        flushQuietly();
+    }
+
+    /** Archived hands that ended in [from, to), oldest first, at most limit of them */
+    public List<HandRecord> findHands(long from, long to, int limit, boolean withDetails) {
+        List<HandRecord> hands = new ArrayList<>();
+        repository.scan(from, to, withDetails, hand -> {
+            hands.add(hand);
+            return hands.size() < limit;
+        });
+        return hands;
+    }
+
+    /** Aggregate every archived hand that ended in [from, to). */
+    public HandStatsResponse stats(long from, long to) {
+        HandStatsResponse stats = new HandStatsResponse();
+        repository.scan(from, to, false, hand -> {
+            stats.setHands(stats.getHands() + 1);
+            if (hand.isBluff()) {
+                stats.setBluffs(stats.getBluffs() + 1);
+            }
+            if (hand.getOutcome() == BidType.SPOT_ON) {
+                stats.setSpotOns(stats.getSpotOns() + 1);
+                if (hand.isCallCorrect()) {
+                    stats.setCorrectSpotOns(stats.getCorrectSpotOns() + 1);
+                }
+            } else {
+                stats.setDoubts(stats.getDoubts() + 1);
+                if (hand.isCallCorrect()) {
+                    stats.setCorrectDoubts(stats.getCorrectDoubts() + 1);
+                }
+            }
+            for (int seat = 0; seat < hand.getSeats().size(); seat++) {
+                String aiType = hand.getSeats().get(seat).aiType();
+                HandStatsResponse.PlayerTypeStats type = stats.getByPlayerType()
+                        .computeIfAbsent(aiType != null ? aiType : "HUMAN", k -> new HandStatsResponse.PlayerTypeStats());
+                type.setHandsPlayed(type.getHandsPlayed() + 1);
+                if (seat == hand.getEliminatedSeat()) {
+                    type.setHandsLost(type.getHandsLost() + 1);
+                }
+            }
+            return true;
+        });
+        return stats;
+    }
+
+    long droppedCount() {
+        return droppedCount.get();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.backend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets a repeated log line through at most once per interval per key, e.g. per game for lines the
+ * AI tick would otherwise write twice a second. Lines held back are counted, so the next line let
+ * through can say how many it stands for.
+ */
+final class LogSampler {
+
+    private final long intervalMs;
+    /** Per key: when a line was last let through, and how many were held back since */
+    private final Map<String, long[]> windows = new ConcurrentHashMap<>();
+
+    LogSampler(long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    /** -1 if the line should be dropped, otherwise the number of lines dropped since the last one let through */
+    long sample(String key, long now) {
+        long[] result = new long[1];
+        windows.compute(key, (k, window) -> {
+            if (window == null || now - window[0] >= intervalMs) {
+                result[0] = window == null ? 0 : window[1];
+                return new long[] {now, 0};
+            }
+            window[1]++;
+            result[0] = -1;
+            return window;
+        });
+        return result[0];
+    }
+
+    void forget(String key) {
+        windows.remove(key);
+    }
+}
@@ -1,35 +1,32 @@
 package com.example.backend.service;
 
 import com.example.backend.model.Bid;
-import com.example.backend.model.Player;
-import com.example.backend.model.Game;
+import com.example.backend.model.Dice;
+import com.example.backend.model.GameRandom;
+import com.example.backend.model.GameSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 @Service
 public class MediumAIService {
+
+    private static final Logger log = LoggerFactory.getLogger(MediumAIService.class);
+
     
-    // Track AI actions to prevent double-acting
+    // Track the last AI action of each game to prevent double-acting
     private final Map<String, AIActionRecord> aiActionTracker = new ConcurrentHashMap<>();
     
     // Track round end times for delay enforcement
     private final Map<String, Long> roundEndTimes = new ConcurrentHashMap<>();
     
-    private static class AIActionRecord {
-        String gameId;
-        int roundNumber;
-        String currentPlayerId;
-        long timestamp;
-        
-        AIActionRecord(String gameId, int roundNumber, String currentPlayerId, long timestamp) {
-            this.gameId = gameId;
-            this.roundNumber = roundNumber;
-            this.currentPlayerId = currentPlayerId;
-            this.timestamp = timestamp;
-        }
+    private record AIActionRecord(int roundNumber, int playerHandle, long timestamp) {
     }
     
     public static class AIAction {
@@ -55,31 +52,27 @@ public class MediumAIService {
     /**
      * Check if AI can act (hasn't already acted in this turn)
      */
-    public boolean canAIAct(String gameId, int roundNumber, String currentPlayerId) {
-        String key = currentPlayerId;
-        AIActionRecord lastAction = aiActionTracker.get(key);
+    public boolean canAIAct(String gameId, int roundNumber, int playerHandle) {
+        AIActionRecord lastAction = aiActionTracker.get(gameId);
         
         if (lastAction == null) {
             return true;
         }
         
-        if (!lastAction.gameId.equals(gameId) || 
-            lastAction.roundNumber != roundNumber || 
-            !lastAction.currentPlayerId.equals(currentPlayerId)) {
+        if (lastAction.roundNumber() != roundNumber || lastAction.playerHandle() != playerHandle) {
             return true;
         }
         
         // Check if enough time has passed (at least 1 second to prevent spam)
-        long timeSinceLastAction = System.currentTimeMillis() - lastAction.timestamp;
+        long timeSinceLastAction = System.currentTimeMillis() - lastAction.timestamp();
         return timeSinceLastAction > 1000;
     }
     
     /**
      * Mark that an AI has acted
      */
-    public void markAIAction(String gameId, int roundNumber, String currentPlayerId) {
-        String key = currentPlayerId;
-        aiActionTracker.put(key, new AIActionRecord(gameId, roundNumber, currentPlayerId, System.currentTimeMillis()));
+    public void markAIAction(String gameId, int roundNumber, int playerHandle) {
+        aiActionTracker.put(gameId, new AIActionRecord(roundNumber, playerHandle, System.currentTimeMillis()));
     }
     
     /**
@@ -108,48 +101,59 @@ public class MediumAIService {
     public void clearRoundTracking(String gameId) {
         roundEndTimes.remove(gameId);
     }
+
+    /**
+     * Forget all tracking for a game that was removed or hibernated
+     */
+    public void forgetGame(String gameId) {
+        roundEndTimes.remove(gameId);
+        aiActionTracker.remove(gameId);
+    }
     
     /**
      * Generate an AI action based on mathematical principles and the AI's own hand
      */
-    public AIAction generateEducatedAction(Game game, Player aiPlayer) {
+    public AIAction generateEducatedAction(GameSnapshot game, GameSnapshot.PlayerSnapshot aiPlayer) {
         Bid currentBid = game.getCurrentBid();
-        List<Integer> myDice = aiPlayer.getDice();
-        int activePlayers = (int) game.getPlayers().stream().filter(p -> !p.isEliminated()).count();
+        Dice myDice = aiPlayer.getDice();
+        int activePlayers = game.getActivePlayerCount();
+        int totalDice = game.getDiceCount();
+        
+        RandomGenerator random = GameRandom.forAI(game);
         
-        System.out.println("🧠 MediumAI analyzing: myDice=" + myDice + ", activePlayers=" + activePlayers);
+        log.debug("MediumAI analyzing: myDice={}, activePlayers={}", myDice, activePlayers);
         
         // If no current bid, make an educated first bid based on our hand
         if (currentBid == null) {
-            return makeEducatedFirstBid(myDice, activePlayers);
+            return makeEducatedFirstBid(myDice, activePlayers, random);
         }
         
         // Analyze the current bid using mathematical principles
-        BidAnalysis analysis = analyzeBid(currentBid, myDice, activePlayers);
+        BidAnalysis analysis = analyzeBid(currentBid, myDice, totalDice);
         
-        System.out.println(String.format("🧠 Bid analysis: expected=%.2f, probability=%.2f%%, confidence=%.2f%%, inMyHand=%d",
-            analysis.expectedCount, analysis.probabilityTrue * 100, analysis.confidence * 100, analysis.diceInMyHand));
+        log.debug("Bid analysis: expected={}, probability={}%, confidence={}%, inMyHand={}",
+            analysis.expectedCount, analysis.probabilityTrue * 100, analysis.confidence * 100, analysis.diceInMyHand);
         
         // More critical decision logic - be skeptical of unlikely bids
         if (analysis.confidence < 0.30) {
             // Very unlikely based on statistics - always doubt
-            System.out.println("🧠 Bid is statistically very unlikely - DOUBTING");
+            log.debug("Bid is statistically very unlikely - DOUBTING");
             return new AIAction("doubt");
-        } else if (analysis.confidence > 0.90 && Math.random() < 0.03) {
+        } else if (analysis.confidence > 0.90 && random.nextDouble() < 0.03) {
             // Extremely confident it's true - rare spot on attempt
-            System.out.println("🧠 Extremely high confidence - attempting SPOT ON");
+            log.debug("Extremely high confidence - attempting SPOT ON");
             return new AIAction("spotOn");
         } else if (analysis.confidence < 0.55) {
             // Moderately unlikely - doubt with higher probability
             double doubtChance = (0.55 - analysis.confidence) * 2.2; // More aggressive doubting
-            if (Math.random() < doubtChance) {
-                System.out.println("🧠 Bid unlikely (confidence " + String.format("%.0f%%", analysis.confidence * 100) + ") - DOUBTING");
+            if (random.nextDouble() < doubtChance) {
+                log.debug("Bid unlikely (confidence {}) - DOUBTING", analysis.confidence);
                 return new AIAction("doubt");
             }
         }
         
         // Consider if we should switch to a better alternative or raise
-        AIAction alternativeAction = considerAlternative(currentBid, myDice, analysis, activePlayers);
+        AIAction alternativeAction = considerAlternative(currentBid, myDice, analysis, totalDice);
         if (alternativeAction != null) {
             return alternativeAction;
         }
@@ -159,24 +163,23 @@ public class MediumAIService {
         // small, believable raises (quantity +1, small face bump, or lower face with +1 qty).
         double baseBluff = 0.35; // slightly more often than before
         double bluffChance = baseBluff * (1.0 - analysis.confidence);
-        if (Math.random() < bluffChance) {
-            System.out.println(String.format("🧠 Attempting a BLUFF (chance %.2f) - confidence %.2f", bluffChance, analysis.confidence));
+        if (random.nextDouble() < bluffChance) {
+            log.debug("Attempting a BLUFF (chance {}) - confidence {}", bluffChance, analysis.confidence);
 
             int currentQuantity = currentBid.getQuantity();
             int currentFace = currentBid.getFaceValue();
-            int totalDice = activePlayers * 5;
 
             int newQuantity = currentQuantity;
             int newFace = currentFace;
 
-            double r = Math.random();
+            double r = random.nextDouble();
             if (r < 0.45) {
                 // Most common bluff: increase quantity by 1, keep same face
                 newQuantity = Math.min(currentQuantity + 1, totalDice);
                 newFace = currentFace;
             } else if (r < 0.75) {
                 // Second: keep quantity same but bump face slightly (by 1 or 2), if possible
-                int bump = 1 + (int) (Math.random() * 2); // 1 or 2
+                int bump = 1 + random.nextInt(2); // 1 or 2
                 newFace = Math.min(6, currentFace + bump);
                 // ensure the bid is strictly higher
                 if (!(newQuantity > currentQuantity || (newQuantity == currentQuantity && newFace > currentFace))) {
@@ -184,7 +187,7 @@ public class MediumAIService {
                 }
             } else {
                 // Third: switch to a lower face (more believable) but increase quantity by 1
-                int decrease = 1 + (int) (Math.random() * Math.min(2, Math.max(1, currentFace - 1)) );
+                int decrease = 1 + random.nextInt(Math.min(2, Math.max(1, currentFace - 1)));
                 newFace = Math.max(1, currentFace - decrease);
                 newQuantity = Math.min(currentQuantity + 1, totalDice);
             }
@@ -198,22 +201,22 @@ public class MediumAIService {
             // Final cap
             if (newQuantity > totalDice) newQuantity = totalDice;
 
-            System.out.println(String.format("🧠 Bluff bid chosen: %d of %ds (was %d of %ds)", newQuantity, newFace, currentQuantity, currentFace));
+            log.debug("Bluff bid chosen: {} of {}s (was {} of {}s)", newQuantity, newFace, currentQuantity, currentFace);
             return new AIAction("bid", newQuantity, newFace);
         }
         
         // Default: raise the bid conservatively
-        return makeEducatedRaise(currentBid, myDice, analysis, activePlayers);
+        return makeEducatedRaise(currentBid, myDice, analysis, totalDice);
     }
     
     /**
      * Make an educated first bid based on our hand
      */
-    private AIAction makeEducatedFirstBid(List<Integer> myDice, int activePlayers) {
+    private AIAction makeEducatedFirstBid(Dice myDice, int activePlayers, RandomGenerator random) {
         // Per new rule: if Medium AI starts the round (no current bid), it should
         // open with quantity = 1 and a random face value between 1 and 6.
-        int randomFace = (int) (Math.random() * 6) + 1; // 1-6
-        System.out.println(String.format("🧠 First bid (opening): bidding 1 of %ds", randomFace));
+        int randomFace = random.nextInt(6) + 1; // 1-6
+        log.debug("First bid (opening): bidding 1 of {}s", randomFace);
         return new AIAction("bid", 1, randomFace);
     }
     
@@ -221,14 +224,14 @@ public class MediumAIService {
      * Consider switching to a lower face value with higher quantity
      * This is strategic when the current bid is on a high value (especially 6)
      */
-    private AIAction considerAlternative(Bid currentBid, List<Integer> myDice, BidAnalysis analysis, int activePlayers) {
+    private AIAction considerAlternative(Bid currentBid, Dice myDice, BidAnalysis analysis, int totalDice) {
         int currentQuantity = currentBid.getQuantity();
         int currentFaceValue = currentBid.getFaceValue();
         
         // Count what we have in our hand
         int[] myCounts = new int[7];
-        for (int die : myDice) {
-            myCounts[die]++;
+        for (int face = 1; face <= 6; face++) {
+            myCounts[face] = myDice.count(face);
         }
         
         // Find our best alternative face value
@@ -244,7 +247,6 @@ public class MediumAIService {
         // Strategy: If current bid is high value (5-6) and we have 0 of it but 3+ of something else
         // Consider switching to that lower value with quantity+1
         if (currentFaceValue >= 5 && analysis.diceInMyHand == 0 && bestCount >= 3) {
-            int totalDice = activePlayers * 5;
             int newQuantity = currentQuantity + 1;
             
             // Calculate expected count for our alternative
@@ -252,8 +254,8 @@ public class MediumAIService {
             
             // If our alternative is more realistic, switch to it
             if (expectedAlternative >= newQuantity - 0.5) {
-                System.out.println(String.format("🧠 Strategic switch: from %d %ds to %d %ds (have %d, expected %.2f)",
-                    currentQuantity, currentFaceValue, newQuantity, bestFace, bestCount, expectedAlternative));
+                log.debug("Strategic switch: from {} {}s to {} {}s (have {}, expected {})",
+                    currentQuantity, currentFaceValue, newQuantity, bestFace, bestCount, expectedAlternative);
                 return new AIAction("bid", newQuantity, bestFace);
             }
         }
@@ -261,8 +263,8 @@ public class MediumAIService {
         // Strategy: For 6s specifically, strongly consider switching down (only raise by 1)
         if (currentFaceValue == 6 && bestFace < 6 && bestCount >= 2) {
             int newQuantity = currentQuantity + 1;
-            System.out.println(String.format("🧠 Switching from 6s: %d of %ds (have %d)",
-                newQuantity, bestFace, bestCount));
+            log.debug("Switching from 6s: {} of {}s (have {})",
+                newQuantity, bestFace, bestCount);
             return new AIAction("bid", newQuantity, bestFace);
         }
         
@@ -272,17 +274,17 @@ public class MediumAIService {
     /**
      * Make an educated raise based on bid analysis
      */
-    private AIAction makeEducatedRaise(Bid currentBid, List<Integer> myDice, BidAnalysis analysis, int activePlayers) {
+    private AIAction makeEducatedRaise(Bid currentBid, Dice myDice, BidAnalysis analysis, int totalDice) {
         int currentQuantity = currentBid.getQuantity();
         int currentFaceValue = currentBid.getFaceValue();
         
         // Count how many of the current bid's face value we have
-        int myCountOfCurrentFace = (int) myDice.stream().filter(d -> d == currentFaceValue).count();
+        int myCountOfCurrentFace = myDice.count(currentFaceValue);
         
         // Check if we have a lot of some other face value
         int[] myCounts = new int[7];
-        for (int die : myDice) {
-            myCounts[die]++;
+        for (int face = 1; face <= 6; face++) {
+            myCounts[face] = myDice.count(face);
         }
         
         int bestAlternateFace = currentFaceValue;
@@ -297,10 +299,10 @@ public class MediumAIService {
         // Strategy 1: If we have many of a higher face value, switch to that (only if realistic)
         if (bestAlternateFace > currentFaceValue && bestAlternateCount >= 3) {
             // Check if this is statistically sound
-            double expectedTotal = bestAlternateCount + ((activePlayers - 1) * 5) / 6.0;
+            double expectedTotal = bestAlternateCount + (totalDice - myDice.size()) / 6.0;
             if (currentQuantity <= expectedTotal) {
-                System.out.println(String.format("🧠 Switching to better hand: %d of %ds (have %d, expected %.1f)", 
-                    currentQuantity, bestAlternateFace, bestAlternateCount, expectedTotal));
+                log.debug("Switching to better hand: {} of {}s (have {}, expected {})", 
+                    currentQuantity, bestAlternateFace, bestAlternateCount, expectedTotal);
                 return new AIAction("bid", currentQuantity, bestAlternateFace);
             }
         }
@@ -308,11 +310,11 @@ public class MediumAIService {
         // Strategy 2: If we have many of a lower face value, increase quantity by only 1
         if (bestAlternateCount >= 4 && bestAlternateFace < currentFaceValue) {
             int newQuantity = currentQuantity + 1;
-            double expectedTotal = bestAlternateCount + ((activePlayers - 1) * 5) / 6.0;
+            double expectedTotal = bestAlternateCount + (totalDice - myDice.size()) / 6.0;
             // Only bid if statistically sound
             if (newQuantity <= expectedTotal + 1) {
-                System.out.println(String.format("🧠 Increasing quantity by 1 for lower face: %d of %ds (have %d, expected %.1f)", 
-                    newQuantity, bestAlternateFace, bestAlternateCount, expectedTotal));
+                log.debug("Increasing quantity by 1 for lower face: {} of {}s (have {}, expected {})", 
+                    newQuantity, bestAlternateFace, bestAlternateCount, expectedTotal);
                 return new AIAction("bid", newQuantity, bestAlternateFace);
             }
         }
@@ -320,47 +322,46 @@ public class MediumAIService {
         // Strategy 3: Conservative raise - increase face value only if we have at least 2 and it's statistically sound
         if (currentFaceValue < 6) {
             int myCountOfNextFace = myCounts[currentFaceValue + 1];
-            double expectedTotal = myCountOfNextFace + ((activePlayers - 1) * 5) / 6.0;
+            double expectedTotal = myCountOfNextFace + (totalDice - myDice.size()) / 6.0;
             // Be more demanding: need at least 2 in hand AND statistical support
             if (myCountOfNextFace >= 2 && currentQuantity <= expectedTotal) {
-                System.out.println(String.format("🧠 Conservative raise: %d of %ds (have %d, expected %.1f)", 
-                    currentQuantity, currentFaceValue + 1, myCountOfNextFace, expectedTotal));
+                log.debug("Conservative raise: {} of {}s (have {}, expected {})", 
+                    currentQuantity, currentFaceValue + 1, myCountOfNextFace, expectedTotal);
                 return new AIAction("bid", currentQuantity, currentFaceValue + 1);
             }
         }
         
         // Strategy 4: Increase quantity by 1 only if statistically reasonable
         int myCountOfCurrentFaceForCheck = myCounts[currentFaceValue];
-        double expectedTotal = myCountOfCurrentFaceForCheck + ((activePlayers - 1) * 5) / 6.0;
+        double expectedTotal = myCountOfCurrentFaceForCheck + (totalDice - myDice.size()) / 6.0;
         int newQuantity = currentQuantity + 1;
         
         // If the new quantity is way beyond expected, be very reluctant
         if (newQuantity > expectedTotal + 2) {
-            System.out.println(String.format("🧠 Bid too high (want %d but expected %.1f) - DOUBTING instead", 
-                newQuantity, expectedTotal));
+            log.debug("Bid too high (want {} but expected {}) - DOUBTING instead", 
+                newQuantity, expectedTotal);
             return new AIAction("doubt");
         }
         
-        System.out.println(String.format("🧠 Safe raise by 1: %d of %ds (have %d, expected %.1f)", 
-            newQuantity, currentFaceValue, myCountOfCurrentFaceForCheck, expectedTotal));
+        log.debug("Safe raise by 1: {} of {}s (have {}, expected {})", 
+            newQuantity, currentFaceValue, myCountOfCurrentFaceForCheck, expectedTotal);
         return new AIAction("bid", newQuantity, currentFaceValue);
     }
     
     /**
      * Analyze a bid using probability theory
      */
-    private BidAnalysis analyzeBid(Bid bid, List<Integer> myDice, int activePlayers) {
+    private BidAnalysis analyzeBid(Bid bid, Dice myDice, int totalDiceInGame) {
         BidAnalysis analysis = new BidAnalysis();
         
         int targetFace = bid.getFaceValue();
         int targetQuantity = bid.getQuantity();
         
         // Count how many of this face we have
-        analysis.diceInMyHand = (int) myDice.stream().filter(d -> d == targetFace).count();
+        analysis.diceInMyHand = myDice.count(targetFace);
         
         // Calculate remaining dice (other players' dice)
         int myTotalDice = myDice.size();
-        int totalDiceInGame = activePlayers * 5; // Assuming 5 dice per player
         int otherPlayersDice = totalDiceInGame - myTotalDice;
         
         // Calculate how many more dice we need from others
@@ -418,8 +419,8 @@ public class MediumAIService {
         double maxReasonable = analysis.diceInMyHand + ((otherPlayersDice / 6.0) * 1.5);
         if (targetQuantity > maxReasonable) {
             baseConfidence *= 0.5; // 50% penalty for statistically improbable bids
-            System.out.println(String.format("🧠 Bid exceeds reasonable max (bid=%d, maxReasonable=%.1f)", 
-                targetQuantity, maxReasonable));
+            log.debug("Bid exceeds reasonable max (bid={}, maxReasonable={})", 
+                targetQuantity, maxReasonable);
         }
         
         analysis.confidence = Math.max(0.05, Math.min(0.95, baseConfidence));
@@ -444,8 +445,8 @@ public class MediumAIService {
      */
     public long getThinkingDelay(boolean isFirstTurn) {
         if (isFirstTurn) {
-            return (long) (Math.random() * 1000) + 5500; // 5.5-6.5 seconds
+            return ThreadLocalRandom.current().nextLong(1000) + 5500; // 5.5-6.5 seconds
         }
-        return (long) (Math.random() * 1000) + 500; // 0.5-1.5 seconds
+        return ThreadLocalRandom.current().nextLong(1000) + 500; // 0.5-1.5 seconds
     }
 }
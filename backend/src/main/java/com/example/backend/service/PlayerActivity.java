@@ -0,0 +1,40 @@
+package com.example.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * When each player of one game was last active (heartbeat or action), indexed by the player's
+ * handle in that game. Handles are small and dense, so this is a plain array that grows as
+ * players join; 0 means no activity recorded.
+ */
+final class PlayerActivity {
+
+    private long[] lastActiveAt = new long[8];
+
+    synchronized void record(int handle, long at) {
+        if (handle >= lastActiveAt.length) {
+            lastActiveAt = Arrays.copyOf(lastActiveAt, Math.max(handle + 1, lastActiveAt.length * 2));
+        }
+        lastActiveAt[handle] = at;
+    }
+
+    /** Last activity of the player, 0 if none was recorded */
+    synchronized long lastActiveAt(int handle) {
+        return handle >= 0 && handle < lastActiveAt.length ? lastActiveAt[handle] : 0;
+    }
+
+    synchronized void clear(int handle) {
+        if (handle >= 0 && handle < lastActiveAt.length) {
+            lastActiveAt[handle] = 0;
+        }
+    }
+
+    /** Most recent activity of any player of the game */
+    synchronized long latest() {
+        long latest = 0;
+        for (long at : lastActiveAt) {
+            latest = Math.max(latest, at);
+        }
+        return latest;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundFrameQueueTest {
+
+    @Test
+    void newerStateReplacesQueuedState_eventsKept() {
+        OutboundFrameQueue<String> queue = new OutboundFrameQueue<>(1_000);
+
+        assertEquals(OutboundFrameQueue.Offer.QUEUED, queue.offer("state-1", "sub-0", 10));
+        assertEquals(OutboundFrameQueue.Offer.QUEUED, queue.offer("PLAYER_LEFT", null, 10));
+        assertEquals(OutboundFrameQueue.Offer.COALESCED, queue.offer("state-2", "sub-0", 10));
+        assertEquals(OutboundFrameQueue.Offer.QUEUED, queue.offer("GAME_CANCELLED", null, 10));
+
+        assertEquals(List.of("PLAYER_LEFT", "state-2", "GAME_CANCELLED"), drain(queue));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void stateAlreadySent_isNotReplaced() {
+        OutboundFrameQueue<String> queue = new OutboundFrameQueue<>(1_000);
+
+        queue.offer("state-1", "sub-0", 10);
+        assertEquals("state-1", queue.poll());
+        assertEquals(OutboundFrameQueue.Offer.QUEUED, queue.offer("state-2", "sub-0", 10));
+
+        assertEquals(List.of("state-2"), drain(queue));
+    }
+
+    @Test
+    void backlogOverLimit_reportsOverflow() {
+        OutboundFrameQueue<String> queue = new OutboundFrameQueue<>(25);
+
+        assertEquals(OutboundFrameQueue.Offer.QUEUED, queue.offer("big", null, 100), "A single oversized frame is allowed");
+        assertEquals(OutboundFrameQueue.Offer.OVERFLOW, queue.offer("event", null, 10));
+        assertEquals(2, queue.clear());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void coalescedStates_doNotCountTowardsLimit() {
+        OutboundFrameQueue<String> queue = new OutboundFrameQueue<>(25);
+
+        for (int i = 0; i < 10; i++) {
+            assertNotEquals(OutboundFrameQueue.Offer.OVERFLOW, queue.offer("state-" + i, "sub-0", 20));
+        }
+        assertEquals(List.of("state-9"), drain(queue));
+    }
+
+    @Test
+    void stateKey_onlyForFramesTaggedWithAStateKey() {
+        String update = "MESSAGE\ndestination:/topic/game/abc\ncontent-type:application/json\nsubscription:sub-3\n"
+                + "message-id:1\nlatest-state-key:abc\ncontent-length:30\n\n{\"data\":{},\"type\":\"GAME_UPDATED\"}\u0000";
+        String event = "MESSAGE\ndestination:/topic/game/abc\nsubscription:sub-3\n\n{\"type\":\"GAME_UPDATED\"}\u0000";
+        String bodyOnly = "MESSAGE\ndestination:/topic/game/abc\nsubscription:sub-3\n\nlatest-state-key:abc\n\u0000";
+
+        assertEquals("sub-3/abc", OutboundFramePolicy.stateKey(new TextMessage(update)));
+        assertNull(OutboundFramePolicy.stateKey(new TextMessage(event)), "Untagged frames are never replaced");
+        assertNull(OutboundFramePolicy.stateKey(new TextMessage(bodyOnly)), "Only headers count");
+        assertNull(OutboundFramePolicy.stateKey(new TextMessage("CONNECTED\nversion:1.2\n\n\u0000")));
+    }
+
+    private static List<String> drain(OutboundFrameQueue<String> queue) {
+        List<String> frames = new ArrayList<>();
+        String frame;
+        while ((frame = queue.poll()) != null) {
+            frames.add(frame);
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.backend.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameControllerETagTest {
+
+    private static final String ETAG = "\"abc-12\"";
+
+    @Test
+    void matchesETag_findsOurTagInAList() {
+        assertTrue(GameController.matchesETag("\"abc-11\", \"abc-12\"", ETAG));
+        assertTrue(GameController.matchesETag("\"abc-11\",W/\"abc-12\"", ETAG), "Weak tags compare weakly");
+        assertTrue(GameController.matchesETag("*", ETAG));
+    }
+
+    @Test
+    void matchesETag_ignoresOtherTags() {
+        assertFalse(GameController.matchesETag(null, ETAG));
+        assertFalse(GameController.matchesETag("\"abc-1\"", ETAG));
+        assertFalse(GameController.matchesETag("\"abc-120\"", ETAG));
+    }
+
+    @Test
+    void gameETag_differsPerViewer() {
+        String spectator = GameController.gameETag("abc", 12, null);
+        String alice = GameController.gameETag("abc", 12, "p1");
+        String bob = GameController.gameETag("abc", 12, "p2");
+
+        assertEquals(ETAG, spectator);
+        assertNotEquals(spectator, alice);
+        assertNotEquals(alice, bob);
+        assertFalse(GameController.matchesETag(alice, bob), "A player's tag never validates another player's copy");
+    }
+}
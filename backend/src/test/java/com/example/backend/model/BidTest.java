@@ -0,0 +1,48 @@
+package com.example.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BidTest {
+
+    @Test
+    void claims_areSharedAndRankedLikeTheRaiseRule() {
+        assertSame(Bid.raise("a", 3, 4).getClaim(), Bid.raise("b", 3, 4).getClaim());
+        assertSame(Bid.doubt("a").getClaim(), Bid.doubt("b").getClaim());
+        assertEquals(Bid.raise("a", 3, 4), new Bid("a", 3, 4, BidType.RAISE));
+
+        for (int q = 1; q <= Bid.MAX_QUANTITY; q++) {
+            for (int f = 1; f <= Dice.FACES; f++) {
+                Bid previous = Bid.raise("a", q, f);
+                for (int nq = 1; nq <= Bid.MAX_QUANTITY; nq++) {
+                    for (int nf = 1; nf <= Dice.FACES; nf++) {
+                        boolean raise = nq > q || (nf > f && nq >= q);
+                        assertEquals(raise, GameRules.isBidValid(Bid.raise("b", nq, nf), previous));
+                    }
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> Bid.raise("a", Bid.MAX_QUANTITY + 1, 1));
+    }
+
+    @Test
+    void history_keepsBidsAndPlayersInOrder() {
+        BidHistory history = new BidHistory();
+        history.add(Bid.raise("alice", 1, 6));
+        history.add(Bid.raise("bob", 2, 3));
+        history.add(Bid.raise("alice", 2, 5));
+        history.add(Bid.doubt("bob"));
+
+        BidHistory copy = history.copy();
+        history.clear();
+        history.add(Bid.spotOn("carol"));
+
+        assertEquals(List.of(Bid.raise("alice", 1, 6), Bid.raise("bob", 2, 3), Bid.raise("alice", 2, 5),
+                Bid.doubt("bob")), copy.asList());
+        assertEquals(List.of(Bid.spotOn("carol")), history.asList());
+        assertEquals(copy.asList(), BidHistory.of(copy.asList()).asList());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatLogTest {
+
+    private static ChatMessage message(String text) {
+        return new ChatMessage("p1", "Alice", text);
+    }
+
+    @Test
+    void append_keepsTheLastMessagesInOrder() {
+        ChatLog chat = new ChatLog();
+        for (int i = 1; i <= ChatLog.CAPACITY + 5; i++) {
+            assertEquals(i, chat.append(message("m" + i)));
+        }
+
+        assertEquals(ChatLog.CAPACITY, chat.size());
+        assertEquals(6, chat.getFirstSeq());
+        List<ChatMessage> all = chat.toList();
+        assertEquals("m6", all.get(0).getText());
+        assertEquals("m" + (ChatLog.CAPACITY + 5), all.get(all.size() - 1).getText());
+
+        List<ChatMessage> newer = chat.since(ChatLog.CAPACITY + 3);
+        assertEquals(2, newer.size());
+        assertEquals(ChatLog.CAPACITY + 4, newer.get(0).getSeq());
+        assertTrue(chat.since(chat.getLastSeq()).isEmpty());
+    }
+
+    @Test
+    void of_numbersLegacyMessagesAndKeepsNumberedOnes() {
+        List<ChatMessage> legacy = new ArrayList<>(List.of(message("a"), message("b")));
+        ChatLog numbered = ChatLog.of(legacy);
+        assertEquals(2, numbered.getLastSeq());
+        assertEquals(1, legacy.get(0).getSeq());
+
+        ChatLog chat = new ChatLog();
+        for (int i = 0; i < 250; i++) {
+            chat.append(message("m" + i));
+        }
+        ChatLog reloaded = ChatLog.of(chat.toList());
+        assertEquals(250, reloaded.getLastSeq());
+        assertEquals(chat.since(240), reloaded.since(240));
+    }
+
+    @Test
+    void snapshot_servesMessagesSinceASequenceNumber() {
+        Game game = new Game();
+        for (int i = 0; i < 3; i++) {
+            game.getChatMessages().append(message("m" + i));
+        }
+        GameSnapshot snapshot = game.publishSnapshot();
+
+        assertEquals(3, snapshot.getLastChatSeq());
+        assertEquals(List.of("m1", "m2"),
+                snapshot.getChatMessagesSince(1).stream().map(ChatMessage::getText).toList());
+        assertEquals(3, snapshot.getChatMessagesSince(0).size());
+        assertTrue(snapshot.getChatMessagesSince(9).isEmpty());
+    }
+
+    @Test
+    void view_ignoresLaterMessagesAndDropsTheOnesTheyOverwrite() {
+        ChatLog chat = new ChatLog();
+        for (int i = 1; i <= 10; i++) {
+            chat.append(message("m" + i));
+        }
+        ChatLog.View view = chat.view();
+
+        for (int i = 11; i <= ChatLog.CAPACITY + 3; i++) {
+            chat.append(message("m" + i));
+        }
+
+        assertEquals(10, view.getLastSeq());
+        List<ChatMessage> held = view.since(0);
+        assertEquals(List.of("m4", "m5", "m6", "m7", "m8", "m9", "m10"),
+                held.stream().map(ChatMessage::getText).toList());
+        assertEquals(List.of("m10"), view.since(9).stream().map(ChatMessage::getText).toList());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiceTest {
+
+    @Test
+    void packedDice_keepFacesInOrderAndCountThem() {
+        Dice dice = Dice.of(6, 1, 3, 6, 6);
+
+        assertEquals(5, dice.size());
+        assertEquals(List.of(6, 1, 3, 6, 6), dice.toList());
+        assertEquals(3, dice.get(2));
+        assertEquals(3, dice.count(6));
+        assertEquals(1, dice.count(1));
+        assertEquals(0, dice.count(2));
+        assertEquals(4, dice.count(6, true), "Ones are wild");
+        assertEquals(1, dice.count(1, true), "Ones are not counted twice");
+        assertEquals(Dice.of(List.of(6, 1, 3, 6, 6)), dice);
+    }
+
+    @Test
+    void roll_staysWithinFaces() {
+        for (int i = 0; i < 1000; i++) {
+            Dice dice = Dice.roll(5);
+            int total = 0;
+            for (int face = 1; face <= Dice.FACES; face++) {
+                total += dice.count(face);
+            }
+            assertEquals(5, total);
+            dice.toList().forEach(face -> assertTrue(face >= 1 && face <= 6));
+        }
+    }
+
+    @Test
+    void rollAll_isEvenAndRepeatableFromASeed() {
+        Dice[] hands = Dice.rollAll(6000, 5, new SplittableRandom(42));
+        int[] seen = new int[Dice.FACES + 1];
+        for (Dice hand : hands) {
+            assertEquals(5, hand.size());
+            for (int face = 1; face <= Dice.FACES; face++) {
+                seen[face] += hand.count(face);
+            }
+        }
+        for (int face = 1; face <= Dice.FACES; face++) {
+            assertTrue(Math.abs(seen[face] - 5000) < 300, "Face " + face + " rolled " + seen[face] + " times");
+        }
+
+        Dice[] again = Dice.rollAll(6000, 5, new SplittableRandom(42));
+        assertArrayEquals(hands, again);
+        assertEquals(hands[0], Dice.roll(5, new SplittableRandom(42)));
+    }
+
+    @Test
+    void invalidDice_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Dice.of(0));
+        assertThrows(IllegalArgumentException.class, () -> Dice.of(7));
+        assertThrows(IllegalArgumentException.class, () -> Dice.of(1, 1, 1, 1, 1, 1, 1, 1, 1, 1));
+        assertSame(Dice.EMPTY, Dice.of());
+        assertTrue(Dice.EMPTY.isEmpty());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSnapshotTest {
+
+    @Test
+    void snapshot_isUnaffectedByLaterMutations() {
+        Game game = new Game(List.of(new Player("Alice"), new Player("Bob")));
+        game.rollAllDice(new SplittableRandom(1));
+        game.setCurrentBid(new Bid(game.getPlayers().get(0).getId(), 2, 3, BidType.RAISE));
+        game.markModified();
+        GameSnapshot before = game.publishSnapshot();
+        Dice rolled = game.getPlayers().get(0).getDice();
+
+        game.getPlayers().get(0).setDice(Dice.EMPTY);
+        game.setCurrentBid(Bid.raise(game.getPlayers().get(0).getId(), 9, 3));
+        game.eliminatePlayer(game.getPlayers().get(1).getId());
+        game.getPlayers().add(new Player("Carol"));
+
+        assertEquals(2, before.getPlayers().size());
+        assertEquals(5, before.getPlayers().get(0).getDice().size());
+        assertEquals(2, before.getCurrentBid().getQuantity());
+        assertTrue(before.getEliminatedPlayers().isEmpty());
+        assertSame(before, game.getSnapshot(), "Readers keep seeing the last published snapshot");
+        assertEquals(rolled, before.getPlayers().get(0).getDice());
+    }
+
+    @Test
+    void publish_neverReplacesNewerSnapshot() {
+        Game game = new Game();
+        game.markModified();
+        game.markModified();
+        GameSnapshot newer = game.publishSnapshot();
+        game.setStateVersion(1);
+
+        assertSame(newer, game.publishSnapshot());
+        assertEquals(2, game.getSnapshot().getStateVersion());
+    }
+}
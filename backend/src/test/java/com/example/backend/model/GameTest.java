@@ -0,0 +1,177 @@
+package com.example.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameTest {
+
+    private static int walkCount(Game game, int face) {
+        return GameRules.countDiceWithValue(game.getActivePlayers(), face, false);
+    }
+
+    @Test
+    void diceCounts_followRollsEliminationsAndLeaves() {
+        Player alice = new Player("Alice");
+        Player bob = new Player("Bob");
+        Player carol = new Player("Carol");
+        Game game = new Game(List.of(alice, bob, carol));
+        game.setPlayerDice(alice, Dice.of(1, 2, 2, 6, 6));
+        game.setPlayerDice(bob, Dice.of(2, 3, 4, 5, 6));
+        game.setPlayerDice(carol, Dice.of(6, 6, 6, 1, 1));
+
+        assertEquals(15, game.getDiceCount());
+        assertEquals(6, game.countDice(6));
+        assertEquals(3, game.countDice(2));
+
+        game.eliminatePlayer(carol.getId());
+        assertEquals(10, game.getDiceCount());
+        assertEquals(3, game.countDice(6));
+
+        game.removePlayer(bob.getId());
+        assertEquals(5, game.getDiceCount());
+        assertEquals(2, game.countDice(2));
+
+        game.rollAllDice(new SplittableRandom(1));
+        for (int face = 1; face <= 6; face++) {
+            assertEquals(walkCount(game, face), game.countDice(face));
+        }
+        assertEquals(game.getDiceCount(), game.publishSnapshot().getDiceCount());
+    }
+
+    @Test
+    void diceCounts_areRebuiltForLoadedGames() {
+        Player alice = new Player("Alice");
+        alice.setDice(Dice.of(3, 3, 4));
+        Game game = new Game(List.of(alice));
+
+        assertEquals(2, game.countDice(3));
+        assertEquals(3, game.getDiceCount());
+
+        game.startNewRound();
+        assertEquals(Game.DICE_PER_PLAYER, game.getDiceCount());
+    }
+
+    @Test
+    void seatRing_skipsEliminatedPlayersAndFollowsLeaves() {
+        Player alice = new Player("Alice");
+        Player bob = new Player("Bob");
+        Player carol = new Player("Carol");
+        Player dave = new Player("Dave");
+        Game game = new Game(List.of(alice, bob, carol, dave));
+
+        game.eliminatePlayer(bob.getId());
+        game.eliminatePlayer(dave.getId());
+        assertEquals(2, game.getActivePlayerCount());
+        assertEquals(List.of(alice, carol), game.getActivePlayers());
+        assertEquals(List.of(bob.getId(), dave.getId()), game.getEliminatedPlayers());
+        assertEquals(2, game.nextActiveSeat(0));
+        assertEquals(0, game.nextActiveSeat(2));
+        assertEquals(2, game.activeSeatFrom(1));
+        assertEquals(0, game.activeSeatFrom(3));
+
+        // Carol and Dave move down a seat when Alice leaves
+        game.removePlayer(alice.getId());
+        assertTrue(game.isSeatEliminated(0));
+        assertFalse(game.isSeatEliminated(1));
+        assertTrue(game.isEliminated(dave.getId()));
+        assertEquals(1, game.nextActiveSeat(1));
+
+        game.startNewRound();
+        assertEquals(3, game.getActivePlayerCount());
+        assertFalse(bob.isEliminated());
+        assertEquals(1, game.nextActiveSeat(0));
+    }
+
+    @Test
+    void seatRing_isRebuiltFromPlayerFlags() {
+        Player alice = new Player("Alice");
+        Player bob = new Player("Bob");
+        bob.setEliminated(true);
+        Game game = new Game(List.of(alice, bob));
+
+        assertTrue(game.isEliminated(bob.getId()));
+        assertEquals(0, game.activeSeatFrom(1));
+        assertEquals(game.getEliminatedPlayers(), game.publishSnapshot().toGame().getEliminatedPlayers());
+    }
+
+    @Test
+    void seatIndex_followsJoinsAndLeaves() {
+        Player alice = new Player("Alice");
+        Player bob = new Player("Bob");
+        Game game = new Game(List.of(alice, bob));
+        assertSame(bob, game.getPlayer(bob.getId()));
+
+        Player carol = new Player("Carol");
+        game.addPlayer(carol);
+        assertEquals(2, game.seatOf(carol.getId()));
+
+        game.removePlayer(alice.getId());
+        assertEquals(-1, game.seatOf(alice.getId()));
+        assertEquals(0, game.seatOf(bob.getId()));
+        assertEquals(1, game.seatOf(carol.getId()));
+        assertNull(game.getPlayer("nobody"));
+
+        // A list changed behind the game's back is picked up again
+        Player dave = new Player("Dave");
+        game.getPlayers().add(dave);
+        assertEquals(2, game.seatOf(dave.getId()));
+    }
+
+    @Test
+    void handles_areStableAndNotReused() {
+        Player alice = new Player("Alice");
+        Player bob = new Player("Bob");
+        Game game = new Game(List.of(alice, bob));
+        int bobHandle = game.handleOf(bob.getId());
+        assertTrue(bobHandle > 0);
+        assertNotEquals(game.handleOf(alice.getId()), bobHandle);
+
+        game.removePlayer(alice.getId());
+        Player carol = new Player("Carol");
+        game.addPlayer(carol);
+
+        assertEquals(bobHandle, game.handleOf(bob.getId()));
+        assertEquals(3, game.handleOf(carol.getId()));
+        assertEquals(-1, game.handleOf(alice.getId()));
+        assertEquals(bobHandle, game.publishSnapshot().getPlayers().get(0).getHandle());
+    }
+
+    @Test
+    void seededGames_rollTheSameDice() {
+        Game first = seededGame(7L);
+        Game second = seededGame(7L);
+        RandomGenerator firstRandom = GameRandom.forGame(first);
+        RandomGenerator secondRandom = GameRandom.forGame(second);
+        first.rollAllDice(firstRandom);
+        first.chooseDealer(firstRandom);
+        second.rollAllDice(secondRandom);
+        second.chooseDealer(secondRandom);
+
+        assertEquals(first.getDealerIndex(), second.getDealerIndex());
+        assertEquals(first.getDealerIndex(), first.getCurrentPlayerIndex());
+        for (int seat = 0; seat < 3; seat++) {
+            assertEquals(first.getPlayers().get(seat).getDice(), second.getPlayers().get(seat).getDice());
+            assertEquals(Game.DICE_PER_PLAYER, first.getPlayers().get(seat).getDice().size());
+        }
+
+        // The next command on the same game draws something else
+        Dice opening = first.getPlayers().get(0).getDice();
+        first.setStateVersion(first.getStateVersion() + 1);
+        first.rollAllDice(GameRandom.forGame(first));
+        second.setStateVersion(second.getStateVersion() + 1);
+        second.rollAllDice(GameRandom.forGame(second));
+        assertEquals(first.getPlayers().get(0).getDice(), second.getPlayers().get(0).getDice());
+        assertNotEquals(opening, first.getPlayers().get(0).getDice());
+    }
+
+    private static Game seededGame(long seed) {
+        Game game = new Game(List.of(new Player("Alice"), new Player("Bob"), new Player("Carol")));
+        game.setRandomSeed(seed);
+        return game;
+    }
+}
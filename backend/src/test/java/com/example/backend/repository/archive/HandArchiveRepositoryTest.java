@@ -0,0 +1,126 @@
+package com.example.backend.repository.archive;
+
+import com.example.backend.model.BidType;
+import com.example.backend.model.HandRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandArchiveRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private static HandRecord hand(String gameId, int round, long endedAt) {
+        List<HandRecord.Seat> seats = List.of(
+                new HandRecord.Seat("alice", null, List.of(1, 4, 6, 2, 5)),
+                new HandRecord.Seat("bot", "MEDIUM_AI", List.of(3, 3, 6)));
+        List<HandRecord.Action> actions = List.of(
+                new HandRecord.Action(0, 2, 3, BidType.RAISE),
+                new HandRecord.Action(1, 3, 3, BidType.RAISE),
+                new HandRecord.Action(0, 0, 0, BidType.DOUBT));
+        return new HandRecord(gameId, round, endedAt, BidType.DOUBT, 0, 1, HandRecord.NO_SEAT, 3, 3, 2, seats,
+                actions);
+    }
+
+    private static List<HandRecord> scanAll(HandArchiveRepository repository, long from, long to, boolean details) {
+        List<HandRecord> hands = new ArrayList<>();
+        repository.scan(from, to, details, hands::add);
+        return hands;
+    }
+
+    @Test
+    void appendedHands_roundTripWithDetails() {
+        HandArchiveRepository repository = new HandArchiveRepository(dir.toString());
+        repository.append(List.of(hand("g1", 1, 1000), hand("g2", 4, 900), hand("g1", 2, 1500)));
+
+        List<HandRecord> hands = scanAll(repository, 0, Long.MAX_VALUE, true);
+        assertEquals(3, hands.size());
+        HandRecord second = hands.get(1);
+        assertEquals("g2", second.getGameId());
+        assertEquals(4, second.getRoundNumber());
+        assertEquals(900, second.getEndedAt());
+        assertEquals(BidType.DOUBT, second.getOutcome());
+        assertEquals(HandRecord.NO_SEAT, second.getEliminatedSeat());
+        assertEquals(List.of(1, 4, 6, 2, 5), second.getSeats().get(0).dice());
+        assertEquals("MEDIUM_AI", second.getSeats().get(1).aiType());
+        assertNull(second.getSeats().get(0).aiType());
+        assertEquals(hand("g2", 4, 900).getActions(), second.getActions());
+        assertTrue(second.isBluff());
+        assertTrue(second.isCallCorrect());
+    }
+
+    @Test
+    void scan_skipsHandsOutsideRangeAndDetailsWhenNotAsked() {
+        HandArchiveRepository repository = new HandArchiveRepository(dir.toString());
+        repository.append(List.of(hand("g1", 1, 1000), hand("g1", 2, 2000)));
+        repository.append(List.of(hand("g2", 1, 5000), hand("g2", 2, 6000)));
+
+        List<HandRecord> hands = scanAll(repository, 2000, 5500, false);
+        assertEquals(List.of(2000L, 5000L), hands.stream().map(HandRecord::getEndedAt).toList());
+        assertTrue(hands.get(0).getSeats().get(0).dice().isEmpty());
+        assertTrue(hands.get(0).getActions().isEmpty());
+        assertEquals("alice", hands.get(0).getSeats().get(0).playerId());
+    }
+
+    @Test
+    void truncatedTrailingBlock_isIgnored() throws Exception {
+        HandArchiveRepository repository = new HandArchiveRepository(dir.toString());
+        repository.append(List.of(hand("g1", 1, 1000)));
+        repository.append(List.of(hand("g1", 2, 2000)));
+        Path file;
+        try (Stream<Path> files = Files.list(dir)) {
+            file = files.findFirst().orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+
+        assertEquals(List.of(1000L), scanAll(repository, 0, Long.MAX_VALUE, true).stream()
+                .map(HandRecord::getEndedAt).toList());
+    }
+
+    @Test
+    void tornBlockInTheMiddle_losesOnlyThatBlock() throws Exception {
+        HandArchiveRepository repository = new HandArchiveRepository(dir.toString());
+        repository.append(List.of(hand("g1", 1, 1000)));
+        repository.append(List.of(hand("g1", 2, 2000)));
+        Path file;
+        try (Stream<Path> files = Files.list(dir)) {
+            file = files.findFirst().orElseThrow();
+        }
+        // A crash cut the second block short; the next append lands after the garbage
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+        repository.append(List.of(hand("g1", 3, 3000)));
+
+        assertEquals(List.of(1000L, 3000L), scanAll(repository, 0, Long.MAX_VALUE, true).stream()
+                .map(HandRecord::getEndedAt).toList());
+    }
+
+    @Test
+    void corruptBlock_isSkipped() throws Exception {
+        HandArchiveRepository repository = new HandArchiveRepository(dir.toString());
+        repository.append(List.of(hand("g1", 1, 1000)));
+        Path file;
+        try (Stream<Path> files = Files.list(dir)) {
+            file = files.findFirst().orElseThrow();
+        }
+        long firstBlockEnd = Files.size(file);
+        repository.append(List.of(hand("g1", 2, 2000)));
+        repository.append(List.of(hand("g1", 3, 3000)));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[(int) firstBlockEnd + 20] ^= 0x5a;
+        Files.write(file, bytes);
+
+        assertEquals(List.of(1000L, 3000L), scanAll(repository, 0, Long.MAX_VALUE, true).stream()
+                .map(HandRecord::getEndedAt).toList());
+    }
+}
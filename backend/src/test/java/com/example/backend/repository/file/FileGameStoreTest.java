@@ -0,0 +1,184 @@
+package com.example.backend.repository.file;
+
+import com.example.backend.model.Bid;
+import com.example.backend.model.BidType;
+import com.example.backend.model.Dice;
+import com.example.backend.model.Game;
+import com.example.backend.model.GameEvent;
+import com.example.backend.model.GameState;
+import com.example.backend.model.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileGameStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static Game game(long version) {
+        Game game = new Game();
+        Player host = new Player("Alice", "blue");
+        host.setDice(Dice.of(1, 2, 3, 4, 5));
+        game.getPlayers().add(host);
+        game.setState(GameState.IN_PROGRESS);
+        game.setCurrentBid(new Bid(host.getId(), 2, 5, BidType.RAISE));
+        game.setStateVersion(version);
+        return game;
+    }
+
+    private static GameEvent raise(Game game, long seq) {
+        return new GameEvent(game.getId(), seq, GameEvent.Type.RAISE, "p1", Map.of("quantity", 3, "faceValue", 4), 1000L);
+    }
+
+    @Test
+    void snapshotsAndEvents_surviveReopen() {
+        Game game = game(3);
+        FileGameStore store = new FileGameStore(dir.toString(), 1 << 16);
+        store.saveGames(List.of(game));
+        store.appendEvents(List.of(raise(game, 4), raise(game, 5)));
+        store.close();
+
+        FileGameStore reopened = new FileGameStore(dir.toString(), 1 << 16);
+        Game loaded = reopened.findGame(game.getId()).orElseThrow();
+        assertEquals(3, loaded.getStateVersion());
+        assertEquals(game.getPlayers().get(0).getDice(), loaded.getPlayers().get(0).getDice());
+        assertEquals(5, loaded.getCurrentBid().getFaceValue());
+
+        List<GameEvent> tail = reopened.findEventsAfter(game.getId(), 3);
+        assertEquals(List.of(4L, 5L), tail.stream().map(GameEvent::getSeq).toList());
+        assertEquals(3, tail.get(0).getInt("quantity"));
+        assertEquals(GameEvent.Type.RAISE, tail.get(0).getType());
+        reopened.close();
+    }
+
+    @Test
+    void newerSnapshot_coversEarlierEvents() {
+        Game game = game(3);
+        FileGameStore store = new FileGameStore(dir.toString(), 1 << 16);
+        store.saveGames(List.of(game));
+        store.appendEvents(List.of(raise(game, 4), raise(game, 5), raise(game, 6)));
+        game.setStateVersion(5);
+        store.saveGames(List.of(game));
+
+        assertEquals(List.of(6L), store.findEventsAfter(game.getId(), 5).stream().map(GameEvent::getSeq).toList());
+        assertEquals(5, store.findGame(game.getId()).orElseThrow().getStateVersion());
+        store.close();
+    }
+
+    @Test
+    void deletedGame_staysDeletedAfterReopen() {
+        Game game = game(1);
+        FileGameStore store = new FileGameStore(dir.toString(), 1 << 16);
+        store.saveGames(List.of(game));
+        store.deleteGame(game.getId());
+        store.close();
+
+        FileGameStore reopened = new FileGameStore(dir.toString(), 1 << 16);
+        assertTrue(reopened.findGame(game.getId()).isEmpty());
+        try (Stream<Game> games = reopened.streamGames()) {
+            assertEquals(0, games.count());
+        }
+        reopened.close();
+    }
+
+    @Test
+    void removedEvent_deletesTheGame() {
+        Game game = game(1);
+        FileGameStore store = new FileGameStore(dir.toString(), 1 << 16);
+        store.saveGames(List.of(game));
+        store.appendEvents(List.of(raise(game, 2),
+                new GameEvent(game.getId(), 3, GameEvent.Type.REMOVED, null, null, 1000L)));
+
+        assertTrue(store.findGame(game.getId()).isEmpty());
+        assertTrue(store.findEventsAfter(game.getId(), 0).isEmpty());
+        store.close();
+    }
+
+    @Test
+    void rewrittenSnapshots_rollAndCompactSegments() throws Exception {
+        Game game = game(0);
+        FileGameStore store = new FileGameStore(dir.toString(), 4096);
+        for (long version = 1; version <= 200; version++) {
+            game.setStateVersion(version);
+            store.saveGames(List.of(game));
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.count() <= 3, "Segments full of replaced snapshots should have been compacted");
+        }
+        store.close();
+
+        FileGameStore reopened = new FileGameStore(dir.toString(), 4096);
+        assertEquals(200, reopened.findGame(game.getId()).orElseThrow().getStateVersion());
+        reopened.close();
+    }
+
+    @Test
+    void compactedTombstone_leavesANewGameWithTheSameIdAlone() throws Exception {
+        FileGameStore store = new FileGameStore(dir.toString(), 4096);
+        // Keep the first segment live, so the tombstone's segment is not the oldest
+        fillSegment(store);
+        Game removed = game(5);
+        store.saveGames(List.of(removed));
+        store.deleteGame(removed.getId());
+        List<Game> filler = fillSegment(store);
+
+        Game reused = game(1);
+        reused.setId(removed.getId());
+        store.saveGames(List.of(reused));
+        // The tombstone's segment becomes garbage and is compacted, copying it after the new game
+        filler.forEach(game -> store.deleteGame(game.getId()));
+        store.close();
+
+        FileGameStore reopened = new FileGameStore(dir.toString(), 4096);
+        assertEquals(1, reopened.findGame(removed.getId()).orElseThrow().getStateVersion());
+        reopened.close();
+    }
+
+    /** Save games until the store rolls over to a new segment */
+    private List<Game> fillSegment(FileGameStore store) throws Exception {
+        long segments = segmentCount();
+        List<Game> saved = new ArrayList<>();
+        while (segmentCount() == segments) {
+            Game game = game(1);
+            store.saveGames(List.of(game));
+            saved.add(game);
+        }
+        return saved;
+    }
+
+    private long segmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void streamEvents_readsJournalTailLazilyInOrder() {
+        Game game = game(3);
+        FileGameStore store = new FileGameStore(dir.toString(), 1 << 16);
+        store.saveGames(List.of(game));
+        store.appendEvents(List.of(raise(game, 5), raise(game, 4)));
+
+        try (Stream<GameEvent> events = store.streamEvents(game.getId())) {
+            assertEquals(List.of(4L, 5L), events.map(GameEvent::getSeq).toList());
+        }
+
+        Stream<GameEvent> pending = store.streamEvents(game.getId());
+        game.setStateVersion(4);
+        store.saveGames(List.of(game));
+        assertEquals(List.of(5L), pending.map(GameEvent::getSeq).toList(), "Events folded into a snapshot meanwhile are skipped");
+        try (Stream<GameEvent> none = store.streamEvents("unknown")) {
+            assertEquals(0, none.count());
+        }
+        store.close();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.backend.repository.mongo;
+
+import com.example.backend.model.Game;
+import com.example.backend.model.GameEvent;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MongoGameStoreTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final GameMongoRepository gameRepository = mock(GameMongoRepository.class);
+    private final GameEventMongoRepository eventRepository = mock(GameEventMongoRepository.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private MongoGameStore store;
+
+    @BeforeEach
+    void setUp() {
+        // Games are written as just their state version, enough for the version checks
+        MongoConverter converter = mock(MongoConverter.class);
+        doAnswer(call -> {
+            GameDocument document = call.getArgument(0);
+            Document root = call.getArgument(1);
+            root.put("game", new Document("stateVersion", document.getGame().getStateVersion()));
+            return null;
+        }).when(converter).write(any(), any());
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq("games"))).thenReturn(bulk);
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(GameEventDocument.class)))
+                .thenReturn(bulk);
+        store = new MongoGameStore(gameRepository, eventRepository, mongoTemplate,
+                new SimpleMeterRegistry());
+    }
+
+    private static Game gameAt(long stateVersion) {
+        Game game = new Game();
+        game.setStateVersion(stateVersion);
+        return game;
+    }
+
+    /** The games collection's answer to a version lookup */
+    private static List<Document> stored(Game game, long version, long stateVersion) {
+        return List.of(new Document("_id", game.getId())
+                .append("version", version)
+                .append("game", new Document("stateVersion", stateVersion)));
+    }
+
+    private static BulkWriteResult matched(int count) {
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getMatchedCount()).thenReturn(count);
+        return result;
+    }
+
+    private static BulkOperationException duplicateKeyAt(int index) {
+        BulkWriteError error = mock(BulkWriteError.class);
+        when(error.getCode()).thenReturn(11000);
+        when(error.getIndex()).thenReturn(index);
+        BulkOperationException exception = mock(BulkOperationException.class);
+        when(exception.getErrors()).thenReturn(List.of(error));
+        return exception;
+    }
+
+    @Test
+    void saveGames_reportsGameWrittenByAnotherInstanceInBetween() {
+        Game game = gameAt(5);
+        // Stored at version 2; another instance then writes state 4 before our write lands
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("games")))
+                .thenReturn(stored(game, 2, 3), stored(game, 3, 4));
+        BulkWriteResult conflicted = matched(0);
+        when(bulk.execute()).thenReturn(conflicted);
+
+        assertEquals(List.of(game.getId()), store.saveGames(List.of(game)), "An older state is not overwritten either");
+        verify(bulk, times(1)).execute();
+    }
+
+    @Test
+    void saveGames_writesAReadGameAtTheVersionItWasRead() {
+        Game game = gameAt(5);
+        GameDocument document = new GameDocument(game);
+        document.setVersion(7L);
+        when(gameRepository.findById(game.getId())).thenReturn(Optional.of(document));
+        BulkWriteResult applied = matched(1);
+        when(bulk.execute()).thenReturn(applied);
+
+        store.findGame(game.getId());
+        game.setStateVersion(6);
+
+        assertEquals(List.of(), store.saveGames(List.of(game)));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), eq("games"));
+        verify(bulk).updateOne(any(Query.class), any(Update.class));
+        verify(bulk, never()).insert(any(Object.class));
+    }
+
+    @Test
+    void saveGames_skipsGameAlreadyStoredAtANewerState() {
+        Game game = gameAt(5);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("games"))).thenReturn(stored(game, 4, 8));
+
+        assertEquals(List.of(game.getId()), store.saveGames(List.of(game)));
+        verify(bulk, never()).execute();
+    }
+
+    @Test
+    void appendEvents_ignoresTheSameEventWrittenAgain() {
+        GameEvent event = new GameEvent("g1", 6, GameEvent.Type.RAISE, "p1", Map.of("quantity", 2), 1000);
+        BulkOperationException duplicate = duplicateKeyAt(0);
+        when(bulk.execute()).thenThrow(duplicate);
+        when(eventRepository.findById("g1:6")).thenReturn(Optional.of(new GameEventDocument(event)));
+
+        assertEquals(List.of(), store.appendEvents(List.of(event)));
+    }
+
+    @Test
+    void appendEvents_reportsGameWhoseSeqAnotherInstanceJournaled() {
+        GameEvent ours = new GameEvent("g1", 6, GameEvent.Type.RAISE, "p1", Map.of("quantity", 2), 1000);
+        GameEvent theirs = new GameEvent("g1", 6, GameEvent.Type.DOUBT, "p2", null, 1001);
+        BulkOperationException duplicate = duplicateKeyAt(0);
+        when(bulk.execute()).thenThrow(duplicate);
+        when(eventRepository.findById("g1:6")).thenReturn(Optional.of(new GameEventDocument(theirs)));
+
+        assertEquals(List.of("g1"), store.appendEvents(List.of(ours)));
+    }
+
+    @Test
+    void changedFields_holdsOnlyNewAndDifferentFields() {
+        Document previous = new Document("state", "IN_PROGRESS")
+                .append("roundNumber", 3)
+                .append("players", List.of(new Document("id", "p1").append("dice", List.of(1, 2))));
+        Document current = new Document("state", "IN_PROGRESS")
+                .append("roundNumber", 4)
+                .append("players", List.of(new Document("id", "p1").append("dice", List.of(1, 2))))
+                .append("currentBid", new Document("quantity", 2));
+
+        Document changes = MongoGameStore.changedFields(previous, current);
+
+        assertEquals(List.of("roundNumber", "currentBid"), List.copyOf(changes.keySet()));
+        assertEquals(4, changes.get("roundNumber"));
+    }
+
+    @Test
+    void changedFields_isEmptyForSameDocument() {
+        Document game = new Document("state", "WAITING_FOR_PLAYERS").append("players", List.of());
+        assertTrue(MongoGameStore.changedFields(game, new Document(game)).isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BroadcastCoalescerTest {
+
+    /** Timer whose tasks run only when the test ends the window */
+    private final List<Runnable> windows = new ArrayList<>();
+
+    private BroadcastCoalescer coalescer(List<String> published) {
+        return new BroadcastCoalescer(50, published::add, (task, delayMs) -> windows.add(task), Runnable::run);
+    }
+
+    private void endWindows() {
+        List<Runnable> due = new ArrayList<>(windows);
+        windows.clear();
+        due.forEach(Runnable::run);
+    }
+
+    @Test
+    void requestsWithinWindow_publishOnce() {
+        List<String> published = new ArrayList<>();
+        BroadcastCoalescer coalescer = coalescer(published);
+
+        coalescer.request("abc");
+        coalescer.request("abc");
+        coalescer.request("abc");
+        coalescer.request("xyz");
+        assertTrue(published.isEmpty(), "Nothing is published before the window ends");
+
+        endWindows();
+
+        assertEquals(List.of("abc", "xyz"), published);
+    }
+
+    @Test
+    void sendInOrder_flushesPendingUpdateBeforeEvent() {
+        List<String> sent = new ArrayList<>();
+        BroadcastCoalescer coalescer = new BroadcastCoalescer(50, gameId -> sent.add("UPDATE:" + gameId),
+                (task, delayMs) -> windows.add(task), Runnable::run);
+
+        coalescer.request("abc");
+        coalescer.sendInOrder("abc", () -> sent.add("PLAYER_LEFT"));
+        coalescer.sendInOrder("abc", () -> sent.add("GAME_CANCELLED"));
+        endWindows();
+
+        assertEquals(List.of("UPDATE:abc", "PLAYER_LEFT", "GAME_CANCELLED"), sent, "The window has nothing left to publish");
+    }
+
+    @Test
+    void requestAfterPublish_startsNewWindow() {
+        List<String> published = new ArrayList<>();
+        BroadcastCoalescer coalescer = coalescer(published);
+
+        coalescer.request("abc");
+        endWindows();
+        coalescer.request("abc");
+        endWindows();
+
+        assertEquals(List.of("abc", "abc"), published);
+    }
+}
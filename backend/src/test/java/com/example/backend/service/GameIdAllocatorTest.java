@@ -0,0 +1,47 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameIdAllocatorTest {
+
+    @Test
+    void allocate_neverHandsOutAnIdInUse() {
+        GameIdAllocator ids = new GameIdAllocator();
+        ids.register("abc");
+        Set<String> seen = new HashSet<>();
+        seen.add("abc");
+        for (int i = 0; i < 20_000; i++) {
+            String id = ids.allocate();
+            assertTrue(id.matches("[a-z]+"), id);
+            assertTrue(seen.add(id), "Allocated twice: " + id);
+        }
+        assertEquals(seen.size(), ids.inUseCount());
+    }
+
+    @Test
+    void length_growsWithOccupancy() {
+        assertEquals(GameIdAllocator.MIN_LENGTH, GameIdAllocator.lengthFor(0));
+        assertEquals(3, GameIdAllocator.lengthFor(1_000));
+        assertEquals(4, GameIdAllocator.lengthFor(2_000));
+        assertEquals(5, GameIdAllocator.lengthFor(100_000));
+
+        GameIdAllocator ids = new GameIdAllocator();
+        for (int i = 0; i < 2_000; i++) {
+            ids.allocate();
+        }
+        assertEquals(4, ids.allocate().length());
+    }
+
+    @Test
+    void release_makesTheIdAvailableAgain() {
+        GameIdAllocator ids = new GameIdAllocator();
+        String id = ids.allocate();
+        ids.release(id);
+        assertEquals(0, ids.inUseCount());
+    }
+}
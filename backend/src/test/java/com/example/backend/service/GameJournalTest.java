@@ -0,0 +1,108 @@
+package com.example.backend.service;
+
+import com.example.backend.model.GameEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameJournalTest {
+
+    private static GameEvent event(long seq) {
+        return new GameEvent("abc", seq, GameEvent.Type.RAISE, "p1", null, 0);
+    }
+
+    @Test
+    void appendedEvents_areWrittenInOrderInBatches() {
+        List<List<GameEvent>> batches = new CopyOnWriteArrayList<>();
+        GameJournal journal = new GameJournal(60_000, 2, 100, events -> batches.add(new ArrayList<>(events)), events -> fail("Nothing is dead-lettered"));
+
+        for (long seq = 1; seq <= 5; seq++) {
+            journal.append(event(seq));
+        }
+        assertEquals(5, journal.queueDepth());
+
+        journal.flush();
+
+        assertEquals(3, batches.size());
+        List<Long> seqs = batches.stream().flatMap(List::stream).map(GameEvent::getSeq).toList();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), seqs);
+        assertEquals(0, journal.queueDepth());
+        assertEquals(5, journal.appendedCount());
+    }
+
+    @Test
+    void failedBatch_isRetriedBeforeNewerEvents() {
+        List<Long> written = new CopyOnWriteArrayList<>();
+        boolean[] fail = { true };
+        GameJournal journal = new GameJournal(60_000, 10, 100, events -> {
+            if (fail[0]) {
+                throw new IllegalStateException("mongo down");
+            }
+            events.forEach(e -> written.add(e.getSeq()));
+        }, events -> fail("Nothing is dead-lettered"));
+
+        journal.append(event(1));
+        journal.append(event(2));
+        journal.flush();
+        assertEquals(2, journal.queueDepth());
+        assertEquals(2, journal.failedCount());
+
+        fail[0] = false;
+        journal.append(event(3));
+        journal.flush();
+        assertEquals(List.of(1L, 2L, 3L), written);
+        assertEquals(0, journal.queueDepth());
+    }
+
+    @Test
+    void eventFailingOnItsOwn_isDeadLetteredAndTheRestWritten() {
+        List<Long> written = new CopyOnWriteArrayList<>();
+        List<Long> deadLettered = new CopyOnWriteArrayList<>();
+        GameJournal journal = new GameJournal(60_000, 10, 100, events -> {
+            if (events.stream().anyMatch(e -> e.getSeq() == 2)) {
+                throw new IllegalArgumentException("cannot encode event");
+            }
+            events.forEach(e -> written.add(e.getSeq()));
+        }, events -> events.forEach(e -> deadLettered.add(e.getSeq())));
+
+        for (long seq = 1; seq <= 3; seq++) {
+            journal.append(event(seq));
+        }
+        for (int i = 0; i < GameJournal.BATCH_ATTEMPTS; i++) {
+            journal.flush();
+        }
+
+        assertEquals(List.of(1L, 3L), written);
+        assertEquals(List.of(2L), deadLettered);
+        assertEquals(0, journal.queueDepth());
+        assertEquals(1, journal.deadLetteredCount());
+    }
+
+    @Test
+    void storeDown_keepsEventsUpToTheBacklogLimit() {
+        List<Long> deadLettered = new CopyOnWriteArrayList<>();
+        GameJournal journal = new GameJournal(60_000, 10, 3, events -> {
+            throw new IllegalStateException("mongo down");
+        }, events -> events.forEach(e -> deadLettered.add(e.getSeq())));
+
+        journal.append(event(1));
+        journal.append(event(2));
+        for (int i = 0; i < 2 * GameJournal.BATCH_ATTEMPTS; i++) {
+            journal.flush();
+        }
+        assertEquals(2, journal.queueDepth(), "Nothing is given up while no event gets through");
+        assertEquals(List.of(), deadLettered);
+
+        journal.append(event(3));
+        journal.append(event(4));
+        journal.append(event(5));
+        journal.flush();
+
+        assertEquals(List.of(1L, 2L), deadLettered, "The oldest events beyond the limit go first");
+        assertEquals(3, journal.queueDepth());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Game;
+import com.example.backend.model.GameState;
+import com.example.backend.model.Player;
+import com.example.backend.repository.GameStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameServiceConflictTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private GameStore gameStore;
+
+    @Mock
+    private EasyAIService easyAIService;
+
+    @Mock
+    private MediumAIService mediumAIService;
+
+    @Mock
+    private HandArchiveService handArchiveService;
+
+    @InjectMocks
+    private GameService gameService;
+
+    private Map<String, Game> gamesMap;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        Field gamesField = GameService.class.getDeclaredField("games");
+        gamesField.setAccessible(true);
+        gamesMap = (Map<String, Game>) gamesField.get(gameService);
+    }
+
+    private Game dirtyGame(long stateVersion) {
+        Game game = new Game();
+        game.getPlayers().add(new Player("Alice", "blue"));
+        game.setState(GameState.IN_PROGRESS);
+        game.setStateVersion(stateVersion);
+        game.publishSnapshot();
+        gamesMap.put(game.getId(), game);
+        gameService.writeBehind().markDirty(game.getId());
+        return game;
+    }
+
+    @Test
+    void gameSupersededInStore_isReloadedInsteadOfOverwritten() {
+        Game stale = dirtyGame(5);
+        Game newer = stale.getSnapshot().toGame();
+        newer.setStateVersion(9);
+        when(gameStore.saveGames(anyList())).thenReturn(List.of(stale.getId()));
+        when(gameStore.findGame(stale.getId())).thenReturn(Optional.of(newer));
+
+        gameService.writeBehind().flush();
+
+        assertNull(gamesMap.get(stale.getId()));
+        assertEquals(0, gameService.writeBehind().queueDepth());
+        assertEquals(9, gameService.getGame(stale.getId()).getStateVersion());
+    }
+
+    @Test
+    void savedGame_staysInMemory() {
+        Game game = dirtyGame(5);
+        when(gameStore.saveGames(anyList())).thenReturn(List.of());
+
+        gameService.writeBehind().flush();
+
+        assertSame(game, gamesMap.get(game.getId()));
+        verify(gameStore).saveGames(anyList());
+    }
+}
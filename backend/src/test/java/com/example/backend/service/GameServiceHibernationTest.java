@@ -0,0 +1,155 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Game;
+import com.example.backend.model.GameState;
+import com.example.backend.model.Player;
+import com.example.backend.repository.GameStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameServiceHibernationTest {
+
+    private static final long TWENTY_MINUTES_MS = 20 * 60 * 1000L;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private GameStore gameStore;
+
+    @Mock
+    private EasyAIService easyAIService;
+
+    @Mock
+    private MediumAIService mediumAIService;
+
+    @Mock
+    private HandArchiveService handArchiveService;
+
+    @InjectMocks
+    private GameService gameService;
+
+    private Map<String, Game> gamesMap;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        Field gamesField = GameService.class.getDeclaredField("games");
+        gamesField.setAccessible(true);
+        gamesMap = (Map<String, Game>) gamesField.get(gameService);
+    }
+
+    private Game endedGameLastChanged(long ageMs) {
+        Game game = new Game();
+        game.getPlayers().add(new Player("Alice", "blue"));
+        game.setState(GameState.GAME_ENDED);
+        game.setStateVersion(7);
+        game.setLastModifiedAt(System.currentTimeMillis() - ageMs);
+        game.publishSnapshot();
+        gamesMap.put(game.getId(), game);
+        return game;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void idleGame_isSavedAndDroppedFromMemory() {
+        Game game = endedGameLastChanged(TWENTY_MINUTES_MS);
+
+        gameService.hibernateIdleGames();
+
+        assertNull(gamesMap.get(game.getId()));
+        ArgumentCaptor<List<Game>> saved = ArgumentCaptor.forClass(List.class);
+        verify(gameStore).saveGames(saved.capture());
+        assertEquals(game.getId(), saved.getValue().get(0).getId());
+        assertEquals(7, saved.getValue().get(0).getStateVersion());
+        assertEquals(1, gameService.hibernatedCount());
+    }
+
+    @Test
+    void recentlyActiveGame_staysInMemory() {
+        Game game = endedGameLastChanged(TWENTY_MINUTES_MS);
+        gameService.recordActivity(game.getId(), game.getPlayers().get(0).getId());
+
+        gameService.hibernateIdleGames();
+
+        assertSame(game, gamesMap.get(game.getId()));
+        verify(gameStore, never()).saveGames(anyList());
+    }
+
+    @Test
+    void hibernatedGame_isRehydratedOnAccess() {
+        Game game = endedGameLastChanged(TWENTY_MINUTES_MS);
+        gameService.hibernateIdleGames();
+        when(gameStore.findGame(game.getId())).thenReturn(Optional.of(game.getSnapshot().toGame()));
+
+        Game rehydrated = gameService.getGame(game.getId());
+
+        assertEquals(game.getId(), rehydrated.getId());
+        assertEquals(7, rehydrated.getStateVersion());
+        assertSame(rehydrated, gamesMap.get(game.getId()));
+        assertEquals(1, gameService.rehydratedCount());
+    }
+
+    @Test
+    void cancelledGame_isNotRehydratedBeforeItsRemovalIsWritten() {
+        Game game = new Game();
+        game.setMultiplayer(true);
+        game.getPlayers().add(new Player("Alice", "blue"));
+        game.setState(GameState.WAITING_FOR_PLAYERS);
+        game.publishSnapshot();
+        gamesMap.put(game.getId(), game);
+
+        gameService.cancelMultiplayerGame(game.getId(), game.getPlayers().get(0).getId());
+
+        assertThrows(IllegalArgumentException.class, () -> gameService.getGame(game.getId()));
+        assertNull(gamesMap.get(game.getId()));
+        assertEquals(0, gameService.rehydratedCount());
+        verify(gameStore, never()).findGame(anyString());
+    }
+
+    @Test
+    void unknownGame_isLookedUpInTheStoreOnce() {
+        when(gameStore.findGame("nope")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> gameService.getGame("nope"));
+        assertThrows(IllegalArgumentException.class, () -> gameService.getGame("nope"));
+
+        verify(gameStore, times(1)).findGame("nope");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rehydratedGame_restartsTheCurrentPlayersReconnectWindow() throws Exception {
+        Game game = endedGameLastChanged(TWENTY_MINUTES_MS);
+        game.getPlayers().add(new Player("Bob", "red"));
+        game.setState(GameState.IN_PROGRESS);
+        game.setCurrentPlayerIndex(0);
+        game.publishSnapshot();
+        gameService.hibernateIdleGames();
+        when(gameStore.findGame(game.getId())).thenReturn(Optional.of(game.getSnapshot().toGame()));
+        Field activityField = GameService.class.getDeclaredField("activityByGame");
+        activityField.setAccessible(true);
+        Map<String, ?> activityByGame = (Map<String, ?>) activityField.get(gameService);
+        assertNull(activityByGame.get(game.getId()));
+
+        gameService.getGame(game.getId());
+
+        assertNotNull(activityByGame.get(game.getId()), "Its reconnect timeout runs from the rehydration");
+    }
+}
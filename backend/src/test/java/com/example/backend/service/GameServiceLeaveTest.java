@@ -4,7 +4,7 @@ import com.example.backend.dto.WebSocketMessage;
 import com.example.backend.model.Game;
 import com.example.backend.model.GameState;
 import com.example.backend.model.Player;
-import com.example.backend.repository.mongo.GameMongoRepository;
+import com.example.backend.repository.GameStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,7 +29,7 @@ class GameServiceLeaveTest {
     private SimpMessagingTemplate messagingTemplate;
 
     @Mock
-    private GameMongoRepository gameMongoRepository;
+    private GameStore gameStore;
 
     @Mock
     private EasyAIService easyAIService;
@@ -37,11 +37,13 @@ class GameServiceLeaveTest {
     @Mock
     private MediumAIService mediumAIService;
 
+    @Mock
+    private HandArchiveService handArchiveService;
+
     @InjectMocks
     private GameService gameService;
 
     private Map<String, Game> gamesMap;
-    private Map<String, Long> activityMap;
 
     @BeforeEach
     @SuppressWarnings("unchecked")
@@ -50,11 +52,6 @@ class GameServiceLeaveTest {
         Field gamesField = GameService.class.getDeclaredField("games");
         gamesField.setAccessible(true);
         gamesMap = (Map<String, Game>) gamesField.get(gameService);
-
-        // Access the activity map via reflection for inactivity timeout tests
-        Field activityField = GameService.class.getDeclaredField("lastActivityByGameAndPlayer");
-        activityField.setAccessible(true);
-        activityMap = (Map<String, Long>) activityField.get(gameService);
     }
 
     /** Build a minimal in-progress multiplayer game with the given players. */
@@ -74,6 +71,7 @@ class GameServiceLeaveTest {
         Player host = new Player("Alice", "blue");
         Player guest = new Player("Bob", "red");
         Game game = buildInProgressGame(host, guest);
+        game.publishSnapshot();
         gamesMap.put(game.getId(), game);
 
         gameService.leaveGame(game.getId(), host.getId());
@@ -94,6 +92,7 @@ class GameServiceLeaveTest {
         Player guest = new Player("Bob", "red");
         Player third = new Player("Carol", "green");
         Game game = buildInProgressGame(host, guest, third);
+        game.publishSnapshot();
         gamesMap.put(game.getId(), game);
 
         gameService.leaveGame(game.getId(), guest.getId());
@@ -109,6 +108,7 @@ class GameServiceLeaveTest {
         Player host = new Player("Alice", "blue");
         Player guest = new Player("Bob", "red");
         Game game = buildInProgressGame(host, guest);
+        game.publishSnapshot();
         gamesMap.put(game.getId(), game);
 
         gameService.leaveGame(game.getId(), guest.getId());
@@ -134,11 +134,12 @@ class GameServiceLeaveTest {
         Game game = buildInProgressGame(host, guest, third);
         // Host is current player
         game.setCurrentPlayerIndex(0);
+        game.publishSnapshot();
         gamesMap.put(game.getId(), game);
 
         // Record host activity 2 hours ago (under 3-hour threshold)
         long twoHoursAgo = System.currentTimeMillis() - (2 * 60 * 60 * 1000L);
-        activityMap.put(game.getId() + ":" + host.getId(), twoHoursAgo);
+        gameService.recordActivity(game.getId(), host.getId(), twoHoursAgo);
 
         gameService.checkDisconnectedCurrentPlayers();
 
@@ -154,11 +155,12 @@ class GameServiceLeaveTest {
         Game game = buildInProgressGame(host, guest, third);
         // Host is current player
         game.setCurrentPlayerIndex(0);
+        game.publishSnapshot();
         gamesMap.put(game.getId(), game);
 
         // Record host activity 4 hours ago (over 3-hour threshold)
         long fourHoursAgo = System.currentTimeMillis() - (4 * 60 * 60 * 1000L);
-        activityMap.put(game.getId() + ":" + host.getId(), fourHoursAgo);
+        gameService.recordActivity(game.getId(), host.getId(), fourHoursAgo);
 
         gameService.checkDisconnectedCurrentPlayers();
 
@@ -174,11 +176,12 @@ class GameServiceLeaveTest {
         Game game = buildInProgressGame(host, guest, third);
         // Guest is current player (index 1)
         game.setCurrentPlayerIndex(1);
+        game.publishSnapshot();
         gamesMap.put(game.getId(), game);
 
         // Record guest activity 90 seconds ago (under 5-minute threshold)
         long ninetySecondsAgo = System.currentTimeMillis() - 90_000L;
-        activityMap.put(game.getId() + ":" + guest.getId(), ninetySecondsAgo);
+        gameService.recordActivity(game.getId(), guest.getId(), ninetySecondsAgo);
 
         gameService.checkDisconnectedCurrentPlayers();
 
@@ -196,11 +199,12 @@ class GameServiceLeaveTest {
         Game game = buildInProgressGame(host, guest, third);
         // Guest is current player (index 1)
         game.setCurrentPlayerIndex(1);
+        game.publishSnapshot();
         gamesMap.put(game.getId(), game);
 
         // Record guest activity 6 minutes ago (over 5-minute threshold)
         long sixMinutesAgo = System.currentTimeMillis() - (6 * 60 * 1000L);
-        activityMap.put(game.getId() + ":" + guest.getId(), sixMinutesAgo);
+        gameService.recordActivity(game.getId(), guest.getId(), sixMinutesAgo);
 
         gameService.checkDisconnectedCurrentPlayers();
 
@@ -0,0 +1,113 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Game;
+import com.example.backend.model.GameState;
+import com.example.backend.model.Player;
+import com.example.backend.repository.GameStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameServiceReaperTest {
+
+    private static final long FINISHED_TTL_MS = 10 * 60 * 1000L;
+    private static final long ABANDONED_TTL_MS = 3 * 60 * 60 * 1000L;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private GameStore gameStore;
+
+    @Mock
+    private EasyAIService easyAIService;
+
+    @Mock
+    private MediumAIService mediumAIService;
+
+    @Mock
+    private HandArchiveService handArchiveService;
+
+    @InjectMocks
+    private GameService gameService;
+
+    private Map<String, Game> gamesMap;
+    private Map<String, PlayerActivity> activityMap;
+    private Set<String> processingAITurns;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        gamesMap = (Map<String, Game>) field("games").get(gameService);
+        activityMap = (Map<String, PlayerActivity>) field("activityByGame").get(gameService);
+        processingAITurns = (Set<String>) field("processingAITurns").get(gameService);
+        field("finishedGameTtlMs").set(gameService, FINISHED_TTL_MS);
+        field("abandonedGameTtlMs").set(gameService, ABANDONED_TTL_MS);
+    }
+
+    private static Field field(String name) throws NoSuchFieldException {
+        Field field = GameService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    private Game gameLastChanged(GameState state, long ageMs) {
+        Game game = new Game();
+        game.getPlayers().add(new Player("Alice", "blue"));
+        game.setState(state);
+        game.setLastModifiedAt(System.currentTimeMillis() - ageMs);
+        game.publishSnapshot();
+        gamesMap.put(game.getId(), game);
+        return game;
+    }
+
+    @Test
+    void finishedGame_isRemovedWithItsSideState() {
+        Game game = gameLastChanged(GameState.GAME_ENDED, FINISHED_TTL_MS + 1000);
+        String playerId = game.getPlayers().get(0).getId();
+        // A results screen left open keeps sending heartbeats
+        gameService.recordActivity(game.getId(), playerId);
+        processingAITurns.add(game.getId());
+
+        gameService.reapExpiredGames();
+
+        assertNull(gamesMap.get(game.getId()));
+        assertFalse(activityMap.containsKey(game.getId()));
+        assertFalse(processingAITurns.contains(game.getId()));
+        verify(easyAIService).forgetGame(game.getId());
+        verify(mediumAIService).forgetGame(game.getId());
+        assertEquals(1, gameService.reapedCount());
+    }
+
+    @Test
+    void recentlyFinishedGame_isKept() {
+        Game game = gameLastChanged(GameState.GAME_ENDED, 60_000);
+
+        gameService.reapExpiredGames();
+
+        assertSame(game, gamesMap.get(game.getId()));
+    }
+
+    @Test
+    void abandonedGame_isRemovedAfterItsTtl() {
+        Game stale = gameLastChanged(GameState.IN_PROGRESS, ABANDONED_TTL_MS + 1000);
+        Game active = gameLastChanged(GameState.IN_PROGRESS, FINISHED_TTL_MS + 1000);
+
+        gameService.reapExpiredGames();
+
+        assertNull(gamesMap.get(stale.getId()));
+        assertSame(active, gamesMap.get(active.getId()), "In-progress games only expire after the abandoned TTL");
+    }
+}
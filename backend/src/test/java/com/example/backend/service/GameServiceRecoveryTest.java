@@ -0,0 +1,196 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Dice;
+import com.example.backend.model.Game;
+import com.example.backend.model.GameEvent;
+import com.example.backend.model.GameState;
+import com.example.backend.model.Player;
+import com.example.backend.repository.GameStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameServiceRecoveryTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private GameStore gameStore;
+
+    @Mock
+    private EasyAIService easyAIService;
+
+    @Mock
+    private MediumAIService mediumAIService;
+
+    @Mock
+    private HandArchiveService handArchiveService;
+
+    @InjectMocks
+    private GameService gameService;
+
+    private Map<String, Game> gamesMap;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        Field gamesField = GameService.class.getDeclaredField("games");
+        gamesField.setAccessible(true);
+        gamesMap = (Map<String, Game>) gamesField.get(gameService);
+    }
+
+    /** A persisted in-progress game between two players, last changed the given time ago. */
+    private Game persistedGame(long ageMs) {
+        Game game = new Game();
+        game.setMultiplayer(true);
+        game.setState(GameState.IN_PROGRESS);
+        Player host = new Player("Alice", "blue");
+        Player guest = new Player("Bob", "red");
+        host.setDice(Dice.of(1, 2, 3, 4, 5));
+        guest.setDice(Dice.of(2, 2, 3, 6, 6));
+        game.getPlayers().addAll(List.of(host, guest));
+        game.setCurrentPlayerIndex(0);
+        game.setStateVersion(5);
+        game.setLastModifiedAt(System.currentTimeMillis() - ageMs);
+        return game;
+    }
+
+    @Test
+    void recentGame_isRebuiltWithItsJournalTail() {
+        Game persisted = persistedGame(60_000);
+        String hostId = persisted.getPlayers().get(0).getId();
+        when(gameStore.streamGames()).thenReturn(Stream.of(persisted));
+        when(gameStore.findEventsAfter(persisted.getId(), 5L))
+                .thenReturn(List.of(new GameEvent(persisted.getId(), 6, GameEvent.Type.RAISE,
+                        hostId, Map.of("quantity", 2, "faceValue", 3), System.currentTimeMillis())));
+
+        gameService.recoverGamesOnStartup();
+
+        Game recovered = gamesMap.get(persisted.getId());
+        assertNotNull(recovered, "Game should be back in memory");
+        assertEquals(6, recovered.getStateVersion());
+        assertEquals(2, recovered.getCurrentBid().getQuantity());
+        assertEquals(3, recovered.getCurrentBid().getFaceValue());
+        assertEquals(6, recovered.getSnapshot().getStateVersion(), "Snapshot should match the replayed state");
+        assertEquals(1, gameService.recoveredGameCount());
+        assertEquals(0, gameService.discardedGameCount());
+        verify(gameStore, never()).deleteGame(anyString());
+    }
+
+    @Test
+    void replayedLeave_isNotBroadcastAgain() {
+        Game persisted = persistedGame(60_000);
+        Player third = new Player("Carol", "green");
+        persisted.getPlayers().add(third);
+        when(gameStore.streamGames()).thenReturn(Stream.of(persisted));
+        when(gameStore.findEventsAfter(persisted.getId(), 5L))
+                .thenReturn(List.of(new GameEvent(persisted.getId(), 6, GameEvent.Type.LEFT,
+                        third.getId(), null, System.currentTimeMillis())));
+
+        gameService.recoverGamesOnStartup();
+
+        Game recovered = gamesMap.get(persisted.getId());
+        assertNotNull(recovered);
+        assertEquals(2, recovered.getPlayers().size());
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    void replayedJoin_keepsTheJournaledPlayerId() {
+        Game persisted = persistedGame(60_000);
+        persisted.setState(GameState.WAITING_FOR_PLAYERS);
+        String carolId = "carol-id";
+        long now = System.currentTimeMillis();
+        when(gameStore.streamGames()).thenReturn(Stream.of(persisted));
+        when(gameStore.findEventsAfter(persisted.getId(), 5L)).thenReturn(List.of(
+                new GameEvent(persisted.getId(), 6, GameEvent.Type.JOINED, carolId, Map.of("name", "Carol"), now),
+                new GameEvent(persisted.getId(), 7, GameEvent.Type.CHAT, carolId,
+                        Map.of("text", "hi", "messageId", "m1", "timestamp", now), now),
+                new GameEvent(persisted.getId(), 8, GameEvent.Type.PLAYER_REMOVED, carolId, null, now)));
+
+        gameService.recoverGamesOnStartup();
+
+        Game recovered = gamesMap.get(persisted.getId());
+        assertNotNull(recovered, "Game should be back in memory");
+        assertEquals(8, recovered.getStateVersion());
+        assertEquals("Carol", recovered.getChatMessages().toList().get(0).getPlayerName());
+        assertNull(recovered.getPlayer(carolId), "Carol's removal should have been replayed");
+        assertEquals(2, recovered.getPlayers().size());
+        assertEquals(1, gameService.recoveredGameCount());
+    }
+
+    @Test
+    void replayedJoin_seatsThePlayerUnderTheJournaledId() {
+        Game persisted = persistedGame(60_000);
+        persisted.setState(GameState.WAITING_FOR_PLAYERS);
+        when(gameStore.streamGames()).thenReturn(Stream.of(persisted));
+        when(gameStore.findEventsAfter(persisted.getId(), 5L)).thenReturn(List.of(
+                new GameEvent(persisted.getId(), 6, GameEvent.Type.JOINED, "carol-id", Map.of("name", "Carol"),
+                        System.currentTimeMillis())));
+
+        gameService.recoverGamesOnStartup();
+
+        Game recovered = gamesMap.get(persisted.getId());
+        assertNotNull(recovered);
+        assertNotNull(recovered.getPlayer("carol-id"));
+        assertEquals(2, recovered.seatOf("carol-id"));
+    }
+
+    @Test
+    void gameFailingToReplay_isKept() {
+        Game persisted = persistedGame(60_000);
+        when(gameStore.streamGames()).thenReturn(Stream.of(persisted));
+        when(gameStore.findEventsAfter(persisted.getId(), 5L))
+                .thenReturn(List.of(new GameEvent(persisted.getId(), 6, GameEvent.Type.DOUBT,
+                        "nobody", null, System.currentTimeMillis())));
+
+        gameService.recoverGamesOnStartup();
+
+        assertNull(gamesMap.get(persisted.getId()));
+        verify(gameStore, never()).deleteGame(anyString());
+        assertEquals(1, gameService.failedGameCount());
+        assertEquals(0, gameService.discardedGameCount());
+    }
+
+    @Test
+    void expiredGame_isDeleted() {
+        Game persisted = persistedGame(4 * 60 * 60 * 1000L);
+        when(gameStore.streamGames()).thenReturn(Stream.of(persisted));
+
+        gameService.recoverGamesOnStartup();
+
+        assertNull(gamesMap.get(persisted.getId()));
+        verify(gameStore).deleteGame(persisted.getId());
+        assertEquals(1, gameService.discardedGameCount());
+    }
+
+    @Test
+    void removedGame_isNotResurrected() {
+        Game persisted = persistedGame(60_000);
+        when(gameStore.streamGames()).thenReturn(Stream.of(persisted));
+        when(gameStore.findEventsAfter(persisted.getId(), 5L))
+                .thenReturn(List.of(new GameEvent(persisted.getId(), 6, GameEvent.Type.REMOVED,
+                        null, null, System.currentTimeMillis())));
+
+        gameService.recoverGamesOnStartup();
+
+        assertNull(gamesMap.get(persisted.getId()));
+        verify(gameStore).deleteGame(persisted.getId());
+        assertEquals(0, gameService.recoveredGameCount());
+    }
+}
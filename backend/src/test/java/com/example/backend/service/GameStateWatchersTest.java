@@ -0,0 +1,48 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateWatchersTest {
+
+    /** Responder pool whose tasks run only when the test lets them */
+    private final List<Runnable> responses = new ArrayList<>();
+    private final GameStateWatchers watchers = new GameStateWatchers(responses::add);
+
+    private void respond() {
+        List<Runnable> due = new ArrayList<>(responses);
+        responses.clear();
+        due.forEach(Runnable::run);
+    }
+
+    @Test
+    void change_answersWatcherOnAResponderNotTheCommittingThread() {
+        List<String> answered = new ArrayList<>();
+        watchers.watch("abc", 3, () -> 3, () -> answered.add("abc"));
+
+        watchers.notifyChanged("abc", 4);
+        assertTrue(answered.isEmpty(), "The committing thread does not answer the request");
+
+        respond();
+
+        assertEquals(List.of("abc"), answered);
+    }
+
+    @Test
+    void watcher_firesOnceForNewerVersionsOrRemoval() {
+        List<String> answered = new ArrayList<>();
+        watchers.watch("abc", 3, () -> 3, () -> answered.add("abc"));
+
+        watchers.notifyChanged("abc", 3);
+        watchers.notifyChanged("abc", 4);
+        watchers.notifyChanged("abc", 5);
+        watchers.notifyRemoved("abc");
+        respond();
+
+        assertEquals(List.of("abc"), answered);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameWriteBehindTest {
+
+    @Test
+    void repeatedMutations_areWrittenOnce() {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        GameWriteBehind writeBehind = new GameWriteBehind(60_000, 10, batches::add);
+
+        writeBehind.markDirty("abc");
+        writeBehind.markDirty("abc");
+        writeBehind.markDirty("xyz");
+        writeBehind.markDirty("abc");
+        assertEquals(2, writeBehind.queueDepth());
+
+        writeBehind.flush();
+
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(0, writeBehind.queueDepth());
+        assertEquals(2, writeBehind.writtenCount());
+
+        writeBehind.flush();
+        assertEquals(1, batches.size(), "Nothing dirty, nothing written");
+    }
+
+    @Test
+    void dirtyGames_areSplitIntoBatches() {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        GameWriteBehind writeBehind = new GameWriteBehind(60_000, 2, ids -> batches.add(new ArrayList<>(ids)));
+
+        for (String id : List.of("a", "b", "c", "d", "e")) {
+            writeBehind.markDirty(id);
+        }
+        writeBehind.flush();
+
+        assertEquals(3, batches.size());
+        assertEquals(5, batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void fullBatch_isFlushedBeforeInterval() throws InterruptedException {
+        List<String> written = new CopyOnWriteArrayList<>();
+        GameWriteBehind writeBehind = new GameWriteBehind(60_000, 3, 3, written::addAll);
+
+        writeBehind.markDirty("a");
+        writeBehind.markDirty("b");
+        writeBehind.markDirty("a");
+        Thread.sleep(100);
+        assertTrue(written.isEmpty(), "Below the threshold nothing is written until the interval");
+
+        writeBehind.markDirty("c");
+        for (int i = 0; i < 50 && written.size() < 3; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(3, written.size());
+        assertEquals(4, writeBehind.mutationCount());
+        assertEquals(3, writeBehind.writtenCount());
+    }
+
+    @Test
+    void failedWrite_isRetriedOnNextFlush() {
+        List<String> written = new CopyOnWriteArrayList<>();
+        boolean[] fail = { true };
+        GameWriteBehind writeBehind = new GameWriteBehind(60_000, 10, ids -> {
+            if (fail[0]) {
+                throw new IllegalStateException("mongo down");
+            }
+            written.addAll(ids);
+        });
+
+        writeBehind.markDirty("abc");
+        writeBehind.flush();
+        assertEquals(1, writeBehind.queueDepth());
+        assertEquals(1, writeBehind.failedCount());
+
+        fail[0] = false;
+        writeBehind.flush();
+        assertEquals(List.of("abc"), written);
+        assertEquals(0, writeBehind.queueDepth());
+    }
+
+    @Test
+    void discardedGame_isNotWritten() {
+        List<String> written = new CopyOnWriteArrayList<>();
+        GameWriteBehind writeBehind = new GameWriteBehind(60_000, 10, written::addAll);
+
+        writeBehind.markDirty("abc");
+        writeBehind.discard("abc");
+        writeBehind.flush();
+
+        assertTrue(written.isEmpty());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplerTest {
+
+    @Test
+    void sample_letsOneLinePerIntervalThroughAndCountsTheRest() {
+        LogSampler sampler = new LogSampler(1_000);
+
+        assertEquals(0, sampler.sample("abc", 10_000));
+        assertEquals(-1, sampler.sample("abc", 10_500));
+        assertEquals(-1, sampler.sample("abc", 10_999));
+        assertEquals(0, sampler.sample("xyz", 10_999), "Keys are sampled separately");
+        assertEquals(2, sampler.sample("abc", 11_000));
+        assertEquals(-1, sampler.sample("abc", 11_001));
+    }
+
+    @Test
+    void forget_startsTheKeyOver() {
+        LogSampler sampler = new LogSampler(1_000);
+        sampler.sample("abc", 10_000);
+        sampler.sample("abc", 10_001);
+
+        sampler.forget("abc");
+
+        assertEquals(0, sampler.sample("abc", 10_002));
+    }
+}
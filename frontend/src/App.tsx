@@ -9,12 +9,13 @@ import ChatMessageToasts from "./components/ChatMessageToasts";
 import { LanguageProvider } from "./contexts/LanguageContext";
 import { StatisticsProvider } from "./contexts/StatisticsContext";
 import { SettingsProvider } from "./contexts/SettingsContext";
-import { Game } from "./types/game";
+import { ChatMessage, Game } from "./types/game";
 import { gameApi } from "./api/gameApi";
 import { getSessionLikeStorage } from "./config/storage";
 import { audioService } from "./services/audioService";
 import { getPlayerColorFromString } from "./utils/playerColors";
 import useWindowSize from "./utils/useWindowSize";
+import useGameChat from "./utils/useGameChat";
 import { clearGameSnapshot, loadGameSnapshot } from "./utils/gameSnapshot";
 import { PrefKeys, getBoolPref } from "./config/prefs";
 
@@ -44,8 +45,10 @@ function App() {
   const [initialGameLastSeenChatCount, setInitialGameLastSeenChatCount] = useState(0);
   const { isMobile, isTablet } = useWindowSize();
 
-  const countIncomingMessages = (messages: Game["chatMessages"] | undefined, currentPlayerId: string | null) => {
-    if (!messages || !currentPlayerId) return 0;
+  const lobbyChatMessages = useGameChat(lobbyGame?.id, lobbyGame?.lastChatSeq);
+
+  const countIncomingMessages = (messages: ChatMessage[], currentPlayerId: string | null) => {
+    if (!currentPlayerId) return 0;
     return messages.filter((message) => message.playerId !== currentPlayerId).length;
   };
 
@@ -107,7 +110,7 @@ function App() {
 
   const handleGameStart = (gameData: Game, userPlayerId: string, userUsername: string) => {
     const seenIncomingCount = showLobbyChat
-      ? countIncomingMessages(gameData.chatMessages, userPlayerId)
+      ? countIncomingMessages(lobbyChatMessages, userPlayerId)
       : 0;
     // Chat always starts closed when entering a game
     setInitialGameChatOpen(false);
@@ -194,7 +197,7 @@ function App() {
       const next = !prev;
       if (next) {
         // Mark all messages as seen when opening
-        setLastSeenLobbyChatCount(countIncomingMessages(lobbyGame?.chatMessages, lobbyPlayerId));
+        setLastSeenLobbyChatCount(countIncomingMessages(lobbyChatMessages, lobbyPlayerId));
       }
       return next;
     });
@@ -202,8 +205,8 @@ function App() {
 
   useEffect(() => {
     if (!showLobbyChat) return;
-    setLastSeenLobbyChatCount(countIncomingMessages(lobbyGame?.chatMessages, lobbyPlayerId));
-  }, [showLobbyChat, lobbyGame?.chatMessages, lobbyPlayerId]);
+    setLastSeenLobbyChatCount(countIncomingMessages(lobbyChatMessages, lobbyPlayerId));
+  }, [showLobbyChat, lobbyChatMessages, lobbyPlayerId]);
 
   const handleGameChatStateChange = useCallback((isOpen: boolean, lastSeenIncomingCount: number) => {
     setInitialGameChatOpen(isOpen);
@@ -252,7 +255,7 @@ function App() {
                       type="button"
                       onClick={handleToggleLobbyChat}
                       className={`rounded-full menu-pill menu-pill-fixed menu-pill-icon font-medium shadow transition-all duration-200 touch-manipulation min-h-[44px] min-w-[44px] relative flex items-center justify-center hover:scale-105 active:scale-95 ${
-                        Math.max(0, countIncomingMessages(lobbyGame.chatMessages, lobbyPlayerId) - lastSeenLobbyChatCount) > 0 ? 'animate-pulse' : ''
+                        Math.max(0, countIncomingMessages(lobbyChatMessages, lobbyPlayerId) - lastSeenLobbyChatCount) > 0 ? 'animate-pulse' : ''
                       }`}
                       aria-label="Chat"
                       aria-expanded={showLobbyChat}
@@ -266,7 +269,7 @@ function App() {
                       {(() => {
                         const unread = Math.max(
                           0,
-                          countIncomingMessages(lobbyGame.chatMessages, lobbyPlayerId) - lastSeenLobbyChatCount
+                          countIncomingMessages(lobbyChatMessages, lobbyPlayerId) - lastSeenLobbyChatCount
                         );
                         return unread > 0 ? (
                           <span 
@@ -281,7 +284,7 @@ function App() {
                       })()}
                     </button>
                     <ChatMessageToasts
-                      messages={lobbyGame.chatMessages ?? []}
+                      messages={lobbyChatMessages}
                       localPlayerId={lobbyPlayerId}
                       chatOpen={showLobbyChat}
                       compact={isMobile || isTablet}
@@ -310,7 +313,7 @@ function App() {
                   <ChatPanel
                     isOpen={showLobbyChat}
                     onClose={() => setShowLobbyChat(false)}
-                    messages={lobbyGame.chatMessages ?? []}
+                    messages={lobbyChatMessages}
                     playerId={lobbyPlayerId}
                     playerName={lobbyPlayerName}
                     gameId={lobbyGame.id}
@@ -4,6 +4,7 @@ import {
   BidRequest, 
   ActionRequest, 
   ActionResponse,
+  ChatMessage,
   GameResponse
 } from "../types/game";
 import { normalizeGame } from "../utils/normalizeGame";
@@ -158,6 +159,14 @@ export const gameApi = {
     await axiosInstance.post(`/api/games/multiplayer/${gameId}/chat`, { playerId, text });
   },
 
+  /** Chat messages newer than the one with sequence number `after`, oldest first */
+  getChatMessages: async (gameId: string, after: number): Promise<ChatMessage[]> => {
+    const response = await axiosInstance.get<ChatMessage[]>(`/api/games/multiplayer/${gameId}/chat`, {
+      params: { after },
+    });
+    return response.data;
+  },
+
   endGame: async (gameId: string, playerId: string): Promise<void> => {
     await axiosInstance.post(`/api/games/multiplayer/${gameId}/end`, { playerId });
   },
@@ -1,5 +1,5 @@
 import React, { useState, useEffect, useCallback, useRef } from 'react';
-import { Game, Player, CreateGameRequest } from '../types/game';
+import { Game, Player, CreateGameRequest, ChatMessage } from '../types/game';
 import { gameApi } from '../api/gameApi';
 import { aiService } from '../services/aiService';
 import { webSocketService } from '../services/websocketService';
@@ -24,6 +24,7 @@ import ChatPanel from './ChatPanel';
 import ChatMessageToasts from './ChatMessageToasts';
 import MiniTutorial from './MiniTutorial';
 import useWindowSize from '../utils/useWindowSize';
+import useGameChat from '../utils/useGameChat';
 import ChatIcon from './ChatIcon';
 import { saveGameSnapshot } from '../utils/gameSnapshot';
 import { isTransientHttpError, userFacingApiError } from '../utils/httpError';
@@ -125,8 +126,9 @@ const GameTable: React.FC<GameTableProps> = ({
   const prevGameStateRef = useRef<string>('');
   const onBackRef = useRef(onBack);
   const gameId = game?.id;
-  const countIncomingMessages = useCallback((messages: Game["chatMessages"] | undefined) => {
-    if (!messages || !localPlayerId) return 0;
+  const chatMessages = useGameChat(gameId, game?.lastChatSeq);
+  const countIncomingMessages = useCallback((messages: ChatMessage[]) => {
+    if (!localPlayerId) return 0;
     return messages.filter((message) => message.playerId !== localPlayerId).length;
   }, [localPlayerId]);
 
@@ -227,8 +229,8 @@ const GameTable: React.FC<GameTableProps> = ({
 
   useEffect(() => {
     if (!showChat) return;
-    setLastSeenChatCount(countIncomingMessages(game?.chatMessages));
-  }, [showChat, game?.chatMessages, countIncomingMessages]);
+    setLastSeenChatCount(countIncomingMessages(chatMessages));
+  }, [showChat, chatMessages, countIncomingMessages]);
 
   useEffect(() => {
     onChatStateChange?.(showChat, lastSeenChatCount);
@@ -273,7 +275,7 @@ const GameTable: React.FC<GameTableProps> = ({
       e.preventDefault();
       audioService.playRaise();
       setShowChat(true);
-      setLastSeenChatCount(countIncomingMessages(game?.chatMessages));
+      setLastSeenChatCount(countIncomingMessages(chatMessages));
     };
     document.addEventListener('keydown', onKey);
     return () => document.removeEventListener('keydown', onKey);
@@ -285,7 +287,7 @@ const GameTable: React.FC<GameTableProps> = ({
     showLeaveConfirm,
     showEndGameConfirm,
     showStatistics,
-    game?.chatMessages,
+    chatMessages,
     countIncomingMessages,
   ]);
 
@@ -1534,7 +1536,7 @@ const GameTable: React.FC<GameTableProps> = ({
                     setShowChat((prev) => {
                       const next = !prev;
                       if (next) {
-                        setLastSeenChatCount(countIncomingMessages(game.chatMessages));
+                        setLastSeenChatCount(countIncomingMessages(chatMessages));
                       }
                       return next;
                     });
@@ -1542,7 +1544,7 @@ const GameTable: React.FC<GameTableProps> = ({
                   className={`rounded-full menu-pill menu-pill-fixed font-medium shadow transition-all duration-200 touch-manipulation min-h-[44px] relative flex items-center justify-center gap-1.5 hover:scale-105 active:scale-95 ${
                     useMobileLayout ? 'menu-pill-icon min-w-[44px]' : 'menu-pill-label px-3'
                   } ${
-                    Math.max(0, countIncomingMessages(game.chatMessages) - lastSeenChatCount) > 0 ? 'animate-pulse' : ''
+                    Math.max(0, countIncomingMessages(chatMessages) - lastSeenChatCount) > 0 ? 'animate-pulse' : ''
                   }`}
                   aria-label={useMobileLayout ? t('game.chat') : `${t('game.pressEnterToChat')} Enter ${t('game.pressEnterToChatSuffix')}`}
                   aria-expanded={showChat}
@@ -1576,7 +1578,7 @@ const GameTable: React.FC<GameTableProps> = ({
                     </span>
                   )}
                   {(() => {
-                    const unread = Math.max(0, countIncomingMessages(game.chatMessages) - lastSeenChatCount);
+                    const unread = Math.max(0, countIncomingMessages(chatMessages) - lastSeenChatCount);
                     return unread > 0 ? (
                       <span 
                         className="absolute -top-1 -right-1 bg-red-500 text-white text-[9px] font-bold rounded-full min-w-[18px] h-[18px] flex items-center justify-center px-1 leading-none shadow-lg animate-bounce-in"
@@ -1590,7 +1592,7 @@ const GameTable: React.FC<GameTableProps> = ({
                   })()}
                 </button>
                 <ChatMessageToasts
-                  messages={game.chatMessages ?? []}
+                  messages={chatMessages}
                   localPlayerId={localPlayerId}
                   chatOpen={showChat}
                   compact={useMobileLayout}
@@ -1641,7 +1643,7 @@ const GameTable: React.FC<GameTableProps> = ({
               <ChatPanel
                 isOpen={showChat}
                 onClose={() => setShowChat(false)}
-                messages={game.chatMessages ?? []}
+                messages={chatMessages}
                 playerId={localPlayerId}
                 playerName={game.players.find(p => p.id === localPlayerId)?.name ?? ''}
                 gameId={game.id}
@@ -1910,7 +1912,7 @@ const GameTable: React.FC<GameTableProps> = ({
         <ChatPanel
           isOpen={showChat}
           onClose={() => setShowChat(false)}
-          messages={game.chatMessages ?? []}
+          messages={chatMessages}
           playerId={localPlayerId}
           playerName={game.players.find(p => p.id === localPlayerId)?.name ?? ''}
           gameId={game.id}
@@ -1,5 +1,6 @@
 import SockJS from 'sockjs-client';
 import { Client } from '@stomp/stompjs';
+import { Capacitor } from '@capacitor/core';
 import { Game } from '../types/game';
 import { getWsBaseUrl } from '../config/backend';
 import { normalizeGame } from '../utils/normalizeGame';
@@ -49,10 +50,19 @@ export class WebSocketService {
 
     const backendUrl = getWsBaseUrl();
     const wsUrl = backendUrl ? `${backendUrl}/ws` : '/ws';
+    // The native app talks to the backend directly, so it can skip SockJS framing and use the
+    // raw WebSocket endpoint (permessage-deflate is negotiated by the WebView automatically).
+    const nativeWsUrl = Capacitor.isNativePlatform() && backendUrl
+      ? `${backendUrl.replace(/^http/i, 'ws')}/ws-native`
+      : null;
 
     try {
       this.stompClient = new Client({
         webSocketFactory: () => {
+          if (nativeWsUrl) {
+            console.log('Creating native WebSocket connection to', nativeWsUrl);
+            return new WebSocket(nativeWsUrl);
+          }
           console.log('Creating SockJS connection to', wsUrl);
           const socket = new SockJS(wsUrl);
 
@@ -21,6 +21,8 @@ export interface ChatMessage {
   playerName: string;
   text: string;
   timestamp: number;
+  /** Position in the game's chat */
+  seq: number;
 }
 
 export interface Game {
@@ -52,7 +54,8 @@ export interface Game {
   currentHandBidHistory?: Bid[];
   countdownEndTime?: number | null;
   playersContinued?: string[];
-  chatMessages?: ChatMessage[];
+  /** Sequence number of the newest chat message; the messages come from the chat endpoint */
+  lastChatSeq?: number;
 }
 
 export interface CreateGameRequest {
@@ -111,5 +114,6 @@ export interface GameResponse {
   lastActionPlayerId?: string;
   lastActionType?: string; // 'DOUBT' | 'SPOT_ON' | 'RAISE'
   currentHandBidHistory?: Bid[];
-  chatMessages?: ChatMessage[];
+  /** Sequence number of the newest chat message; the messages come from the chat endpoint */
+  lastChatSeq?: number;
 }
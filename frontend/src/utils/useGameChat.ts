@@ -0,0 +1,46 @@
+import { useState, useEffect, useRef } from 'react';
+import { ChatMessage } from '../types/game';
+import { gameApi } from '../api/gameApi';
+
+/** The server keeps this many messages per game; older ones are dropped here too */
+export const CHAT_CAPACITY = 200;
+
+/**
+ * Chat of a game. Game updates only carry the sequence number of the newest message
+ * (lastChatSeq); whenever it moves past the last message held here, the newer messages
+ * are fetched and appended.
+ */
+const useGameChat = (gameId: string | undefined, lastChatSeq: number | undefined): ChatMessage[] => {
+  const [messages, setMessages] = useState<ChatMessage[]>([]);
+  const chatRef = useRef<{ gameId: string | undefined; seq: number }>({ gameId: undefined, seq: 0 });
+
+  useEffect(() => {
+    if (chatRef.current.gameId !== gameId) {
+      chatRef.current = { gameId, seq: 0 };
+      setMessages([]);
+    }
+    if (!gameId || !lastChatSeq || lastChatSeq <= chatRef.current.seq) return;
+
+    let cancelled = false;
+    gameApi
+      .getChatMessages(gameId, chatRef.current.seq)
+      .then((newer) => {
+        if (cancelled || chatRef.current.gameId !== gameId) return;
+        // A fetch that overlapped an earlier one may repeat messages already held
+        const fresh = newer.filter((message) => message.seq > chatRef.current.seq);
+        if (fresh.length === 0) return;
+        chatRef.current.seq = fresh[fresh.length - 1].seq;
+        setMessages((held) => [...held, ...fresh].slice(-CHAT_CAPACITY));
+      })
+      .catch(() => {
+        // Fetched again with the next game update
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, [gameId, lastChatSeq]);
+
+  return messages;
+};
+
+export default useGameChat;